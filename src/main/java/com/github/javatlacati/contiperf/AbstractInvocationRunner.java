@@ -22,9 +22,16 @@
 
 package com.github.javatlacati.contiperf;
 
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
+
 /**
  * Abstract helper class which provides common functionality for
- * {@link InvocationRunner}s.<br>
+ * {@link InvocationRunner}s: Waiting the time of the {@link WaitTimer}
+ * after each invocation with nanosecond precision, measured from the end of
+ * the invocation or, for a {@link WaitTimer#isPacing() pacing} timer, from
+ * the start of the invocation, which subclasses mark with
+ * {@link #beginIteration()}. Subclasses check {@link #isCanceled()} between
+ * invocations for stopping when the test has been canceled.<br>
  * <br>
  * Created: 06.04.2012 17:38:28
  * 
@@ -34,16 +41,42 @@ package com.github.javatlacati.contiperf;
 public abstract class AbstractInvocationRunner implements InvocationRunner {
 
     private WaitTimer wait;
+    private final boolean pacing;
+    private long iterationStart;
+    private final Cancellation cancellation;
 
     protected AbstractInvocationRunner(WaitTimer wait) {
+	this(wait, null);
+    }
+
+    /**
+     * @param cancellation the cancellation signal of the test, or null
+     */
+    protected AbstractInvocationRunner(WaitTimer wait,
+	    Cancellation cancellation) {
 	this.wait = wait;
+	this.pacing = wait.isPacing();
+	this.cancellation = cancellation;
+    }
+
+    /** @return true if the test has been canceled */
+    protected boolean isCanceled() {
+	return cancellation != null && cancellation.isCanceled();
+    }
+
+    /** Marks the start of an invocation for pacing. */
+    protected void beginIteration() {
+	if (pacing) {
+	    iterationStart = System.nanoTime();
+	}
     }
 
     protected void sleep() {
-	int waitTime = wait.getWaitTime();
+	long waitTime = wait.getWaitTimeNanos();
 	if (waitTime > 0) {
+	    long start = (pacing ? iterationStart : System.nanoTime());
 	    try {
-		Thread.sleep(waitTime);
+		ContiPerfUtil.waitUntil(start + waitTime);
 	    } catch (InterruptedException e) {
 		throw new RuntimeException(e);
 	    }
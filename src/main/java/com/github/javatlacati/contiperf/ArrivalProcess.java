@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import java.util.Random;
+
+/**
+ * Defines the time between two arrivals of the open workload model, see
+ * {@link PerfTest#rate()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public enum ArrivalProcess {
+
+    /** Arrivals in constant intervals of 1 / rate. */
+    FIXED {
+	@Override
+	public long nextGap(long meanGapNanos, Random random) {
+	    return meanGapNanos;
+	}
+    },
+
+    /**
+     * Arrivals of a Poisson process: The times between arrivals are
+     * exponentially distributed with a mean of 1 / rate, so arrivals come in
+     * bursts and pauses like independent users do.
+     */
+    POISSON {
+	@Override
+	public long nextGap(long meanGapNanos, Random random) {
+	    return Math.round(-Math.log(1 - random.nextDouble()) * meanGapNanos);
+	}
+    };
+
+    /** @return the time in nanoseconds from one arrival to the next one */
+    public abstract long nextGap(long meanGapNanos, Random random);
+
+}
@@ -0,0 +1,230 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
+
+/**
+ * Open workload model runner: Schedules arrivals at a target rate, with
+ * {@link ArrivalProcess#FIXED fixed} or {@link ArrivalProcess#POISSON
+ * Poisson} distributed gaps, independently of how long the invocations take,
+ * and dispatches them to a pool of worker threads. The pool starts empty and
+ * grows whenever arrivals are waiting and no worker is idle, up to the
+ * configured number of threads; beyond that arrivals queue up. So a slower
+ * system gets the same load and queueing shows up in the response times,
+ * which are measured from the scheduled arrival, while the service times
+ * are measured from the actual invocation start. An arrival which starts
+ * more than one mean gap (at least 1 ms) after its schedule is counted as
+ * late, arrivals which are still queued when a duration-based test ends
+ * are counted as missed. The Poisson arrivals are generated with a fixed
+ * seed, the {@link ExecutionConfig#getSeed() configured} one or one derived
+ * from the test name, so they are reproducible. The dispatcher thread only
+ * parks between arrivals instead of spinning, so that it does not take a
+ * processor from the workers; its wake-up jitter does not accumulate, since
+ * each arrival is scheduled relative to the start. The workers are taken
+ * from a {@link WorkerPool} if one is provided.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class ArrivalRateRunner implements InvocationRunner {
+
+    /** the queue entry which makes a worker terminate */
+    private static final Arrival STOP = new Arrival(0);
+
+    private final String name;
+    private PerformanceTracker tracker;
+    private final ArgumentsProvider argsProvider;
+    private final ArrivalProcess arrivalProcess;
+    private final long meanGapNanos;
+    private final long lateThresholdNanos;
+    private final int maxWorkers;
+    private final long durationNanos;
+    private final long arrivals;
+    private final long seed;
+
+    private final BlockingQueue<Arrival> queue;
+    private final WorkerPool workerPool;
+    private final List<WorkerPool.Job> workers;
+    private final AtomicInteger idleWorkers;
+    private final AtomicReference<Throwable> failure;
+
+    public ArrivalRateRunner(String name, PerformanceTracker tracker,
+			     ArgumentsProvider argsProvider, ExecutionConfig config) {
+	this(name, tracker, argsProvider, config, null);
+    }
+
+    /**
+     * @param workerPool the pool of the worker threads, or null for creating
+     *                   new threads
+     */
+    public ArrivalRateRunner(String name, PerformanceTracker tracker,
+			     ArgumentsProvider argsProvider, ExecutionConfig config,
+			     WorkerPool workerPool) {
+	if (config.getRate() <= 0) {
+	    throw new PerfTestConfigurationError("No arrival rate defined");
+	}
+	this.name = name;
+	this.tracker = tracker;
+	this.argsProvider = argsProvider;
+	this.arrivalProcess = config.getArrivalProcess();
+	this.meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+	this.lateThresholdNanos = Math.max(meanGapNanos,
+		TimeUnit.MILLISECONDS.toNanos(1));
+	this.maxWorkers = Math.max(config.getThreads(), 1);
+	if (config.getDuration() > 0) {
+	    this.durationNanos = TimeUnit.MILLISECONDS.toNanos(config.getDuration());
+	    this.arrivals = Long.MAX_VALUE;
+	} else {
+	    this.durationNanos = Long.MAX_VALUE;
+	    this.arrivals = config.getInvocations();
+	}
+	this.seed = (config.getSeed() != 0 ? config.getSeed() : name.hashCode());
+	this.queue = new LinkedBlockingQueue<>();
+	this.workerPool = (workerPool != null ? workerPool
+		: new WorkerPool(name, 0, 0));
+	this.workers = new ArrayList<>();
+	this.idleWorkers = new AtomicInteger();
+	this.failure = new AtomicReference<>();
+    }
+
+    public void run() {
+	Random random = new Random(seed);
+	long start = System.nanoTime();
+	long scheduled = start;
+	try {
+	    for (long i = 0; i < arrivals && failure.get() == null
+		    && !isCanceled() && scheduled - start < durationNanos; i++) {
+		waitUntil(scheduled);
+		dispatch(scheduled);
+		scheduled += arrivalProcess.nextGap(meanGapNanos, random);
+	    }
+	    if (durationNanos != Long.MAX_VALUE && failure.get() == null
+		    && !isCanceled()) {
+		// arrivals which are still queued at the end are missed
+		waitUntil(start + durationNanos);
+	    }
+	} finally {
+	    finish(durationNanos != Long.MAX_VALUE);
+	}
+	Throwable throwable = failure.get();
+	if (throwable != null) {
+	    throw ContiPerfUtil.executionError(throwable);
+	}
+    }
+
+    public void close() {
+	tracker = null;
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "(" + arrivalProcess + ", "
+		+ meanGapNanos + " ns)";
+    }
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private void waitUntil(long nanoTime) {
+	try {
+	    ContiPerfUtil.waitUntil(nanoTime, 0);
+	} catch (InterruptedException e) {
+	    throw new PerfTestExecutionError(e);
+	}
+    }
+
+    private boolean isCanceled() {
+	return tracker.getCancellation().isCanceled();
+    }
+
+    private void dispatch(long scheduled) {
+	queue.add(new Arrival(scheduled));
+	if (workers.size() < maxWorkers && queue.size() > idleWorkers.get()) {
+	    workers.add(workerPool.execute(workers.size(), this::work));
+	}
+    }
+
+    private void work() {
+	try {
+	    while (true) {
+		idleWorkers.incrementAndGet();
+		Arrival arrival = queue.take();
+		idleWorkers.decrementAndGet();
+		if (arrival == STOP || isCanceled()) {
+		    return;
+		}
+		long delay = System.nanoTime() - arrival.scheduled;
+		tracker.invoke(argsProvider.next(), arrival.scheduled,
+			delay > lateThresholdNanos);
+	    }
+	} catch (Throwable t) {
+	    failure.compareAndSet(null, t);
+	}
+    }
+
+    /**
+     * Stops the workers after they have processed the queued arrivals or,
+     * if the test duration is over, counts the queued arrivals as missed.
+     */
+    private void finish(boolean dropQueued) {
+	long missed = 0;
+	if (dropQueued || failure.get() != null || isCanceled()) {
+	    missed = queue.drainTo(new ArrayList<>());
+	}
+	for (int i = 0; i < workers.size(); i++) {
+	    queue.add(STOP);
+	}
+	try {
+	    for (WorkerPool.Job worker : workers) {
+		worker.join();
+	    }
+	} catch (InterruptedException e) {
+	    failure.compareAndSet(null, e);
+	}
+	if (failure.get() == null) {
+	    tracker.arrivalsCompleted(missed, workers.size());
+	}
+    }
+
+    /** An invocation start scheduled at a {@link System#nanoTime()}. */
+    private static final class Arrival {
+
+	private final long scheduled;
+
+	Arrival(long scheduled) {
+	    this.scheduled = scheduled;
+	}
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+/**
+ * Cooperative cancellation signal shared by the runners of a test. When an
+ * invocation violates a requirement with
+ * {@link PerfTest#cancelOnViolation()} or fails with an error which is not
+ * allowed, the {@link PerformanceTracker} cancels the test, and all runners
+ * stop starting new invocations. Interrupting the threads alone does not stop
+ * invocations which are busy in non-interruptible work, the signal makes
+ * every thread stop after its current invocation. Checking it is a volatile
+ * read.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class Cancellation {
+
+    private volatile String reason;
+
+    /**
+     * Cancels the test, if it has not been canceled before.
+     *
+     * @param reason the description of the cause
+     * @return true if this call canceled the test
+     */
+    public synchronized boolean cancel(String reason) {
+	if (this.reason != null) {
+	    return false;
+	}
+	this.reason = (reason != null ? reason : "canceled");
+	return true;
+    }
+
+    /** @return true if the test has been canceled */
+    public boolean isCanceled() {
+	return reason != null;
+    }
+
+    /** @return the reason of the cancellation, or null if not canceled */
+    public String getReason() {
+	return reason;
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + (reason != null ? "(" + reason + ")" : "");
+    }
+
+}
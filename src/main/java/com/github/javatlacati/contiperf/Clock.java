@@ -34,5 +34,15 @@ package com.github.javatlacati.contiperf;
 public interface Clock {
     String getName();
 
+    /** @return the current time in milliseconds */
     long getTime();
+
+    /**
+     * @return the current time in nanoseconds. Implementations which only
+     *         provide millisecond resolution can rely on the default.
+     * @since 2.4.4
+     */
+    default long getNanoTime() {
+	return getTime() * 1000000L;
+    }
 }
@@ -23,11 +23,30 @@
 package com.github.javatlacati.contiperf;
 
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
+import com.github.javatlacati.stat.PinningStatistics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Runs several {@link Runnable}s concurrently. If a {@link Throwable} is
  * encountered, execution of all threads is canceled.<br>
  * <br>
+ * In virtual thread mode each runnable is executed by a virtual thread
+ * instead of a platform thread, so that thousands of blocking users can be
+ * simulated with a few carrier threads. Since virtual threads cannot be
+ * members of a custom {@link ThreadGroup}, their exceptions are caught by a
+ * wrapper and all threads are interrupted individually. The events in which
+ * a virtual thread blocked while pinned to its carrier are recorded with the
+ * Java Flight Recorder and provided by {@link #getPinning()}.<br>
+ * <br>
+ * If a {@link WorkerPool} is provided, the runnables of platform threads are
+ * executed by the workers of the pool instead of new threads, the n-th
+ * runnable preferably on the worker of slot n.<br>
+ * <br>
+ * The runner does not wait for threads which a {@link Watchdog} has
+ * abandoned after an invocation timeout. Platform threads are daemon threads
+ * for that reason.<br>
+ * <br>
  * Created: 15.04.2010 23:42:30
  * 
  * @since 1.03
@@ -35,22 +54,159 @@ import com.github.javatlacati.contiperf.util.ContiPerfUtil;
  */
 public class ConcurrentRunner implements InvocationRunner {
 
+    /** the interval in milliseconds for checking if a thread was abandoned */
+    private static final long JOIN_INTERVAL = 100;
+
     private String name;
     private InvocationRunner[] runners;
     private int rampUp;
+    private boolean virtualThreads;
+    private WorkerPool workerPool;
+    private PinningStatistics pinning;
 
     public ConcurrentRunner(String name, InvocationRunner[] runners, int rampUp) {
+	this(name, runners, rampUp, false);
+    }
+
+    public ConcurrentRunner(String name, InvocationRunner[] runners,
+	    int rampUp, boolean virtualThreads) {
+	this(name, runners, rampUp, virtualThreads, null);
+    }
+
+    /**
+     * @param workerPool the pool which executes the runners on platform
+     *                   threads, or null for creating new threads
+     */
+    public ConcurrentRunner(String name, InvocationRunner[] runners,
+	    int rampUp, boolean virtualThreads, WorkerPool workerPool) {
 	this.name = name;
 	this.runners = runners;
 	this.rampUp = rampUp;
+	this.virtualThreads = virtualThreads;
+	this.workerPool = workerPool;
+    }
+
+    /**
+     * @return the pinning events of the last run in virtual thread mode, or
+     *         null if not running virtual threads or if the Java Flight
+     *         Recorder is not available
+     */
+    public PinningStatistics getPinning() {
+	return pinning;
     }
 
     public void run() {
-	CPThreadGroup threadGroup = new CPThreadGroup(name);
 	Thread[] threads = new Thread[runners.length];
+	if (virtualThreads) {
+	    CPThreadGroup threadGroup = new CPThreadGroup(name, () -> {
+		for (Thread thread : threads) {
+		    thread.interrupt();
+		}
+	    });
+	    createVirtualThreads(threads, threadGroup);
+	    runVirtual(threads, threadGroup);
+	} else if (workerPool != null) {
+	    AtomicReferenceArray<WorkerPool.Job> jobs = new AtomicReferenceArray<>(
+		    runners.length);
+	    CPThreadGroup threadGroup = new CPThreadGroup(name, () -> {
+		for (int i = 0; i < jobs.length(); i++) {
+		    WorkerPool.Job job = jobs.get(i);
+		    if (job != null) {
+			job.interrupt();
+		    }
+		}
+	    });
+	    runPooled(jobs, threadGroup);
+	} else {
+	    CPThreadGroup threadGroup = new CPThreadGroup(name, null);
+	    createPlatformThreads(threads, threadGroup);
+	    runThreads(threads, threadGroup);
+	}
+    }
+
+    private void runPooled(AtomicReferenceArray<WorkerPool.Job> jobs,
+	    CPThreadGroup threadGroup) {
+	for (int i = 0; i < runners.length; i++) {
+	    jobs.set(i, workerPool.execute(i, guarded(runners[i], threadGroup)));
+	    if (threadGroup.throwable != null) {
+		jobs.get(i).interrupt();
+	    }
+	    if (rampUp > 0 && i < runners.length - 1) {
+		sleepForRampUpTime();
+	    }
+	}
+	try {
+	    for (int i = 0; i < jobs.length(); i++) {
+		join(jobs.get(i));
+	    }
+	} catch (InterruptedException e) {
+	    if (threadGroup.throwable == null) {
+		throw new PerfTestExecutionError(e);
+	    }
+	}
+	if (threadGroup.throwable != null) {
+	    throw ContiPerfUtil.executionError(threadGroup.throwable);
+	}
+    }
+
+    /**
+     * Wraps a runner for threads which are no members of the thread group,
+     * so that their exceptions are reported to the group.
+     */
+    private static Runnable guarded(InvocationRunner runner,
+	    CPThreadGroup threadGroup) {
+	return () -> {
+	    try {
+		runner.run();
+	    } catch (Throwable t) {
+		threadGroup.uncaughtException(Thread.currentThread(), t);
+	    }
+	};
+    }
+
+    private void runVirtual(Thread[] threads, CPThreadGroup threadGroup) {
+	PinningMonitor pinningMonitor = startPinningMonitor();
+	try {
+	    runThreads(threads, threadGroup);
+	} finally {
+	    if (pinningMonitor != null) {
+		try {
+		    pinning = pinningMonitor.stop();
+		} catch (Exception e) {
+		    System.err.println("Unable to evaluate pinning events: " + e);
+		}
+	    }
+	}
+    }
+
+    private void createPlatformThreads(Thread[] threads,
+	    CPThreadGroup threadGroup) {
 	for (int i = 0; i < runners.length; i++) {
 	    threads[i] = new Thread(threadGroup, runners[i]);
+	    // an abandoned thread must not keep the JVM alive
+	    threads[i].setDaemon(true);
 	}
+    }
+
+    private void createVirtualThreads(Thread[] threads,
+	    CPThreadGroup threadGroup) {
+	for (int i = 0; i < runners.length; i++) {
+	    threads[i] = VirtualThreads.newThread(name + "-" + i,
+		    guarded(runners[i], threadGroup));
+	}
+    }
+
+    private static PinningMonitor startPinningMonitor() {
+	try {
+	    return PinningMonitor.start();
+	} catch (Throwable t) {
+	    // the Java Flight Recorder is not available
+	    System.err.println("Pinning events are not recorded: " + t);
+	    return null;
+	}
+    }
+
+    private void runThreads(Thread[] threads, CPThreadGroup threadGroup) {
 	for (int i = 0; i < runners.length; i++) {
 	    Thread thread = threads[i];
 	    thread.start();
@@ -60,7 +216,7 @@ public class ConcurrentRunner implements InvocationRunner {
 	}
 	try {
 	    for (Thread thread : threads) {
-		thread.join();
+		join(thread);
 	    }
 	} catch (InterruptedException e) {
 	    // if the thread group has an exception, that one is more
@@ -76,6 +232,18 @@ public class ConcurrentRunner implements InvocationRunner {
 	}
     }
 
+    private static void join(Thread thread) throws InterruptedException {
+	while (thread.isAlive() && !Watchdog.isAbandoned(thread)) {
+	    thread.join(JOIN_INTERVAL);
+	}
+    }
+
+    private static void join(WorkerPool.Job job) throws InterruptedException {
+	while (!job.isDone() && !Watchdog.isAbandoned(job.getThread())) {
+	    job.join(JOIN_INTERVAL);
+	}
+    }
+
     private void sleepForRampUpTime() {
 	try {
 	    Thread.sleep(rampUp);
@@ -91,10 +259,13 @@ public class ConcurrentRunner implements InvocationRunner {
      */
     class CPThreadGroup extends ThreadGroup {
 
-	Throwable throwable;
+	volatile Throwable throwable;
+	/** interrupts the threads which are no members of the group */
+	private final Runnable canceller;
 
-	public CPThreadGroup(String name) {
+	public CPThreadGroup(String name, Runnable canceller) {
 	    super(name);
+	    this.canceller = canceller;
 	}
 
 	@Override
@@ -103,6 +274,9 @@ public class ConcurrentRunner implements InvocationRunner {
 		this.throwable = throwable;
 	    }
 	    interrupt();
+	    if (canceller != null) {
+		canceller.run();
+	    }
 	}
     }
 
@@ -27,7 +27,13 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 
 /**
- * Calls the invoker a fixed number of times.<br>
+ * Calls the invoker a fixed number of times. Runners of several threads
+ * share the counter of the invocations left, from which each runner claims
+ * chunks of invocations instead of single ones, so that the threads do not
+ * compete for the counter on each invocation. The chunk size is a fraction
+ * of the invocations left per thread, so the chunks shrink towards the end
+ * of the run and the threads finish at about the same time, while the total
+ * number of invocations stays exact.<br>
  * <br>
  * Created: 22.10.2009 06:30:28
  * 
@@ -36,29 +42,73 @@ import com.github.javatlacati.contiperf.util.ContiPerfUtil;
  */
 public class CountRunner extends AbstractInvocationRunner {
 
+    /** the number of chunks per thread in which the invocations left are split */
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final long MAX_CHUNK_SIZE = 1024;
+
     private ArgumentsProvider argsProvider;
     private Invoker invoker;
     private AtomicLong invocationsLeft;
+    private int threads;
 
     public CountRunner(Invoker invoker, ArgumentsProvider argsProvider,
 	    WaitTimer waitTimer, AtomicLong invocationsLeft) {
-	super(waitTimer);
+	this(invoker, argsProvider, waitTimer, invocationsLeft, 1);
+    }
+
+    /**
+     * @param threads the number of runners which share the invocationsLeft
+     */
+    public CountRunner(Invoker invoker, ArgumentsProvider argsProvider,
+	    WaitTimer waitTimer, AtomicLong invocationsLeft, int threads) {
+	this(invoker, argsProvider, waitTimer, invocationsLeft, threads, null);
+    }
+
+    /**
+     * @param threads      the number of runners which share the
+     *                     invocationsLeft
+     * @param cancellation the cancellation signal of the test, or null
+     */
+    public CountRunner(Invoker invoker, ArgumentsProvider argsProvider,
+	    WaitTimer waitTimer, AtomicLong invocationsLeft, int threads,
+	    Cancellation cancellation) {
+	super(waitTimer, cancellation);
 	this.invoker = invoker;
 	this.argsProvider = argsProvider;
 	this.invocationsLeft = invocationsLeft;
+	this.threads = Math.max(threads, 1);
     }
 
     public void run() {
 	try {
-	    while (invocationsLeft.getAndDecrement() > 0) {
-		invoker.invoke(argsProvider.next());
-		sleep();
+	    long chunk;
+	    while (!isCanceled() && (chunk = claimChunk()) > 0) {
+		for (long i = 0; i < chunk && !isCanceled(); i++) {
+		    beginIteration();
+		    invoker.invoke(argsProvider.next());
+		    sleep();
+		}
 	    }
 	} catch (Exception e) {
 	    throw ContiPerfUtil.executionError(e);
 	}
     }
 
+    /** @return the number of invocations claimed, 0 if none are left */
+    private long claimChunk() {
+	while (true) {
+	    long left = invocationsLeft.get();
+	    if (left <= 0) {
+		return 0;
+	    }
+	    long chunk = Math.max(1, Math.min(MAX_CHUNK_SIZE, left
+		    / ((long) threads * CHUNKS_PER_THREAD)));
+	    if (invocationsLeft.compareAndSet(left, left - chunk)) {
+		return chunk;
+	    }
+	}
+    }
+
     public void close() {
 	invoker = null;
     }
@@ -0,0 +1,188 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stop signal shared by the {@link TimedRunner}s of a test: The first runner
+ * starts the deadline, a single timer thread raises it after the duration,
+ * and all runners stop starting new invocations as soon as they see it
+ * raised. Checking the deadline is a volatile read, so the runners do not
+ * need to read the clock after each invocation, and all threads stop at
+ * the same moment, independently of when they started.<br>
+ * <br>
+ * With ramp-up, the first threads run alone for a while, so the throughput
+ * of the whole run understates the one of all threads together. The deadline
+ * therefore counts the invocations which complete in its measurement window,
+ * which opens when the last of its parties has started and the warm-up is
+ * over, and closes when the deadline is reached.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class Deadline {
+
+    private static final ScheduledExecutorService TIMER = Executors
+	    .newSingleThreadScheduledExecutor(task -> {
+		Thread thread = new Thread(task, "contiperf-deadline");
+		thread.setDaemon(true);
+		return thread;
+	    });
+
+    private final long duration;
+    private final int parties;
+    private final long warmUp;
+    private long startTime;
+    private int started;
+    private volatile long endTime;
+    private long endNanos;
+    private volatile boolean reached;
+
+    private volatile boolean windowOpen;
+    private long windowStart;
+    private long windowStartNanos;
+    private final LongAdder windowInvocations = new LongAdder();
+
+    /** @param duration the time in milliseconds from the start to the deadline */
+    public Deadline(long duration) {
+	this(duration, 1, 0);
+    }
+
+    /**
+     * @param duration the time in milliseconds from the start to the deadline
+     * @param parties  the number of runners which share the deadline
+     * @param warmUp   the time in milliseconds after the start in which
+     *                 invocations are not measured
+     */
+    public Deadline(long duration, int parties, long warmUp) {
+	this.duration = duration;
+	this.parties = parties;
+	this.warmUp = warmUp;
+	this.startTime = -1;
+	this.endTime = -1;
+	this.windowStart = -1;
+    }
+
+    public long getDuration() {
+	return duration;
+    }
+
+    /**
+     * Starts the countdown, if it has not been started before, and opens the
+     * measurement window when the last party has started.
+     */
+    public synchronized void start() {
+	if (startTime == -1) {
+	    startTime = System.currentTimeMillis();
+	    if (duration <= 0) {
+		raise();
+	    } else {
+		TIMER.schedule(this::raise, duration, TimeUnit.MILLISECONDS);
+	    }
+	}
+	if (++started == parties) {
+	    long delay = startTime + warmUp - System.currentTimeMillis();
+	    if (delay <= 0) {
+		openWindow();
+	    } else {
+		TIMER.schedule(this::openWindow, delay, TimeUnit.MILLISECONDS);
+	    }
+	}
+    }
+
+    /**
+     * Counts an invocation which has been completed, if the measurement
+     * window is open.
+     */
+    public void invocationCompleted() {
+	if (windowOpen && !reached) {
+	    windowInvocations.increment();
+	}
+    }
+
+    /** @return true if the deadline has been raised */
+    public boolean isReached() {
+	return reached;
+    }
+
+    /** Raises the deadline before its time, e.g. for canceling a test. */
+    public synchronized void raise() {
+	if (!reached) {
+	    endNanos = System.nanoTime();
+	    endTime = System.currentTimeMillis();
+	    reached = true;
+	}
+    }
+
+    private synchronized void openWindow() {
+	if (!reached) {
+	    windowStartNanos = System.nanoTime();
+	    windowStart = System.currentTimeMillis();
+	    windowOpen = true;
+	}
+    }
+
+    /** @return the time at which the countdown started, or -1 */
+    public synchronized long getStartTime() {
+	return startTime;
+    }
+
+    /** @return the time at which the deadline was raised, or -1 */
+    public long getEndTime() {
+	return endTime;
+    }
+
+    /**
+     * @return the time at which the measurement window was opened, or -1 if
+     *         not all parties started before the deadline
+     */
+    public synchronized long getWindowStart() {
+	return windowStart;
+    }
+
+    /**
+     * @return the duration of the measurement window in nanoseconds, or -1
+     *         if it has not been opened and closed
+     */
+    public synchronized long getWindowNanos() {
+	return windowOpen && reached ? endNanos - windowStartNanos : -1;
+    }
+
+    /** @return the number of invocations completed in the measurement window */
+    public long getWindowInvocations() {
+	return windowInvocations.sum();
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "(" + duration + " ms"
+		+ (reached ? ", reached" : "") + ")";
+    }
+
+}
@@ -24,6 +24,8 @@ package com.github.javatlacati.contiperf;
 
 import com.github.javatlacati.contiperf.clock.SystemClock;
 import com.github.javatlacati.contiperf.timer.None;
+import com.github.javatlacati.contiperf.timer.PacingTimer;
+import com.github.javatlacati.stat.DistributionType;
 
 /**
  * Holds the execution configuration for a single test.<br>
@@ -43,21 +45,27 @@ public class ExecutionConfig {
     private int threads;
     WaitTimer waitTimer;
     private boolean cancelOnViolation;
-
-    // TODO v2.x private int timeout;
+    private int interval;
+    private int expectedInterval;
+    private DistributionType distribution = DistributionType.HISTOGRAM;
+    private int rate = -1;
+    private ArrivalProcess arrivalProcess = ArrivalProcess.FIXED;
+    private long seed;
+    private boolean virtualThreads;
+    private int maxThreads = -1;
+    private int threadIncrement;
+    private double minThroughputGain = 0.05;
+    private int batchSize = 1;
+    private int timeout = -1;
 
     public ExecutionConfig(int invocations) {
 	this(invocations, 1, -1, new Clock[] { new SystemClock() }, 0, 0,
-		false, None.class, new double[0] /* , -1 */);
+		false, None.class, new double[0]);
     }
 
     public ExecutionConfig(int invocations, int threads, int duration,
 	    Clock[] clocks, int rampUp, int warmUp, boolean cancelOnViolation,
-	    Class<? extends WaitTimer> waitTimerClass, double[] waitParams /*
-									    * ,
-									    * int
-									    * timeout
-									    */) {
+	    Class<? extends WaitTimer> waitTimerClass, double[] waitParams) {
 	this.invocations = invocations;
 	this.threads = threads;
 	this.duration = duration;
@@ -71,7 +79,6 @@ public class ExecutionConfig {
 	} catch (Exception e) {
 	    throw new RuntimeException(e);
 	}
-	// this.timeout = timeout;
     }
 
     public int getInvocations() {
@@ -102,13 +109,158 @@ public class ExecutionConfig {
 	return waitTimer;
     }
 
-    /*
-     * public int getTimeout() { return timeout; }
-     */
     public boolean isCancelOnViolation() {
 	return cancelOnViolation;
     }
 
+    /**
+     * @return the length of the latency recording intervals in milliseconds,
+     *         or 0 if no intervals are recorded
+     */
+    public int getInterval() {
+	return interval;
+    }
+
+    public void setInterval(int interval) {
+	this.interval = interval;
+    }
+
+    /**
+     * @return the intended time in milliseconds between two invocation
+     *         starts of a thread, used for coordinated omission correction,
+     *         or 0 if no correction is applied
+     */
+    public int getExpectedInterval() {
+	return expectedInterval;
+    }
+
+    public void setExpectedInterval(int expectedInterval) {
+	this.expectedInterval = expectedInterval;
+    }
+
+    /** @return the data structure in which latencies are recorded */
+    public DistributionType getDistribution() {
+	return distribution;
+    }
+
+    public void setDistribution(DistributionType distribution) {
+	this.distribution = distribution;
+    }
+
+    /**
+     * @return the target number of arrivals per second of the open workload
+     *         model, or a negative number for the closed model
+     */
+    public int getRate() {
+	return rate;
+    }
+
+    public void setRate(int rate) {
+	this.rate = rate;
+    }
+
+    public ArrivalProcess getArrivalProcess() {
+	return arrivalProcess;
+    }
+
+    public void setArrivalProcess(ArrivalProcess arrivalProcess) {
+	this.arrivalProcess = arrivalProcess;
+    }
+
+    /**
+     * @return the seed of the random arrival gaps, or 0 for deriving it from
+     *         the test name
+     */
+    public long getSeed() {
+	return seed;
+    }
+
+    public void setSeed(long seed) {
+	this.seed = seed;
+    }
+
+    /** @return true if the test threads are virtual threads */
+    public boolean isVirtualThreads() {
+	return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+	this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * @return the highest thread count of a saturation search, or a negative
+     *         number if the test runs with a fixed number of threads
+     */
+    public int getMaxThreads() {
+	return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+	this.maxThreads = maxThreads;
+    }
+
+    /**
+     * @return the number of threads added in each step of a saturation
+     *         search, or 0 for doubling the thread count
+     */
+    public int getThreadIncrement() {
+	return threadIncrement;
+    }
+
+    public void setThreadIncrement(int threadIncrement) {
+	this.threadIncrement = threadIncrement;
+    }
+
+    public double getMinThroughputGain() {
+	return minThroughputGain;
+    }
+
+    public void setMinThroughputGain(double minThroughputGain) {
+	this.minThroughputGain = minThroughputGain;
+    }
+
+    /**
+     * @return true if the wait times of the {@link #getWaitTimer() timer} are
+     *         measured from the start of the invocations
+     */
+    public boolean isPacing() {
+	return waitTimer.isPacing();
+    }
+
+    public void setPacing(boolean pacing) {
+	if (pacing && !waitTimer.isPacing()) {
+	    waitTimer = new PacingTimer(waitTimer);
+	} else if (!pacing && waitTimer instanceof PacingTimer) {
+	    waitTimer = ((PacingTimer) waitTimer).getTimer();
+	}
+    }
+
+    /** @return the number of invocations which are timed as one sample */
+    public int getBatchSize() {
+	return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+	if (batchSize < 1) {
+	    throw new PerfTestConfigurationError(
+		    "batchSize must be 1 or more, but was " + batchSize);
+	}
+	this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the time in milliseconds after which an invocation is
+     *         interrupted and counted as timed out, or -1 for no timeout
+     */
+    public int getTimeout() {
+	return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+	this.timeout = timeout;
+    }
+
     @Override
     public String toString() {
 	return (invocations > 0 ? invocations + " invocations" : "Running"
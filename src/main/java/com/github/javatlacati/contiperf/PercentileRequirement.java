@@ -52,6 +52,10 @@ public class PercentileRequirement {
 	this.percentage = percentage;
     }
 
+    /**
+     * @return the latency limit in the {@link PerformanceRequirement#getUnit()
+     *         unit} of the requirement, which is milliseconds by default
+     */
     public int getMillis() {
 	return millis;
     }
@@ -34,6 +34,7 @@ import com.github.javatlacati.contiperf.timer.ConstantTimer;
 import com.github.javatlacati.contiperf.timer.CumulatedTimer;
 import com.github.javatlacati.contiperf.timer.None;
 import com.github.javatlacati.contiperf.timer.RandomTimer;
+import com.github.javatlacati.stat.DistributionType;
 
 /**
  * Defines execution details and performance requirements for a test method: How
@@ -146,7 +147,9 @@ public @interface PerfTest {
 
     /**
      * The parameters to initialize the {@link WaitTimer}. The meaning of the
-     * values is individual for the WaitTimer implementation.
+     * values is individual for the WaitTimer implementation; the predefined
+     * timers take milliseconds, with fractions for sub-millisecond wait
+     * times, e.g. 0.2 for 200 microseconds.
      */
     double[] timerParams() default {};
 
@@ -156,6 +159,128 @@ public @interface PerfTest {
      */
     Class<? extends Clock>[] clocks() default {};
 
-    // TODO v2.x int timeout() default -1;
+    /**
+     * The length in milliseconds of the time windows for which separate
+     * latency statistics are recorded, e.g. 1000 for latency-over-time series
+     * with one point per second. The intervals are passed to the
+     * {@link com.github.javatlacati.contiperf.report.ReportModule}s. The default
+     * value 0 disables interval recording.
+     */
+    int interval() default 0;
+
+    /**
+     * The intended time in milliseconds between the starts of two subsequent
+     * invocations of the same thread. When set, ContiPerf corrects for
+     * coordinated omission: An invocation which takes longer than the
+     * expected interval has delayed the following ones, so for each interval
+     * missed an additional sample is recorded with the latency the delayed
+     * call would have seen (latency - interval, latency - 2 * interval, ...).
+     * The corrected statistics are reported next to the measured ones.
+     * The default value 0 disables the correction.
+     */
+    int expectedInterval() default 0;
+
+    /**
+     * The data structure in which latencies are recorded. The default
+     * {@link DistributionType#HISTOGRAM} covers latencies of up to 24 hours,
+     * {@link DistributionType#SKETCH} covers any latency with a relative
+     * accuracy of 1% and suits tests whose latencies range from microseconds
+     * to minutes or more.
+     */
+    DistributionType distribution() default DistributionType.HISTOGRAM;
+
+    /**
+     * The target number of invocations per second for testing with an open
+     * workload model: Invocations are started at this rate, however long
+     * they take, by a pool of up to {@link #threads()} workers, for the
+     * {@link #duration()} or until the number of {@link #invocations()} has
+     * been reached. Besides the service time of each invocation, the
+     * response time from its scheduled start is reported, which includes the
+     * time it waited for a free worker, as well as the number of late and
+     * missed arrivals. {@link #rampUp()} and {@link #timer()} do not apply.
+     * The default value -1 selects the closed model, in which each thread
+     * starts the next invocation when the previous one is finished.
+     */
+    int rate() default -1;
+
+    /** The distribution of the times between the arrivals at the {@link #rate()}. */
+    ArrivalProcess arrivals() default ArrivalProcess.FIXED;
+
+    /**
+     * The seed of the random gaps between {@link ArrivalProcess#POISSON}
+     * arrivals. Runs with the same seed get the same sequence of gaps. The
+     * default value 0 derives the seed from the test name, so that each test
+     * has reproducible arrivals which differ from the ones of other tests.
+     */
+    long seed() default 0;
+
+    /**
+     * Set this to true for running the {@link #threads()} as virtual threads,
+     * which allows for simulating thousands of concurrent users with
+     * blocking I/O on a few platform threads. Ramp-up, warm-up and error
+     * handling work as with platform threads. The number of events in which
+     * a virtual thread blocked while pinned to its carrier thread is
+     * reported. Requires Java 21 or later. The default value is false.
+     */
+    boolean virtualThreads() default false;
+
+    /**
+     * Setting this to a value above {@link #threads()} makes the test a
+     * saturation search: The test runs in steps, starting with
+     * {@link #threads()} and increasing the thread count by
+     * {@link #threadIncrement()} up to this value. Each step has its own
+     * {@link #warmUp()} and a measurement window of {@link #duration()}
+     * milliseconds. The search stops when the throughput increases by less
+     * than {@link #minThroughputGain()} or a latency limit of
+     * {@link Required} is breached. The report shows the throughput and
+     * latencies of each step and the knee point, the last step which
+     * increased the throughput within the latency limits, against which the
+     * requirements are checked.
+     */
+    int maxThreads() default -1;
+
+    /**
+     * The number of threads added in each step of a saturation search. The
+     * default value 0 doubles the thread count in each step.
+     */
+    int threadIncrement() default 0;
+
+    /**
+     * The relative throughput increase which a step of a saturation search
+     * needs to achieve over the best previous step, otherwise the throughput
+     * is considered to plateau. The default value is 0.05 (5%).
+     */
+    double minThroughputGain() default 0.05;
+
+    /**
+     * Set this to true for measuring the wait times of the {@link #timer()}
+     * from the start of an invocation instead of its end, so that the timer
+     * defines the interval between invocation starts (pacing). The default
+     * value is false.
+     */
+    boolean pacing() default false;
+
+    /**
+     * The number of back-to-back calls of the test method which are timed
+     * as one sample, for methods which are so fast that reading the clock
+     * for each call would distort the measurement. Each call is counted
+     * with the average latency of its batch, so invocation counts, average
+     * latency and throughput refer to single calls, while min, max and
+     * percentiles are those of the batch averages. A batch ends with its
+     * first failing call and then counts as <code>batchSize</code> errors,
+     * so the error rate is the share of calls in failed batches. The
+     * {@link #invocations()} count the batches. The default value is 1.
+     */
+    int batchSize() default 1;
+
+    /**
+     * The time in milliseconds after which an invocation is considered to
+     * hang. A timed-out invocation is interrupted by a watchdog and counted
+     * separately from errors and samples. If it does not return within a
+     * second timeout period, its thread is abandoned, so that the test can
+     * complete and report. Abandoning is only possible for multi-threaded
+     * tests. The default value is -1 (no timeout).
+     */
+    int timeout() default -1;
 
 }
@@ -50,4 +50,14 @@ public abstract class PerfTestException extends RuntimeException {
 	super(cause);
     }
 
+    /**
+     * @param writableStackTrace false for skipping the capture of the stack
+     *                           trace, e.g. for errors which are only counted
+     * @since 2.4.4
+     */
+    protected PerfTestException(String message, Throwable cause,
+	    boolean writableStackTrace) {
+	super(message, cause, true, writableStackTrace);
+    }
+
 }
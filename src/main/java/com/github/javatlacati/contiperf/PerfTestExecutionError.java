@@ -50,4 +50,13 @@ public class PerfTestExecutionError extends PerfTestException {
 	super(cause);
     }
 
+    /**
+     * @param writableStackTrace false for skipping the capture of the stack
+     *                           trace, e.g. for errors which are only counted
+     * @since 2.4.4
+     */
+    public PerfTestExecutionError(Throwable cause, boolean writableStackTrace) {
+	super(cause != null ? cause.toString() : null, cause, writableStackTrace);
+    }
+
 }
@@ -24,6 +24,8 @@ package com.github.javatlacati.contiperf;
 
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Defines performance requirements on a test.<br>
  * <br>
@@ -39,6 +41,10 @@ public class PerformanceRequirement {
     private int totalTime;
     private int throughput;
     private final double allowedErrorsRate;
+    private final TimeUnit unit;
+    private int maxStdDev = -1;
+    private double maxCoefficientOfVariation = -1;
+    private double confidence = -1;
 
     private PercentileRequirement[] percentiles;
 
@@ -49,12 +55,20 @@ public class PerformanceRequirement {
     public PerformanceRequirement(int average, int max, int totalTime,
                                   PercentileRequirement[] percentiles, int throughput,
                                   double allowedErrorsRate) {
+        this(average, max, totalTime, percentiles, throughput,
+                allowedErrorsRate, TimeUnit.MILLISECONDS);
+    }
+
+    public PerformanceRequirement(int average, int max, int totalTime,
+                                  PercentileRequirement[] percentiles, int throughput,
+                                  double allowedErrorsRate, TimeUnit unit) {
         this.average = average;
         this.max = max;
         this.totalTime = totalTime;
         this.percentiles = percentiles;
         this.throughput = throughput;
         this.allowedErrorsRate = allowedErrorsRate;
+        this.unit = unit;
     }
 
     public int getAverage() {
@@ -93,6 +107,65 @@ public class PerformanceRequirement {
         return allowedErrorsRate;
     }
 
+    /**
+     * @return the time unit of the average, max and percentile requirements
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the maximum standard deviation of the latencies in the
+     *         requirement's {@link #getUnit() unit}, or -1 if there is none
+     */
+    public int getMaxStdDev() {
+        return maxStdDev;
+    }
+
+    public void setMaxStdDev(int maxStdDev) {
+        this.maxStdDev = maxStdDev;
+    }
+
+    /**
+     * @return the maximum ratio of the standard deviation to the average
+     *         latency, or a negative value if there is none
+     */
+    public double getMaxCoefficientOfVariation() {
+        return maxCoefficientOfVariation;
+    }
+
+    public void setMaxCoefficientOfVariation(double maxCoefficientOfVariation) {
+        this.maxCoefficientOfVariation = maxCoefficientOfVariation;
+    }
+
+    /**
+     * @return the confidence level on which violations of the average and
+     *         percentile requirements need to be significant, or a negative
+     *         value if measured values are compared directly
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * @param confidence a confidence level between 0 and 1 exclusively, e.g.
+     *                   0.95, or -1 for comparing measured values directly
+     * @throws PerfTestConfigurationError for any other value, e.g. a
+     *                                    percentage like 95, which would
+     *                                    make the confidence bounds undefined
+     */
+    public void setConfidence(double confidence) {
+        if (confidence != -1 && !(confidence > 0 && confidence < 1)) {
+            throw new PerfTestConfigurationError("Illegal confidence level "
+                    + confidence + ", it must be greater than 0 and less than 1");
+        }
+        this.confidence = confidence;
+    }
+
+    public boolean isConfidenceGated() {
+        return confidence > 0;
+    }
+
     public boolean isAllowedError() {
 
         return allowedErrorsRate > 0.0;
@@ -105,7 +178,11 @@ public class PerformanceRequirement {
                 .append(", max=").append(max)
                 .append(", totalTime=").append(totalTime)
                 .append(", throughput=").append(throughput)
-                .append(", percentiles=").append(percentiles);
+                .append(", maxStdDev=").append(maxStdDev)
+                .append(", maxCoefficientOfVariation=").append(maxCoefficientOfVariation)
+                .append(", percentiles=").append(percentiles)
+                .append(", confidence=").append(confidence)
+                .append(", unit=").append(unit);
         return builder.toString();
     }
 
@@ -25,10 +25,19 @@ package com.github.javatlacati.contiperf;
 import com.github.javatlacati.contiperf.clock.SystemClock;
 import com.github.javatlacati.contiperf.report.ReportContext;
 import com.github.javatlacati.contiperf.report.ReportModule;
+import com.github.javatlacati.contiperf.report.ReportUtil;
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 import com.github.javatlacati.contiperf.util.InvokerProxy;
+import com.github.javatlacati.stat.ArrivalStatistics;
+import com.github.javatlacati.stat.ConfidenceInterval;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyInterval;
+import com.github.javatlacati.stat.PinningStatistics;
+import com.github.javatlacati.stat.SaturationStatistics;
 
 import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link InvokerProxy} that provides performance tracking features.<br>
@@ -47,8 +56,21 @@ public class PerformanceTracker extends InvokerProxy {
 
     private Clock[] clocks;
     private LatencyCounter[] counters;
-    private boolean trackingStarted;
-    private long warmUpFinishedTime;
+    private volatile RunResult result;
+    private volatile boolean trackingStarted;
+    private volatile long warmUpFinishedTime;
+    /** set when the test is over, late invocations are not tracked any more */
+    private volatile boolean stopped;
+
+    private LatencyCounter correctedCounter;
+    private volatile ArrivalStatistics arrivals;
+    private volatile LatencyCounter intervalCounter;
+    private volatile LatencyCounter stepCounter;
+    private volatile long intervalEnd;
+    private long intervalStartTime;
+    private final Watchdog watchdog;
+    private final Cancellation cancellation;
+    private Deadline deadline;
 
     public PerformanceTracker(Invoker target,
                               PerformanceRequirement requirement, ReportContext context) {
@@ -68,6 +90,10 @@ public class PerformanceTracker extends InvokerProxy {
         this.counters = null;
         this.trackingStarted = false;
         this.warmUpFinishedTime = -1;
+        this.watchdog = this.executionConfig.getTimeout() > 0
+                ? new Watchdog(this.executionConfig.getTimeout(), new TimeoutListener())
+                : null;
+        this.cancellation = new Cancellation();
     }
 
     public void setContext(ReportContext context) {
@@ -78,39 +104,152 @@ public class PerformanceTracker extends InvokerProxy {
         return counters;
     }
 
+    /**
+     * @return the counters and the information about the test run, or null
+     *         if tracking has not been started
+     */
+    public RunResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return the signal which tells the runners to stop when an invocation
+     *         has violated a requirement or failed
+     */
+    public Cancellation getCancellation() {
+        return cancellation;
+    }
+
+    /**
+     * @param cause the cause of a failed invocation
+     * @return true if its error is retained as an exemplar and therefore
+     *         needs a stack trace, false if it is only counted
+     */
+    public boolean needsStackTrace(Throwable cause) {
+        if (!trackingStarted) {
+            return true;
+        }
+        LatencyCounter[] currentCounters = counters;
+        return (currentCounters == null
+                || currentCounters[0].getErrors().needsExemplar(cause));
+    }
+
+    /** @return the watchdog of the invocation timeout, or null if none is set */
+    public Watchdog getWatchdog() {
+        return watchdog;
+    }
+
+    /**
+     * Makes the throughput of a timed test be measured in the window of the
+     * deadline in which all threads were running.
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
     public void startTracking() {
         reportStart();
-        int max = requirement != null ? requirement.getMax() : -1;
         int length = clocks.length;
         this.counters = new LatencyCounter[length];
         for (int i = 0; i < length; i++) {
             LatencyCounter counter = new LatencyCounter(target.toString(),
-                    clocks[i].getName(), max >= 0 ? max : 1000);
+                    clocks[i].getName(), executionConfig.getDistribution());
             this.counters[i] = counter;
             counter.start();
         }
+        this.result = new RunResult(getId(), counters,
+                executionConfig.getBatchSize());
+        if (executionConfig.getExpectedInterval() > 0) {
+            correctedCounter = new LatencyCounter(target.toString(),
+                    clocks[0].getName(), executionConfig.getDistribution());
+            correctedCounter.start();
+            result.setCorrected(correctedCounter);
+        }
+        if (executionConfig.getRate() > 0) {
+            LatencyCounter responseTimes = new LatencyCounter(target.toString(),
+                    SystemClock.NAME, executionConfig.getDistribution());
+            responseTimes.start();
+            arrivals = new ArrivalStatistics(executionConfig.getRate(),
+                    responseTimes);
+            result.setArrivals(arrivals);
+        }
+        if (executionConfig.getInterval() > 0) {
+            intervalCounter = new LatencyCounter(target.toString(),
+                    clocks[0].getName(), executionConfig.getDistribution());
+            intervalCounter.start();
+            intervalStartTime = System.currentTimeMillis();
+            intervalEnd = System.nanoTime() / 1000000
+                    + executionConfig.getInterval();
+        }
         trackingStarted = true;
     }
 
     @Override
     public Object invoke(Object[] args) throws Exception {
-        long clock0StartTime = clocks[0].getTime();
+        long clock0StartTime = clocks[0].getNanoTime();
         long realStartMillis = System.nanoTime() / 1000000;
-        if (warmUpFinishedTime == -1) {
-            warmUpFinishedTime = realStartMillis + executionConfig.getWarmUp();
+        // volatile reads only, the monitor is taken once per test run
+        if (!trackingStarted && !stopped) {
+            checkState(realStartMillis);
         }
-        checkState(realStartMillis);
         PerfTestExecutionError perfTestExecutionError = null;
         Object result = null;
+        int batchSize = executionConfig.getBatchSize();
+        // the number of invocations of the batch which were started
+        int invoked = 1;
+        boolean timedOut = false;
         try {
-            result = super.invoke(args);
+            if (watchdog != null) {
+                watchdog.begin();
+            }
+            try {
+                result = super.invoke(args);
+                while (invoked < batchSize) {
+                    invoked++;
+                    result = super.invoke(args);
+                }
+            } finally {
+                if (watchdog != null) {
+                    timedOut = watchdog.end();
+                }
+            }
         } catch (PerfTestExecutionError ptee) {
             perfTestExecutionError = ptee;
         }
-        int latency = (int) (clocks[0].getTime() - clock0StartTime);
+        if (timedOut) {
+            // already counted by the watchdog, the outcome of the
+            // interrupted invocation is meaningless
+            return null;
+        }
+        if (stopped) {
+            // an abandoned invocation which returned after the end of the test
+            return result;
+        }
+        // the average latency of a batch, a failed one ended with its
+        // failing invocation
+        long latencyNanos = (clocks[0].getNanoTime() - clock0StartTime) / invoked;
+        int latency = (int) (latencyNanos / 1000000);
+        LatencyCounter currentStepCounter = stepCounter;
+        if (currentStepCounter != null) {
+            currentStepCounter.addSampleNanos(latencyNanos, batchSize, perfTestExecutionError);
+        }
         if (isTrackingStarted()) {
             for (LatencyCounter counter : counters) {
-                counter.addSample(latency, perfTestExecutionError);
+                counter.addSampleNanos(latencyNanos, batchSize, perfTestExecutionError);
+            }
+            if (correctedCounter != null && perfTestExecutionError == null) {
+                recordCorrected(latencyNanos, batchSize);
+            }
+            LatencyCounter currentIntervalCounter = intervalCounter;
+            if (currentIntervalCounter != null) {
+                // an invocation belongs to the interval in which it completed
+                long endMillis = System.nanoTime() / 1000000;
+                if (endMillis >= intervalEnd) {
+                    rollInterval(endMillis);
+                }
+                if (perfTestExecutionError == null) {
+                    currentIntervalCounter.addSampleNanos(latencyNanos, batchSize, null);
+                }
             }
         }
         reportInvocation(latency, realStartMillis);
@@ -118,24 +257,117 @@ public class PerformanceTracker extends InvokerProxy {
             if (isAllowedErrors(requirement)) {
                 reportError();
             } else {
+                cancellation.cancel("Method " + getId() + " failed: "
+                        + perfTestExecutionError.getMessage());
                 throw perfTestExecutionError;
             }
         }
         if (requirement != null && requirement.getMax() >= 0
-                && latency > requirement.getMax()
+                && latencyNanos > requirement.getUnit().toNanos(requirement.getMax())
                 && executionConfig.isCancelOnViolation()) {
-            context.fail("Method " + getId() + " exceeded time limit of "
-                    + requirement.getMax() + " ms running " + latency + " ms");
+            TimeUnit unit = requirement.getUnit();
+            String message = "Method " + getId() + " exceeded time limit of "
+                    + requirement.getMax() + " " + ContiPerfUtil.symbol(unit)
+                    + " running " + unit.convert(latencyNanos, TimeUnit.NANOSECONDS)
+                    + " " + ContiPerfUtil.symbol(unit);
+            // stop the other threads after their current invocation
+            cancellation.cancel(message);
+            context.fail(message);
         }
         return result;
     }
 
-    private synchronized void checkState(long callStart) {
-        if (callStart >= warmUpFinishedTime && !trackingStarted) {
-            startTracking();
+    /**
+     * Performs an invocation of the open workload model like
+     * {@link #invoke(Object[])} and additionally records its response time
+     * from the scheduled arrival.
+     *
+     * @param scheduledNanos the {@link System#nanoTime()} at which the
+     *                       invocation was scheduled to start
+     * @param late           true if the invocation started late
+     */
+    public Object invoke(Object[] args, long scheduledNanos, boolean late)
+            throws Exception {
+        long startNanos = System.nanoTime();
+        try {
+            return invoke(args);
+        } finally {
+            ArrivalStatistics currentArrivals = arrivals;
+            if (currentArrivals != null && isTrackingStarted()) {
+                currentArrivals.record(startNanos - scheduledNanos,
+                        System.nanoTime() - scheduledNanos, late);
+            }
+        }
+    }
+
+    /**
+     * Reports the end of the arrivals of an open workload model test.
+     *
+     * @param missed  the number of arrivals which were not invoked
+     * @param workers the number of worker threads used
+     */
+    public void arrivalsCompleted(long missed, int workers) {
+        ArrivalStatistics currentArrivals = arrivals;
+        if (currentArrivals != null) {
+            currentArrivals.addMissed(missed);
+            currentArrivals.updateWorkers(workers);
+        }
+    }
+
+    /**
+     * Attaches the carrier thread pinning events of a virtual thread test
+     * run to the result.
+     */
+    public void setPinning(PinningStatistics pinning) {
+        if (pinning != null && result != null) {
+            result.setPinning(pinning);
+        }
+    }
+
+    /**
+     * Sets a started counter which additionally records the samples of the
+     * main clock, including the failed ones, e.g. the measurement window of
+     * a saturation step. It is not stopped by the tracker.
+     *
+     * @param stepCounter the counter, or null for recording no more samples
+     *                    in it
+     */
+    public void setStepCounter(LatencyCounter stepCounter) {
+        this.stepCounter = stepCounter;
+    }
+
+    /**
+     * Attaches the steps of a saturation search to the result. The
+     * requirements are then checked against the knee point.
+     */
+    public void setSaturation(SaturationStatistics saturation) {
+        if (saturation != null && result != null) {
+            result.setSaturation(saturation);
         }
     }
 
+    private void checkState(long callStart) {
+        long warmUpEnd = warmUpFinishedTime;
+        if (warmUpEnd == -1) {
+            warmUpEnd = initWarmUp(callStart);
+        }
+        if (callStart >= warmUpEnd) {
+            synchronized (this) {
+                if (!trackingStarted && !stopped) {
+                    startTracking();
+                }
+            }
+        }
+    }
+
+    /** Lets the warm-up begin with the first invocation of any thread. */
+    private synchronized long initWarmUp(long callStart) {
+        if (warmUpFinishedTime == -1) {
+            warmUpFinishedTime = callStart + executionConfig.getWarmUp();
+        }
+        return warmUpFinishedTime;
+    }
+
     public boolean isTrackingStarted() {
         return trackingStarted;
     }
@@ -145,32 +377,66 @@ public class PerformanceTracker extends InvokerProxy {
             throw new RuntimeException(
                     "Trying to stop counter before it was started");
         }
+        stopped = true;
         for (LatencyCounter counter : counters) {
             counter.stop();
         }
+        if (correctedCounter != null) {
+            correctedCounter.stop();
+        }
+        if (arrivals != null) {
+            arrivals.getResponseTimes().stop();
+        }
+        if (intervalCounter != null) {
+            completeInterval(System.nanoTime() / 1000000);
+            intervalCounter.stop();
+            intervalCounter = null;
+        }
         LatencyCounter mainCounter = counters[0];
-        mainCounter.printSummary(new PrintWriter(System.out));
+        result.setCancelReason(cancellation.getReason());
+        if (deadline != null && deadline.getWindowNanos() > 0
+                && deadline.getWindowInvocations() > 0) {
+            result.setWindow(deadline.getWindowInvocations()
+                    * executionConfig.getBatchSize(), deadline.getWindowNanos());
+        }
+        result.printSummary(new PrintWriter(System.out));
         reportCompletion();
-        if (!isAllowedErrors(requirement)
-                && mainCounter.getAssertionErrors().size() > 0) {
-            Throwable p = mainCounter.getAssertionErrors().get(0);
+        if (!isAllowedErrors(requirement) && mainCounter.errorCount() > 0) {
+            PerfTestExecutionError firstError = mainCounter.getErrors()
+                    .getFirstError();
+            Throwable p = firstError;
             while (p.getCause() != null && !(p instanceof AssertionError)) {
                 p = p.getCause();
             }
             if (p instanceof AssertionError) {
                 throw (AssertionError) p;
             } else {
-                throw mainCounter.getAssertionErrors().get(0);
+                throw firstError;
             }
         }
+        if (!isAllowedErrors(requirement) && result.timeoutCount() > 0) {
+            throw new PerfTestExecutionError(result.timeoutCount()
+                    + " invocations of " + getId() + " exceeded the timeout of "
+                    + executionConfig.getTimeout() + " ms");
+        }
         if (requirement != null) {
-            checkRequirements(mainCounter);
+            checkRequirements(requirementCounter(result));
         }
         this.trackingStarted = false;
     }
 
+    /**
+     * Releases the counters and stops the runners of abandoned threads,
+     * which may still return from an invocation after the test.
+     */
     public void clear() {
+        stopped = true;
+        cancellation.cancel("Test " + getId() + " finished");
         counters = null;
+        result = null;
+        if (watchdog != null) {
+            watchdog.stop();
+        }
     }
 
     // helper methods
@@ -181,6 +447,20 @@ public class PerformanceTracker extends InvokerProxy {
         return requirement != null && requirement.isAllowedError();
     }
 
+    /**
+     * @return the counter of the knee point for a saturation search, or of
+     *         its first step if that one already breached the latency limits,
+     *         otherwise the main counter
+     */
+    private static LatencyCounter requirementCounter(RunResult result) {
+        SaturationStatistics saturation = result.getSaturation();
+        if (saturation == null || saturation.getSteps().isEmpty()) {
+            return result.getMainCounter();
+        }
+        SaturationStatistics.Step knee = saturation.getKnee();
+        return (knee != null ? knee : saturation.getSteps().get(0)).getCounter();
+    }
+
     private void reportStart() {
         for (ReportModule module : context.getReportModules()) {
             module.starting(getId());
@@ -193,9 +473,61 @@ public class PerformanceTracker extends InvokerProxy {
         }
     }
 
+    /**
+     * @return a description of the confidence interval for failure messages
+     *         of confidence gated requirements
+     */
+    private static String significance(ConfidenceInterval interval,
+                                       String unitSymbol) {
+        DecimalFormat format = ReportUtil.millisFormat();
+        return " (" + format.format(interval.getLevel() * 100)
+                + "% confidence interval " + format.format(interval.getLower())
+                + " - " + format.format(interval.getUpper()) + " " + unitSymbol + ")";
+    }
+
+    /**
+     * Records the latency in the corrected counter, back-filling one sample
+     * for each expected invocation start which was missed while waiting for
+     * the invocation to finish.
+     */
+    private void recordCorrected(long latencyNanos, int batchSize) {
+        correctedCounter.addSampleNanos(latencyNanos, batchSize, null);
+        long expectedNanos = TimeUnit.MILLISECONDS.toNanos(
+                executionConfig.getExpectedInterval());
+        for (long missed = latencyNanos - expectedNanos; missed >= expectedNanos;
+             missed -= expectedNanos) {
+            correctedCounter.addSampleNanos(missed, null);
+        }
+    }
+
+    /**
+     * Completes the current interval, if its end has been reached. Intervals
+     * in which no invocation was completed are merged into the next one.
+     */
+    private synchronized void rollInterval(long now) {
+        if (intervalCounter != null && now >= intervalEnd) {
+            completeInterval(now);
+        }
+    }
+
+    private synchronized void completeInterval(long now) {
+        long endTime = System.currentTimeMillis();
+        LatencyInterval interval = new LatencyInterval(intervalStartTime,
+                endTime, intervalCounter.snapshotAndReset());
+        intervalStartTime = endTime;
+        long nextEnd = intervalEnd;
+        while (nextEnd <= now) {
+            nextEnd += executionConfig.getInterval();
+        }
+        intervalEnd = nextEnd;
+        for (ReportModule module : context.getReportModules()) {
+            module.intervalCompleted(getId(), interval);
+        }
+    }
+
     private void reportCompletion() {
         for (ReportModule module : context.getReportModules()) {
-            module.completed(getId(), counters, executionConfig, requirement);
+            module.completed(getId(), result, executionConfig, requirement);
         }
     }
 
@@ -207,11 +539,14 @@ public class PerformanceTracker extends InvokerProxy {
 
     private void checkRequirements(LatencyCounter mainCounter) {
         long elapsedMillis = mainCounter.duration();
+        TimeUnit unit = requirement.getUnit();
+        String unitSymbol = ContiPerfUtil.symbol(unit);
         long requiredMax = requirement.getMax();
-        if (requiredMax >= 0 && mainCounter.maxLatency() > requiredMax) {
-            context.fail("The maximum latency of " + requiredMax
-                    + " ms was exceeded, Measured: "
-                    + mainCounter.maxLatency() + " ms");
+        if (requiredMax >= 0 && mainCounter.maxLatency(TimeUnit.NANOSECONDS)
+                > unit.toNanos(requiredMax)) {
+            context.fail("The maximum latency of " + requiredMax + " "
+                    + unitSymbol + " was exceeded, Measured: "
+                    + mainCounter.maxLatency(unit) + " " + unitSymbol);
         }
         long requiredTotalTime = requirement.getTotalTime();
         if (requiredTotalTime >= 0 && elapsedMillis > requiredTotalTime) {
@@ -221,8 +556,9 @@ public class PerformanceTracker extends InvokerProxy {
         }
         int requiredThroughput = requirement.getThroughput();
         if (requiredThroughput > 0 && elapsedMillis > 0) {
-            long actualThroughput = mainCounter.sampleCount() * 1000
-                    / elapsedMillis;
+            long actualThroughput = mainCounter == result.getMainCounter()
+                    ? (long) result.throughput()
+                    : mainCounter.sampleCount() * 1000 / elapsedMillis;
             if (actualThroughput < requiredThroughput) {
                 context.fail("Test " + getId() + " had a throughput of only "
                         + actualThroughput + " calls per second, required: "
@@ -231,20 +567,49 @@ public class PerformanceTracker extends InvokerProxy {
         }
         int requiredAverage = requirement.getAverage();
         if (requiredAverage >= 0
-                && mainCounter.averageLatency() > requiredAverage) {
+                && ReportUtil.comparedAverage(mainCounter, requirement) > requiredAverage) {
             context.fail("Average execution time of " + getId()
                     + " exceeded the requirement of " + requiredAverage
-                    + " ms, measured " + mainCounter.averageLatency() + " ms");
+                    + " " + unitSymbol + ", measured "
+                    + mainCounter.averageLatency(unit) + " " + unitSymbol
+                    + (requirement.isConfidenceGated()
+                    ? significance(mainCounter.meanConfidenceInterval(
+                            requirement.getConfidence(), unit), unitSymbol) : ""));
+        }
+        int requiredStdDev = requirement.getMaxStdDev();
+        if (requiredStdDev >= 0
+                && mainCounter.standardDeviation(unit) > requiredStdDev) {
+            context.fail("Standard deviation of the execution times of "
+                    + getId() + " exceeded the requirement of "
+                    + requiredStdDev + " " + unitSymbol + ", measured "
+                    + mainCounter.standardDeviation(unit) + " " + unitSymbol);
+        }
+        double requiredCoefficientOfVariation = requirement
+                .getMaxCoefficientOfVariation();
+        if (requiredCoefficientOfVariation >= 0
+                && mainCounter.coefficientOfVariation() > requiredCoefficientOfVariation) {
+            context.fail("Coefficient of variation of the execution times of "
+                    + getId() + " exceeded the requirement of "
+                    + requiredCoefficientOfVariation + ", measured "
+                    + mainCounter.coefficientOfVariation());
         }
-        for (PercentileRequirement percentile : requirement
-                .getPercentileRequirements()) {
-            long measuredLatency = mainCounter.percentileLatency(percentile
-                    .getPercentage());
-            if (measuredLatency > percentile.getMillis()) {
+        PercentileRequirement[] percentileRequirements = requirement
+                .getPercentileRequirements();
+        long[] compared = ReportUtil.comparedPercentiles(mainCounter,
+                requirement);
+        for (int i = 0; i < percentileRequirements.length; i++) {
+            PercentileRequirement percentile = percentileRequirements[i];
+            if (compared[i] > unit.toNanos(percentile.getMillis())) {
                 context.fail(percentile.getPercentage() + "-percentile of "
                         + getId() + " exceeded the requirement of "
-                        + percentile.getMillis() + " ms, measured "
-                        + measuredLatency + " ms");
+                        + percentile.getMillis() + " " + unitSymbol
+                        + ", measured "
+                        + mainCounter.percentileLatency(percentile.getPercentage(), unit)
+                        + " " + unitSymbol
+                        + (requirement.isConfidenceGated()
+                        ? significance(mainCounter.percentileConfidenceInterval(
+                                percentile.getPercentage(), requirement.getConfidence(),
+                                unit), unitSymbol) : ""));
             }
         }
 
@@ -257,4 +622,27 @@ public class PerformanceTracker extends InvokerProxy {
                     + (mainCounter.errorsRate() * 100) + "%");
         }
     }
+
+    /** Counts the timeouts detected by the {@link Watchdog}. */
+    private final class TimeoutListener implements Watchdog.Listener {
+
+        @Override
+        public void timedOut(Thread thread, long elapsed) {
+            RunResult currentResult = result;
+            if (isTrackingStarted() && currentResult != null) {
+                currentResult.addTimeout();
+            }
+        }
+
+        @Override
+        public void abandoned(Thread thread) {
+            RunResult currentResult = result;
+            if (isTrackingStarted() && currentResult != null) {
+                currentResult.addAbandoned();
+            }
+            System.err.println("Abandoned thread " + thread.getName() + " of "
+                    + getId() + " which did not return after a timeout");
+        }
+    }
+
 }
@@ -0,0 +1,227 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import com.github.javatlacati.stat.PinningStatistics;
+
+/**
+ * Records the 'jdk.VirtualThreadPinned' events of the Java Flight Recorder
+ * while virtual threads run and summarizes them in
+ * {@link PinningStatistics}. ContiPerf is compiled for Java 8, which has no
+ * JFR API, so the API is accessed by reflection like in
+ * {@link VirtualThreads}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+final class PinningMonitor {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static final Class<?> RECORDING;
+    private static final Method ENABLE;
+    private static final Method WITH_THRESHOLD;
+    private static final Method WITH_STACK_TRACE;
+    private static final Method SET_TO_DISK;
+    private static final Method START;
+    private static final Method STOP;
+    private static final Method DUMP;
+    private static final Method CLOSE;
+    private static final Method READ_ALL_EVENTS;
+    private static final Method GET_EVENT_TYPE;
+    private static final Method GET_EVENT_TYPE_NAME;
+    private static final Method GET_STACK_TRACE;
+    private static final Method GET_DURATION;
+    private static final Method GET_FRAMES;
+    private static final Method GET_METHOD;
+    private static final Method GET_LINE_NUMBER;
+    private static final Method GET_TYPE;
+    private static final Method GET_METHOD_NAME;
+    private static final Method GET_TYPE_NAME;
+
+    static {
+	Class<?> recording = null;
+	Method[] methods = new Method[19];
+	try {
+	    recording = Class.forName("jdk.jfr.Recording");
+	    Class<?> settings = Class.forName("jdk.jfr.EventSettings");
+	    Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile");
+	    Class<?> event = Class.forName("jdk.jfr.consumer.RecordedEvent");
+	    Class<?> eventType = Class.forName("jdk.jfr.EventType");
+	    Class<?> stackTrace = Class.forName("jdk.jfr.consumer.RecordedStackTrace");
+	    Class<?> frame = Class.forName("jdk.jfr.consumer.RecordedFrame");
+	    Class<?> method = Class.forName("jdk.jfr.consumer.RecordedMethod");
+	    Class<?> type = Class.forName("jdk.jfr.consumer.RecordedClass");
+	    methods[0] = recording.getMethod("enable", String.class);
+	    methods[1] = settings.getMethod("withThreshold", Duration.class);
+	    methods[2] = settings.getMethod("withStackTrace");
+	    methods[3] = recording.getMethod("setToDisk", boolean.class);
+	    methods[4] = recording.getMethod("start");
+	    methods[5] = recording.getMethod("stop");
+	    methods[6] = recording.getMethod("dump", Path.class);
+	    methods[7] = recording.getMethod("close");
+	    methods[8] = recordingFile.getMethod("readAllEvents", Path.class);
+	    methods[9] = event.getMethod("getEventType");
+	    methods[10] = eventType.getMethod("getName");
+	    methods[11] = event.getMethod("getStackTrace");
+	    methods[12] = event.getMethod("getDuration");
+	    methods[13] = stackTrace.getMethod("getFrames");
+	    methods[14] = frame.getMethod("getMethod");
+	    methods[15] = frame.getMethod("getLineNumber");
+	    methods[16] = method.getMethod("getType");
+	    methods[17] = method.getMethod("getName");
+	    methods[18] = type.getMethod("getName");
+	} catch (Exception e) {
+	    // the Java Flight Recorder is not available
+	    recording = null;
+	}
+	RECORDING = recording;
+	ENABLE = methods[0];
+	WITH_THRESHOLD = methods[1];
+	WITH_STACK_TRACE = methods[2];
+	SET_TO_DISK = methods[3];
+	START = methods[4];
+	STOP = methods[5];
+	DUMP = methods[6];
+	CLOSE = methods[7];
+	READ_ALL_EVENTS = methods[8];
+	GET_EVENT_TYPE = methods[9];
+	GET_EVENT_TYPE_NAME = methods[10];
+	GET_STACK_TRACE = methods[11];
+	GET_DURATION = methods[12];
+	GET_FRAMES = methods[13];
+	GET_METHOD = methods[14];
+	GET_LINE_NUMBER = methods[15];
+	GET_TYPE = methods[16];
+	GET_METHOD_NAME = methods[17];
+	GET_TYPE_NAME = methods[18];
+    }
+
+    private final Object recording;
+
+    private PinningMonitor(Object recording) {
+	this.recording = recording;
+    }
+
+    /** @return true if the Java Flight Recorder API is available */
+    static boolean isSupported() {
+	return RECORDING != null;
+    }
+
+    /**
+     * Starts recording all pinning events, however short.
+     *
+     * @throws IllegalStateException if the Java Flight Recorder is not
+     *                               available
+     */
+    static PinningMonitor start() throws IOException {
+	if (!isSupported()) {
+	    throw new IllegalStateException("Java Flight Recorder not available on Java "
+		    + System.getProperty("java.version"));
+	}
+	Object recording;
+	try {
+	    recording = RECORDING.getConstructor().newInstance();
+	} catch (ReflectiveOperationException e) {
+	    throw new IOException("Unable to create a flight recording", e);
+	}
+	Object settings = invoke(ENABLE, recording, EVENT_NAME);
+	invoke(WITH_STACK_TRACE, invoke(WITH_THRESHOLD, settings, Duration.ZERO));
+	invoke(SET_TO_DISK, recording, true);
+	invoke(START, recording);
+	return new PinningMonitor(recording);
+    }
+
+    /** Stops recording and evaluates the events. */
+    PinningStatistics stop() throws IOException {
+	File file = File.createTempFile("contiperf-pinning", ".jfr");
+	try {
+	    invoke(STOP, recording);
+	    invoke(DUMP, recording, file.toPath());
+	    PinningStatistics result = new PinningStatistics();
+	    List<?> events = (List<?>) invoke(READ_ALL_EVENTS, null, file.toPath());
+	    for (Object event : events) {
+		if (EVENT_NAME.equals(invoke(GET_EVENT_TYPE_NAME,
+			invoke(GET_EVENT_TYPE, event)))) {
+		    result.add(location(invoke(GET_STACK_TRACE, event)),
+			    ((Duration) invoke(GET_DURATION, event)).toNanos());
+		}
+	    }
+	    return result;
+	} finally {
+	    invoke(CLOSE, recording);
+	    file.delete();
+	}
+    }
+
+    private static String location(Object stackTrace) throws IOException {
+	List<?> frames = stackTrace != null
+		? (List<?>) invoke(GET_FRAMES, stackTrace) : null;
+	if (frames == null || frames.isEmpty()) {
+	    return null;
+	}
+	// skip the JDK frames of the blocking operation
+	Object location = frames.get(0);
+	for (Object frame : frames) {
+	    String typeName = typeName(frame);
+	    if (!typeName.startsWith("java.") && !typeName.startsWith("jdk.")
+		    && !typeName.startsWith("sun.")) {
+		location = frame;
+		break;
+	    }
+	}
+	return typeName(location) + "."
+		+ invoke(GET_METHOD_NAME, invoke(GET_METHOD, location)) + ":"
+		+ invoke(GET_LINE_NUMBER, location);
+    }
+
+    private static String typeName(Object frame) throws IOException {
+	return (String) invoke(GET_TYPE_NAME,
+		invoke(GET_TYPE, invoke(GET_METHOD, frame)));
+    }
+
+    private static Object invoke(Method method, Object target, Object... args)
+	    throws IOException {
+	try {
+	    return method.invoke(target, args);
+	} catch (InvocationTargetException e) {
+	    Throwable cause = e.getCause();
+	    if (cause instanceof IOException) {
+		throw (IOException) cause;
+	    }
+	    throw new IOException("Flight recording failed", cause);
+	} catch (IllegalAccessException e) {
+	    throw new IOException("Flight recording failed", e);
+	}
+    }
+
+}
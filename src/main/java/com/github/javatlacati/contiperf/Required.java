@@ -29,6 +29,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Specifies performance requirements for a test.<br>
@@ -97,6 +98,31 @@ public @interface Required {
      */
     String percentiles() default "";
 
+    /**
+     * Requires the standard deviation of the test execution times to be of the
+     * specified value or less.
+     */
+    int maxStdDev() default -1;
+
+    /**
+     * Requires the coefficient of variation, the ratio of the standard
+     * deviation to the average execution time, to be of the specified value
+     * or less, for example 0.1 to tolerate a dispersion of 10% of the average.
+     */
+    double maxCoefficientOfVariation() default -1;
+
+    /**
+     * Makes the {@link #average()}, {@link #median()} and percentile
+     * requirements tolerate statistical noise: When set to a confidence level
+     * like 0.95, a requirement only fails if the lower bound of the measured
+     * value's confidence interval exceeds it, i.e. if the violation is
+     * statistically significant on that level. This avoids flapping
+     * verdicts of high percentiles that are estimated from few samples. The
+     * level must be greater than 0 and less than 1, the default -1 compares
+     * the measured values directly.
+     */
+    double confidence() default -1;
+
     /**
      * Defines the rate of allowed errors.
      * 
@@ -106,4 +132,16 @@ public @interface Required {
      */
     double allowedErrorsRate() default 0.;
 
+    /**
+     * The time unit of the latency requirements {@link #average()},
+     * {@link #median()}, {@link #max()}, {@link #maxStdDev()},
+     * {@link #percentile90()},
+     * {@link #percentile95()}, {@link #percentile99()} and
+     * {@link #percentiles()}, for example {@link TimeUnit#MICROSECONDS} for
+     * requiring a median of 250 us by <code>median = 250</code>. The
+     * {@link #totalTime()} is always specified in milliseconds. The default
+     * is {@link TimeUnit#MILLISECONDS}.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
 }
@@ -0,0 +1,311 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.stat.ArrivalStatistics;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.PinningStatistics;
+import com.github.javatlacati.stat.SaturationStatistics;
+
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The outcome of a performance test run: the {@link LatencyCounter}s of its
+ * clocks and the information about how the run was executed, like timeouts,
+ * cancellation, arrivals of an open workload model or the steps of a
+ * saturation search. It is passed to the report modules on completion.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class RunResult {
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final String id;
+    private final LatencyCounter[] counters;
+    private final int batchSize;
+
+    private LatencyCounter corrected;
+    private ArrivalStatistics arrivals;
+    private PinningStatistics pinning;
+    private SaturationStatistics saturation;
+    private volatile String cancelReason;
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong abandonedCount = new AtomicLong();
+    private long windowInvocations;
+    private long windowNanos = -1;
+
+    public RunResult(String id, LatencyCounter[] counters) {
+	this(id, counters, 1);
+    }
+
+    public RunResult(String id, LatencyCounter[] counters, int batchSize) {
+	this.id = id;
+	this.counters = counters;
+	this.batchSize = batchSize;
+    }
+
+    public String getId() {
+	return id;
+    }
+
+    /**
+     * @return the counters of the configured clocks, the first one being the
+     *         main counter
+     */
+    public LatencyCounter[] getCounters() {
+	return counters;
+    }
+
+    public LatencyCounter getMainCounter() {
+	return counters[0];
+    }
+
+    /**
+     * @return the number of invocations which were timed together as one
+     *         batch, each of them being recorded with the batch average
+     */
+    public int getBatchSize() {
+	return batchSize;
+    }
+
+    /**
+     * @return a counter with the samples of the main counter plus the ones
+     *         back-filled for coordinated omission, or null if no correction
+     *         is applied
+     */
+    public LatencyCounter getCorrected() {
+	return corrected;
+    }
+
+    public void setCorrected(LatencyCounter corrected) {
+	this.corrected = corrected;
+    }
+
+    /**
+     * @return the arrival statistics of an open workload model test, or null
+     *         for closed model tests
+     */
+    public ArrivalStatistics getArrivals() {
+	return arrivals;
+    }
+
+    public void setArrivals(ArrivalStatistics arrivals) {
+	this.arrivals = arrivals;
+    }
+
+    /**
+     * @return the carrier thread pinning events of a virtual thread test, or
+     *         null for platform threads
+     */
+    public PinningStatistics getPinning() {
+	return pinning;
+    }
+
+    public void setPinning(PinningStatistics pinning) {
+	this.pinning = pinning;
+    }
+
+    /**
+     * @return the steps of a saturation search, or null if the test ran with
+     *         a fixed thread count
+     */
+    public SaturationStatistics getSaturation() {
+	return saturation;
+    }
+
+    public void setSaturation(SaturationStatistics saturation) {
+	this.saturation = saturation;
+    }
+
+    /**
+     * @return the reason why the test was canceled before its end, so that
+     *         the statistics are partial, or null if it was not canceled
+     */
+    public String getCancelReason() {
+	return cancelReason;
+    }
+
+    public void setCancelReason(String cancelReason) {
+	this.cancelReason = cancelReason;
+    }
+
+    /**
+     * Counts an invocation which exceeded the timeout. Its latency is not
+     * recorded as a sample.
+     */
+    public void addTimeout() {
+	timeoutCount.incrementAndGet();
+    }
+
+    /**
+     * Counts a timed-out invocation which did not return after being
+     * interrupted, so that its thread was abandoned.
+     */
+    public void addAbandoned() {
+	abandonedCount.incrementAndGet();
+    }
+
+    /** @return the number of invocations which exceeded the timeout */
+    public long timeoutCount() {
+	return timeoutCount.get();
+    }
+
+    /**
+     * @return the number of timed-out invocations whose threads were
+     *         abandoned
+     */
+    public long abandonedCount() {
+	return abandonedCount.get();
+    }
+
+    /**
+     * @return the number of invocations including the failed and the
+     *         timed-out ones
+     */
+    public long totalInvocations() {
+	return getMainCounter().totalInvocations() + timeoutCount();
+    }
+
+    /**
+     * Sets the measurement window of a timed test, in which all threads were
+     * running.
+     *
+     * @param invocations the number of invocations completed in the window
+     * @param nanos       the duration of the window in nanoseconds
+     */
+    public void setWindow(long invocations, long nanos) {
+	this.windowInvocations = invocations;
+	this.windowNanos = nanos;
+    }
+
+    /** @return the number of invocations completed in the measurement window */
+    public long getWindowInvocations() {
+	return windowInvocations;
+    }
+
+    /**
+     * @return the duration of the measurement window in nanoseconds, or -1
+     *         if the throughput was measured over the whole run
+     */
+    public long getWindowNanos() {
+	return windowNanos;
+    }
+
+    /**
+     * @return the invocations per second in the measurement window, or in the
+     *         whole run of the main counter if there was no window
+     */
+    public double throughput() {
+	if (windowNanos > 0) {
+	    return windowInvocations * 1e9 / windowNanos;
+	}
+	return getMainCounter().throughput();
+    }
+
+    public void printSummary(PrintWriter out, int... percentiles) {
+	DecimalFormat df = new DecimalFormat("0.###",
+		DecimalFormatSymbols.getInstance(Locale.US));
+	if (cancelReason != null) {
+	    out.println("canceled: " + cancelReason);
+	}
+	if (batchSize > 1) {
+	    out.println("batches: " + batchSize
+		    + " invocations each, min, max and percentiles are batch averages");
+	}
+	getMainCounter().printSummary(out, percentiles);
+	if (windowNanos > 0) {
+	    out.println("throughput: " + df.format(throughput())
+		    + " / s with all threads running for "
+		    + millis(windowNanos, df) + " ms");
+	}
+	if (corrected != null) {
+	    long[] correctedValues = corrected.percentileLatencies(new double[]{
+		    50, 99, 99.9}, TimeUnit.NANOSECONDS);
+	    out.println("corrected for coordinated omission: median "
+		    + millis(correctedValues[0], df)
+		    + ", 99%: " + millis(correctedValues[1], df)
+		    + ", 99.9%: " + millis(correctedValues[2], df));
+	}
+	if (arrivals != null) {
+	    LatencyCounter responseTimes = arrivals.getResponseTimes();
+	    long[] responseValues = responseTimes.percentileLatencies(
+		    new int[]{50, 99}, TimeUnit.NANOSECONDS);
+	    out.println("arrivals: " + arrivals);
+	    out.println("response time (incl. scheduling delay): median "
+		    + millis(responseValues[0], df)
+		    + ", 99%: " + millis(responseValues[1], df)
+		    + ", max: " + millis(responseTimes.maxLatency(
+		    TimeUnit.NANOSECONDS), df));
+	}
+	if (pinning != null) {
+	    out.println("pinning: " + pinning);
+	    for (Map.Entry<String, Long> location : pinning.getLocations()) {
+		out.println("         " + location.getValue() + " x "
+			+ location.getKey());
+	    }
+	}
+	if (saturation != null) {
+	    out.println("saturation: " + saturation);
+	    for (SaturationStatistics.Step step : saturation.getSteps()) {
+		long[] stepValues = step.getCounter().percentileLatencies(
+			new int[]{50, 99}, TimeUnit.NANOSECONDS);
+		out.println("         " + step
+			+ ", median " + millis(stepValues[0], df)
+			+ ", 99%: " + millis(stepValues[1], df)
+			+ (step == saturation.getKnee() ? " (knee)" : "")
+			+ (step.isBreached() ? " (latency limit breached)" : ""));
+	    }
+	}
+	long timeouts = timeoutCount();
+	if (timeouts > 0) {
+	    long abandoned = abandonedCount();
+	    out.println("timeouts: " + timeouts + " ("
+		    + df.format(100. * timeouts / totalInvocations()) + "%)"
+		    + (abandoned > 0 ? ", " + abandoned + " threads abandoned" : ""));
+	}
+	out.flush();
+    }
+
+    private static String millis(long nanos, DecimalFormat df) {
+	return df.format(nanos / (double) NANOS_PER_MILLI);
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + '[' + id + ']';
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.javatlacati.contiperf.report.ReportUtil;
+import com.github.javatlacati.contiperf.report.Verdict;
+import com.github.javatlacati.contiperf.util.InvokerProxy;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.SaturationStatistics;
+
+/**
+ * Saturation search: Runs the invoker with {@link ConcurrentRunner}s of an
+ * increasing number of threads, from the configured thread count up to
+ * {@link ExecutionConfig#getMaxThreads()}, adding
+ * {@link ExecutionConfig#getThreadIncrement()} threads per step or doubling
+ * them. Each step has a warm-up of {@link ExecutionConfig#getWarmUp()}
+ * milliseconds followed by a measurement window of
+ * {@link ExecutionConfig#getDuration()} milliseconds, in which the step's
+ * latencies are recorded in a counter of its own. The search stops when the
+ * throughput of a step does not exceed the best one by the
+ * {@link ExecutionConfig#getMinThroughputGain() minimum gain} or when the
+ * average, maximum or percentile latencies breach the
+ * {@link PerformanceRequirement}. Ramp-up does not apply. All invocations
+ * are passed to the {@link PerformanceTracker}, which also records them in
+ * the {@link PerformanceTracker#setStepCounter(LatencyCounter) step counter},
+ * so that the steps are measured with the same clock, batches and errors as
+ * the whole test. The steps are provided as {@link SaturationStatistics}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class SaturationRunner implements InvocationRunner {
+
+    private final String name;
+    private PerformanceTracker tracker;
+    private final ArgumentsProvider argsProvider;
+    private final ExecutionConfig config;
+    private final PerformanceRequirement requirement;
+    private final WorkerPool workerPool;
+    private final SaturationStatistics statistics;
+
+    public SaturationRunner(String name, PerformanceTracker tracker,
+			    ArgumentsProvider argsProvider, ExecutionConfig config,
+			    PerformanceRequirement requirement, WorkerPool workerPool) {
+	if (config.getDuration() <= 0) {
+	    throw new PerfTestConfigurationError(
+		    "A saturation search requires a duration for its steps");
+	}
+	this.name = name;
+	this.tracker = tracker;
+	this.argsProvider = argsProvider;
+	this.config = config;
+	this.requirement = requirement;
+	this.workerPool = workerPool;
+	this.statistics = new SaturationStatistics(config.getMinThroughputGain());
+    }
+
+    public SaturationStatistics getStatistics() {
+	return statistics;
+    }
+
+    public void run() {
+	int threads = Math.max(config.getThreads(), 1);
+	int maxThreads = config.getMaxThreads();
+	while (true) {
+	    LatencyCounter counter = runStep(threads);
+	    if (!statistics.addStep(threads, counter, breached(counter))
+		    || tracker.getCancellation().isCanceled()) {
+		return;
+	    }
+	    if (threads >= maxThreads) {
+		statistics.maxThreadsReached();
+		return;
+	    }
+	    int next = (config.getThreadIncrement() > 0
+		    ? threads + config.getThreadIncrement() : threads * 2);
+	    threads = Math.min(next, maxThreads);
+	}
+    }
+
+    public void close() {
+	tracker = null;
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "(" + config.getThreads() + " - "
+		+ config.getMaxThreads() + " threads)";
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    private LatencyCounter runStep(int threads) {
+	StepInvoker invoker = new StepInvoker(tracker, config.getWarmUp());
+	Deadline deadline = new Deadline(config.getWarmUp() + config.getDuration());
+	InvocationRunner[] runners = new InvocationRunner[threads];
+	for (int i = 0; i < threads; i++) {
+	    runners[i] = new TimedRunner(invoker, argsProvider,
+		    config.getWaitTimer(), deadline, tracker.getCancellation());
+	}
+	try (ConcurrentRunner runner = new ConcurrentRunner(name + "-" + threads,
+		runners, 0, config.isVirtualThreads(), workerPool)) {
+	    runner.run();
+	}
+	LatencyCounter counter = invoker.counter();
+	tracker.setStepCounter(null);
+	counter.stop();
+	return counter;
+    }
+
+    private boolean breached(LatencyCounter counter) {
+	if (requirement == null) {
+	    return false;
+	}
+	if (ReportUtil.averageVerdict(counter, requirement) == Verdict.FAILURE
+		|| ReportUtil.maxVerdict(counter, requirement) == Verdict.FAILURE) {
+	    return true;
+	}
+	for (Verdict verdict : ReportUtil.percentileVerdicts(counter, requirement)) {
+	    if (verdict == Verdict.FAILURE) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Makes the tracker record the invocations of a step in a counter of its
+     * own, beginning with the first invocation after the step's warm-up.
+     */
+    private final class StepInvoker extends InvokerProxy {
+
+	private final long measurementStart;
+	private volatile LatencyCounter counter;
+
+	StepInvoker(Invoker target, int warmUp) {
+	    super(target);
+	    this.measurementStart = System.nanoTime()
+		    + TimeUnit.MILLISECONDS.toNanos(warmUp);
+	}
+
+	@Override
+	public Object invoke(Object[] args) throws Exception {
+	    if (counter == null && System.nanoTime() >= measurementStart) {
+		counter();
+	    }
+	    return super.invoke(args);
+	}
+
+	/**
+	 * Creates and starts the counter with the first measured invocation
+	 * and passes it to the tracker.
+	 */
+	LatencyCounter counter() {
+	    LatencyCounter result = counter;
+	    if (result == null) {
+		synchronized (this) {
+		    result = counter;
+		    if (result == null) {
+			result = new LatencyCounter(name,
+				config.getClocks()[0].getName(),
+				config.getDistribution());
+			result.start();
+			tracker.setStepCounter(result);
+			counter = result;
+		    }
+		}
+	    }
+	    return result;
+	}
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import java.util.Arrays;
+
+/**
+ * A running measurement of a {@link SpanTimer}, to be closed in a
+ * try-with-resources block. Each thread keeps a stack of reusable span
+ * objects, one per nesting level, so starting and closing a span does not
+ * allocate objects once the nesting depth has been reached for the first
+ * time.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class Span implements AutoCloseable {
+
+    private static final ThreadLocal<SpanStack> STACKS = ThreadLocal
+	    .withInitial(SpanStack::new);
+
+    private final SpanStack stack;
+    private final int depth;
+    private SpanTimer timer;
+    private long startTime;
+    private long childNanos;
+    private boolean open;
+
+    private Span(SpanStack stack, int depth) {
+	this.stack = stack;
+	this.depth = depth;
+    }
+
+    static Span start(SpanTimer timer) {
+	SpanStack stack = STACKS.get();
+	int depth = stack.depth;
+	if (depth == stack.spans.length) {
+	    stack.spans = Arrays.copyOf(stack.spans, depth * 2);
+	}
+	Span span = stack.spans[depth];
+	if (span == null) {
+	    span = new Span(stack, depth);
+	    stack.spans[depth] = span;
+	}
+	stack.depth++;
+	span.timer = timer;
+	span.childNanos = 0;
+	span.open = true;
+	span.startTime = System.nanoTime();
+	return span;
+    }
+
+    public SpanTimer getTimer() {
+	return timer;
+    }
+
+    public int getDepth() {
+	return depth;
+    }
+
+    /** @return the nanoseconds elapsed since the span was started */
+    public long elapsedNanos() {
+	return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Stops the measurement and records it.
+     *
+     * @throws IllegalStateException if the span has already been closed or
+     *                               spans nested in it are still open
+     */
+    @Override
+    public void close() {
+	long elapsed = System.nanoTime() - startTime;
+	if (!open) {
+	    throw new IllegalStateException("Span of " + timer
+		    + " has already been closed");
+	}
+	if (stack.depth != depth + 1) {
+	    throw new IllegalStateException("Closing span of " + timer
+		    + " before the nested span of " + stack.spans[stack.depth - 1].timer);
+	}
+	open = false;
+	stack.depth--;
+	SpanTimer parentTimer = null;
+	if (depth > 0) {
+	    Span parent = stack.spans[depth - 1];
+	    parent.childNanos += elapsed;
+	    parentTimer = parent.timer;
+	}
+	timer.record(elapsed, childNanos, parentTimer);
+    }
+
+    /** The open spans of a thread, on top of each other from index 0. */
+    private static final class SpanStack {
+	Span[] spans = new Span[8];
+	int depth;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + timer + ", depth " + depth
+		+ (open ? ", open" : "") + "]";
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.stat.CounterRepository;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.Tags;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reusable, pre-registered handle for measuring code sections with
+ * nanosecond resolution. Create it once, e.g. as a constant, and measure each
+ * execution in a try-with-resources block:
+ *
+ * <pre>
+ * private static final SpanTimer QUERY = StopWatch.timer(&quot;query&quot;);
+ *
+ * try (Span span = QUERY.start()) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * The counters of the {@link CounterRepository} are resolved when the timer
+ * is created, and each thread reuses its {@link Span} objects, so a
+ * measurement neither allocates objects nor looks up counters. Spans may be
+ * nested. Each span is recorded in up to three counters of the timer's name:
+ * <ul>
+ * <li>the timer's tags: the total time of the span including nested spans</li>
+ * <li>the tags plus <code>time=self</code>: the time of the span without the
+ * time of the spans nested in it</li>
+ * <li>the tags plus <code>parent=&lt;name of the enclosing timer&gt;</code>: the
+ * total time of the spans which were nested in a span of that timer</li>
+ * </ul>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @see StopWatch#timer(String)
+ * @since 2.4.4
+ */
+public final class SpanTimer {
+
+    public static final String SELF_TAG = "time";
+    public static final String PARENT_TAG = "parent";
+
+    private final String name;
+    private final Tags tags;
+    private final LatencyCounter totalCounter;
+    private final LatencyCounter selfCounter;
+    private final ConcurrentMap<SpanTimer, LatencyCounter> parentCounters;
+
+    public SpanTimer(String name) {
+	this(name, Tags.EMPTY);
+    }
+
+    public SpanTimer(String name, Tags tags) {
+	CounterRepository repository = CounterRepository.getInstance();
+	this.name = name;
+	this.tags = tags;
+	this.totalCounter = repository.getOrCreateCounter(name, tags);
+	this.selfCounter = repository.getOrCreateCounter(name,
+		tags.and(SELF_TAG, "self"));
+	this.parentCounters = new ConcurrentHashMap<>();
+    }
+
+    public String getName() {
+	return name;
+    }
+
+    public Tags getTags() {
+	return tags;
+    }
+
+    /** @return the counter of the total time of the spans */
+    public LatencyCounter getCounter() {
+	return totalCounter;
+    }
+
+    /** @return the counter of the time of the spans without nested spans */
+    public LatencyCounter getSelfCounter() {
+	return selfCounter;
+    }
+
+    /**
+     * Starts measuring a span in the calling thread. The returned span
+     * belongs to the thread and is reused after it has been closed, so it
+     * must be closed by the same thread and must not be used afterwards.
+     */
+    public Span start() {
+	return Span.start(this);
+    }
+
+    /** Records a closed span. */
+    void record(long elapsedNanos, long childNanos, SpanTimer parent) {
+	totalCounter.addSampleNanos(elapsedNanos, null);
+	selfCounter.addSampleNanos(elapsedNanos - childNanos, null);
+	if (parent != null) {
+	    LatencyCounter parentCounter = parentCounters.get(parent);
+	    if (parentCounter == null) {
+		parentCounter = parentCounters.computeIfAbsent(parent,
+			p -> CounterRepository.getInstance().getOrCreateCounter(
+				name, tags.and(PARENT_TAG, p.name)));
+	    }
+	    parentCounter.addSampleNanos(elapsedNanos, null);
+	}
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + name
+		+ (tags.isEmpty() ? "" : "{" + tags + "}") + "]";
+    }
+
+}
@@ -24,6 +24,7 @@ package com.github.javatlacati.contiperf;
 
 import com.github.javatlacati.stat.CounterRepository;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.Tags;
 
 /**
  * Stopwatch-style access to ContiPerf's {@link LatencyCounter} features. A
@@ -51,6 +52,9 @@ import com.github.javatlacati.stat.LatencyCounter;
  * <br>
  * Created: 14.01.2011 11:17:30
  * 
+ * For measurements in tight loops, use a reusable {@link SpanTimer} from
+ * {@link #timer(String)}, which does not allocate objects per measurement.
+ * 
  * @since 2.0.0
  * @author Volker Bergmann
  * @see CounterRepository
@@ -66,15 +70,28 @@ public class StopWatch {
 	this.startTime = System.nanoTime();
     }
 
+    /**
+     * Creates a reusable timer for nested, allocation-free measurements.
+     * 
+     * @see SpanTimer
+     */
+    public static SpanTimer timer(String name) {
+	return new SpanTimer(name);
+    }
+
+    public static SpanTimer timer(String name, Tags tags) {
+	return new SpanTimer(name, tags);
+    }
+
     public long stop() {
 	if (startTime == -1) {
 	    throw new RuntimeException("Called stop() on StopWatch '" + name
 		    + "' which has already been stopped");
 	}
-	int latency = (int) ((System.nanoTime() - startTime) / 1000000L);
+	long nanos = System.nanoTime() - startTime;
 	startTime = -1;
-	CounterRepository.getInstance().addSample(name, latency);
-	return latency;
+	CounterRepository.getInstance().addSampleNanos(name, nanos);
+	return nanos / 1000000L;
     }
 
 }
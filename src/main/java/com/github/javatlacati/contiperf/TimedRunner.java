@@ -25,7 +25,9 @@ package com.github.javatlacati.contiperf;
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 
 /**
- * Calls the invoker for a certain amount of time.<br>
+ * Calls the invoker until a {@link Deadline} is reached. The runners of a
+ * multi-threaded test share the deadline, so that they stop at the same
+ * moment; the first runner which starts also starts the deadline.<br>
  * <br>
  * Created: 15.04.2010 23:13:52
  * 
@@ -34,26 +36,40 @@ import com.github.javatlacati.contiperf.util.ContiPerfUtil;
  */
 public class TimedRunner extends AbstractInvocationRunner {
 
-    private long duration;
+    private Deadline deadline;
     private ArgumentsProvider argsProvider;
     private Invoker invoker;
 
     public TimedRunner(Invoker invoker, ArgumentsProvider argsProvider,
 	    WaitTimer waitTimer, long duration) {
-	super(waitTimer);
+	this(invoker, argsProvider, waitTimer, new Deadline(duration));
+    }
+
+    public TimedRunner(Invoker invoker, ArgumentsProvider argsProvider,
+	    WaitTimer waitTimer, Deadline deadline) {
+	this(invoker, argsProvider, waitTimer, deadline, null);
+    }
+
+    /**
+     * @param cancellation the cancellation signal of the test, or null
+     */
+    public TimedRunner(Invoker invoker, ArgumentsProvider argsProvider,
+	    WaitTimer waitTimer, Deadline deadline, Cancellation cancellation) {
+	super(waitTimer, cancellation);
 	this.invoker = invoker;
 	this.argsProvider = argsProvider;
-	this.duration = duration;
+	this.deadline = deadline;
     }
 
     public void run() {
 	try {
-	    long start = System.currentTimeMillis();
-	    long endTime = start + duration;
+	    deadline.start();
 	    do {
+		beginIteration();
 		invoker.invoke(argsProvider.next());
+		deadline.invocationCompleted();
 		sleep();
-	    } while (System.currentTimeMillis() < endTime);
+	    } while (!deadline.isReached() && !isCanceled());
 	} catch (Exception e) {
 	    throw ContiPerfUtil.executionError(e);
 	}
@@ -65,7 +81,7 @@ public class TimedRunner extends AbstractInvocationRunner {
 
     @Override
     public String toString() {
-	return getClass().getSimpleName() + "(" + duration + " ms)";
+	return getClass().getSimpleName() + "(" + deadline.getDuration() + " ms)";
     }
 
 }
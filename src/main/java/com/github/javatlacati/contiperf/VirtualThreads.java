@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates virtual threads on Java runtimes which support them (Java 21 and
+ * later). ContiPerf is compiled for Java 8, so the API is accessed by
+ * reflection.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method UNSTARTED;
+
+    static {
+	Method ofVirtual = null;
+	Method name = null;
+	Method unstarted = null;
+	try {
+	    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+	    ofVirtual = Thread.class.getMethod("ofVirtual");
+	    name = builderClass.getMethod("name", String.class);
+	    unstarted = builderClass.getMethod("unstarted", Runnable.class);
+	    // fails on runtimes on which virtual threads are a preview feature
+	    ofVirtual.invoke(null);
+	} catch (Exception e) {
+	    ofVirtual = null;
+	}
+	OF_VIRTUAL = ofVirtual;
+	NAME = name;
+	UNSTARTED = unstarted;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+	return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @return a new, unstarted virtual thread
+     * @throws PerfTestConfigurationError if the runtime does not support
+     *                                    virtual threads
+     */
+    public static Thread newThread(String name, Runnable task) {
+	if (!isSupported()) {
+	    throw new PerfTestConfigurationError(
+		    "Virtual threads require Java 21 or later, but running on Java "
+			    + System.getProperty("java.version"));
+	}
+	try {
+	    Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+	    return (Thread) UNSTARTED.invoke(builder, task);
+	} catch (Exception e) {
+	    throw new PerfTestConfigurationError(
+		    "Unable to create virtual thread", e);
+	}
+    }
+
+}
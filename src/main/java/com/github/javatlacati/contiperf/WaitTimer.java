@@ -23,7 +23,10 @@
 package com.github.javatlacati.contiperf;
 
 /**
- * Common interface for components that provide a wait time.<br>
+ * Common interface for components that provide a wait time. The timer
+ * parameters are milliseconds and may have fractions, e.g. 0.2 for 200
+ * microseconds. Runners wait {@link #getWaitTimeNanos()}, so timers with
+ * sub-millisecond wait times need to override it.<br>
  * <br>
  * Created: 06.04.2012 17:04:42
  * 
@@ -33,5 +36,20 @@ package com.github.javatlacati.contiperf;
 public interface WaitTimer {
     void init(double[] params);
 
+    /** @return the wait time in milliseconds */
     int getWaitTime();
+
+    /** @return the wait time in nanoseconds */
+    default long getWaitTimeNanos() {
+	return getWaitTime() * 1000000L;
+    }
+
+    /**
+     * @return true if the wait time is the interval between the starts of
+     *         two invocations (pacing), false if it is the time between the
+     *         end of an invocation and the start of the next one
+     */
+    default boolean isPacing() {
+	return false;
+    }
 }
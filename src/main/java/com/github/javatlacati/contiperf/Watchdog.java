@@ -0,0 +1,272 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Enforces a per-invocation timeout without a thread per call: Each
+ * invoking thread marks the begin and end of its invocations in a
+ * {@link Watch} of its own, and a single shared scanner thread checks the
+ * running watches of all watchdogs periodically. An invocation which runs
+ * longer than the timeout is interrupted and reported to the
+ * {@link Listener} as timed out. If it still has not returned after a
+ * second timeout period, its thread is considered stuck and abandoned:
+ * {@link #isAbandoned(Thread)} then tells the runners not to wait for it
+ * any longer.<br>
+ * <br>
+ * Marking begin and end costs a thread-local lookup and two volatile
+ * writes. The state of a watch is stamped with the number of its
+ * invocations, so that the scanner never interrupts an invocation which
+ * began after it decided that the previous one had timed out. The scan interval is a quarter of the shortest timeout, between
+ * 1 and 100 ms, so timeouts are detected with that delay.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class Watchdog {
+
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int INTERRUPTING = 2;
+    private static final int TIMED_OUT = 3;
+    private static final int ABANDONED = 4;
+    /** the low bits of a stamp which hold the state, above is the generation */
+    private static final long STATE_MASK = 7;
+    private static final long GENERATION = STATE_MASK + 1;
+
+    private static final long MIN_SCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_SCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final List<Watchdog> ACTIVE = new CopyOnWriteArrayList<>();
+    private static final Set<Thread> ABANDONED_THREADS = ConcurrentHashMap.newKeySet();
+    /** guarded by Watchdog.class */
+    private static Thread scanner;
+
+    private final long timeoutNanos;
+    private final Listener listener;
+    private final Queue<Watch> watches;
+    private final ThreadLocal<Watch> currentWatch;
+
+    /**
+     * @param timeout  the timeout in milliseconds
+     * @param listener the listener which is notified of timeouts
+     */
+    public Watchdog(long timeout, Listener listener) {
+	if (timeout <= 0) {
+	    throw new IllegalArgumentException("timeout must be positive, but was "
+		    + timeout);
+	}
+	this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+	this.listener = listener;
+	this.watches = new ConcurrentLinkedQueue<>();
+	this.currentWatch = ThreadLocal.withInitial(this::newWatch);
+    }
+
+    /** @return the timeout in milliseconds */
+    public long getTimeout() {
+	return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    /** Marks the begin of an invocation by the current thread. */
+    public void begin() {
+	currentWatch.get().begin();
+    }
+
+    /**
+     * Marks the end of the invocation of the current thread and clears the
+     * interrupt status which the watchdog may have set.
+     *
+     * @return true if the invocation has timed out
+     */
+    public boolean end() {
+	return currentWatch.get().end();
+    }
+
+    /** Stops watching the invocations of this watchdog. */
+    public void stop() {
+	ACTIVE.remove(this);
+	watches.clear();
+    }
+
+    /**
+     * @return true if the scanner checks the invocations of this watchdog,
+     *         which is the case from the first invocation until it is
+     *         stopped
+     */
+    public boolean isActive() {
+	return ACTIVE.contains(this);
+    }
+
+    /**
+     * @return true if the thread has been abandoned by a watchdog because an
+     *         invocation did not return after it was interrupted
+     */
+    public static boolean isAbandoned(Thread thread) {
+	return ABANDONED_THREADS.contains(thread);
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "(" + getTimeout() + " ms)";
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    private Watch newWatch() {
+	Watch watch = new Watch(Thread.currentThread());
+	watches.add(watch);
+	activate(this);
+	return watch;
+    }
+
+    private static synchronized void activate(Watchdog watchdog) {
+	if (!ACTIVE.contains(watchdog)) {
+	    ACTIVE.add(watchdog);
+	}
+	if (scanner == null) {
+	    scanner = new Thread(Watchdog::scanLoop, "contiperf-watchdog");
+	    scanner.setDaemon(true);
+	    scanner.start();
+	}
+    }
+
+    /** @return true if the scanner shall terminate since nothing is watched */
+    private static synchronized boolean idle() {
+	if (ACTIVE.isEmpty() && ABANDONED_THREADS.isEmpty()) {
+	    scanner = null;
+	    return true;
+	}
+	return false;
+    }
+
+    private static void scanLoop() {
+	while (!idle()) {
+	    long interval = MAX_SCAN_INTERVAL;
+	    for (Watchdog watchdog : ACTIVE) {
+		interval = Math.min(interval, watchdog.timeoutNanos / 4);
+		watchdog.scan(System.nanoTime());
+	    }
+	    // abandoned threads are forgotten when they terminate
+	    ABANDONED_THREADS.removeIf(thread -> !thread.isAlive());
+	    LockSupport.parkNanos(Math.max(interval, MIN_SCAN_INTERVAL));
+	}
+    }
+
+    private void scan(long now) {
+	for (Watch watch : watches) {
+	    long stamp = watch.state.get();
+	    int state = stateOf(stamp);
+	    long elapsed = now - watch.startNanos;
+	    // the stamp makes the swaps fail if the invocation ended and the
+	    // thread began a new one in the meantime
+	    if (state == RUNNING && elapsed > timeoutNanos
+		    && watch.state.compareAndSet(stamp, withState(stamp, INTERRUPTING))) {
+		watch.thread.interrupt();
+		watch.state.set(withState(stamp, TIMED_OUT));
+		listener.timedOut(watch.thread, elapsed);
+	    } else if (state == TIMED_OUT && elapsed > 2 * timeoutNanos
+		    && watch.state.compareAndSet(stamp, withState(stamp, ABANDONED))) {
+		ABANDONED_THREADS.add(watch.thread);
+		listener.abandoned(watch.thread);
+	    }
+	}
+    }
+
+    private static int stateOf(long stamp) {
+	return (int) (stamp & STATE_MASK);
+    }
+
+    private static long withState(long stamp, int state) {
+	return (stamp & ~STATE_MASK) | state;
+    }
+
+    /** Receives the timeouts detected by a {@link Watchdog}. */
+    public interface Listener {
+
+	/**
+	 * Called by the scanner thread when an invocation has exceeded the
+	 * timeout, after its thread was interrupted.
+	 *
+	 * @param thread  the thread of the invocation
+	 * @param elapsed the time in nanoseconds since the invocation started
+	 */
+	void timedOut(Thread thread, long elapsed);
+
+	/**
+	 * Called by the scanner thread when the thread of a timed-out
+	 * invocation is abandoned.
+	 */
+	void abandoned(Thread thread);
+    }
+
+    /** The invocation state of one thread. */
+    private static final class Watch {
+
+	final Thread thread;
+	/** the generation of the invocation and its state */
+	final AtomicLong state;
+	volatile long startNanos;
+
+	Watch(Thread thread) {
+	    this.thread = thread;
+	    this.state = new AtomicLong(IDLE);
+	}
+
+	void begin() {
+	    // written before the state, so that the scanner sees the start
+	    // time of the invocation which it sees running
+	    startNanos = System.nanoTime();
+	    state.set(withState(state.get() + GENERATION, RUNNING));
+	}
+
+	boolean end() {
+	    while (true) {
+		long stamp = state.get();
+		int current = stateOf(stamp);
+		if (current == INTERRUPTING) {
+		    // wait for the interrupt, so that it can be cleared
+		    Thread.yield();
+		} else if (state.compareAndSet(stamp, withState(stamp, IDLE))) {
+		    if (current == IDLE || current == RUNNING) {
+			return false;
+		    }
+		    Thread.interrupted();
+		    ABANDONED_THREADS.remove(thread);
+		    return true;
+		}
+	    }
+	}
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of reusable worker threads for the runners, which avoids creating
+ * new threads for each test and keeps the thread-local state of the code
+ * under test warm. The pool retains up to {@link #getSize() size} idle
+ * workers, a worker which has been idle for longer than the
+ * {@link #getKeepAlive() keep-alive time} terminates. If more workers are
+ * needed than the pool retains, additional workers are created for the
+ * task and discarded afterwards, so a pool of size 0 behaves like creating
+ * a new thread for each task.<br>
+ * <br>
+ * Tasks are assigned to a <i>slot</i>: If the worker of the slot is idle,
+ * it executes the task, so the n-th thread of each test runs on the same
+ * worker thread as long as tests do not run in parallel. Otherwise any idle
+ * worker or a new one is used.<br>
+ * <br>
+ * The shared pool of the harness is configured with the system properties
+ * {@value #SYSPROP_SIZE} (default 0, which means that no pool is used) and
+ * {@value #SYSPROP_KEEP_ALIVE} (in milliseconds, default 60000). The pool
+ * threads are daemon threads.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class WorkerPool {
+
+    public static final String SYSPROP_SIZE = "contiperf.pool.size";
+    public static final String SYSPROP_KEEP_ALIVE = "contiperf.pool.keepalive";
+    public static final long DEFAULT_KEEP_ALIVE = 60000;
+
+    private static WorkerPool shared;
+    private static boolean sharedInitialized;
+
+    private final String name;
+    private final int size;
+    private final long keepAlive;
+    /** the workers by slot, with null entries for unused slots */
+    private final List<Worker> workers;
+
+    /**
+     * @param name      the prefix of the worker thread names
+     * @param size      the maximum number of workers to retain
+     * @param keepAlive the time in milliseconds after which an idle worker
+     *                  terminates, or 0 for keeping idle workers until the
+     *                  JVM exits
+     */
+    public WorkerPool(String name, int size, long keepAlive) {
+	if (size < 0 || keepAlive < 0) {
+	    throw new IllegalArgumentException("Illegal pool configuration: size "
+		    + size + ", keep-alive " + keepAlive);
+	}
+	this.name = name;
+	this.size = size;
+	this.keepAlive = keepAlive;
+	this.workers = new ArrayList<>();
+    }
+
+    // shared pool -----------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the pool configured by the system properties, or null if the
+     *         configured size is 0
+     */
+    public static synchronized WorkerPool shared() {
+	if (!sharedInitialized) {
+	    int size = Integer.getInteger(SYSPROP_SIZE, 0);
+	    long keepAlive = Long.getLong(SYSPROP_KEEP_ALIVE, DEFAULT_KEEP_ALIVE);
+	    shared = (size > 0 ? new WorkerPool("contiperf", size, keepAlive) : null);
+	    sharedInitialized = true;
+	}
+	return shared;
+    }
+
+    /**
+     * Replaces the shared pool, shutting down the previous one.
+     *
+     * @param pool the new pool, or null for not using a pool
+     */
+    public static synchronized void setShared(WorkerPool pool) {
+	if (shared != null && shared != pool) {
+	    shared.shutdown();
+	}
+	shared = pool;
+	sharedInitialized = true;
+    }
+
+    // properties ------------------------------------------------------------------------------------------------------
+
+    public int getSize() {
+	return size;
+    }
+
+    public long getKeepAlive() {
+	return keepAlive;
+    }
+
+    /** @return the number of live workers */
+    public synchronized int getWorkerCount() {
+	int count = 0;
+	for (Worker worker : workers) {
+	    if (worker != null) {
+		count++;
+	    }
+	}
+	return count;
+    }
+
+    // operations ------------------------------------------------------------------------------------------------------
+
+    /**
+     * Executes a task on the worker of a slot if it is idle, otherwise on
+     * another idle or a new worker.
+     */
+    public synchronized Job execute(int slot, Runnable task) {
+	Worker worker = null;
+	if (slot >= 0 && slot < workers.size() && workers.get(slot) != null
+		&& workers.get(slot).job == null) {
+	    worker = workers.get(slot);
+	} else if (slot >= 0 && (slot >= workers.size() || workers.get(slot) == null)) {
+	    worker = newWorker(slot);
+	} else {
+	    for (Worker candidate : workers) {
+		if (candidate != null && candidate.job == null) {
+		    worker = candidate;
+		    break;
+		}
+	    }
+	    if (worker == null) {
+		worker = newWorker(freeSlot());
+	    }
+	}
+	Job job = new Job(task, worker.thread);
+	worker.job = job;
+	worker.tasks.add(job);
+	return job;
+    }
+
+    /** Makes all idle workers terminate. Busy workers terminate after their task. */
+    public synchronized void shutdown() {
+	for (Worker worker : workers) {
+	    if (worker != null) {
+		worker.retired = true;
+		if (worker.job == null) {
+		    worker.thread.interrupt();
+		}
+	    }
+	}
+	workers.clear();
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + name + ", size " + size
+		+ ", keep-alive " + keepAlive + " ms]";
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    private int freeSlot() {
+	int slot = workers.indexOf(null);
+	return (slot >= 0 ? slot : workers.size());
+    }
+
+    private Worker newWorker(int slot) {
+	while (workers.size() <= slot) {
+	    workers.add(null);
+	}
+	Worker worker = new Worker(slot);
+	workers.set(slot, worker);
+	worker.thread.start();
+	return worker;
+    }
+
+    /** Called by a worker after its task, returns true if the worker terminates. */
+    synchronized boolean finished(Worker worker) {
+	worker.job = null;
+	if (worker.slot >= size) {
+	    retire(worker);
+	}
+	return worker.retired;
+    }
+
+    /** Called by an idle worker after the keep-alive time. */
+    synchronized boolean expired(Worker worker) {
+	if (worker.job == null) {
+	    retire(worker);
+	}
+	return worker.retired;
+    }
+
+    private void retire(Worker worker) {
+	worker.retired = true;
+	if (worker.slot < workers.size() && workers.get(worker.slot) == worker) {
+	    workers.set(worker.slot, null);
+	}
+    }
+
+    final class Worker implements Runnable {
+
+	final int slot;
+	final Thread thread;
+	final BlockingQueue<Job> tasks;
+	/** the current job, guarded by the pool */
+	Job job;
+	/** guarded by the pool */
+	boolean retired;
+
+	Worker(int slot) {
+	    this.slot = slot;
+	    this.thread = new Thread(this, name + "-worker-" + (slot + 1));
+	    this.thread.setDaemon(true);
+	    this.tasks = new LinkedBlockingQueue<>();
+	}
+
+	@Override
+	public void run() {
+	    while (true) {
+		Job next;
+		try {
+		    next = (keepAlive > 0 ? tasks.poll(keepAlive, TimeUnit.MILLISECONDS)
+			    : tasks.take());
+		} catch (InterruptedException e) {
+		    // shutdown
+		    synchronized (WorkerPool.this) {
+			if (retired && job == null) {
+			    return;
+			}
+		    }
+		    continue;
+		}
+		if (next == null) {
+		    if (expired(this)) {
+			return;
+		    }
+		} else {
+		    next.run();
+		    // become idle before the job is joined, so that the next
+		    // task of the slot finds the worker available
+		    boolean terminate = finished(this);
+		    next.complete();
+		    if (terminate) {
+			return;
+		    }
+		}
+	    }
+	}
+    }
+
+    /**
+     * A task executed by a pool worker. It can be interrupted without
+     * affecting later tasks of the worker.
+     */
+    public static final class Job {
+
+	private final Runnable task;
+	private final Thread thread;
+	private boolean running;
+	private boolean canceled;
+	private boolean done;
+
+	Job(Runnable task, Thread thread) {
+	    this.task = task;
+	    this.thread = thread;
+	}
+
+	/** @return the worker thread which executes the task */
+	public Thread getThread() {
+	    return thread;
+	}
+
+	/**
+	 * Interrupts the worker thread if it is executing the task, or makes
+	 * the task start in interrupted state if it did not start yet.
+	 */
+	public synchronized void interrupt() {
+	    canceled = true;
+	    if (running && !done) {
+		thread.interrupt();
+	    }
+	}
+
+	/** Waits until the task is finished. */
+	public synchronized void join() throws InterruptedException {
+	    while (!done) {
+		wait();
+	    }
+	}
+
+	/**
+	 * Waits until the task is finished or the timeout has elapsed.
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 */
+	public synchronized void join(long timeout) throws InterruptedException {
+	    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+	    long remaining = timeout;
+	    while (!done && remaining > 0) {
+		wait(remaining);
+		remaining = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime());
+	    }
+	}
+
+	public synchronized boolean isDone() {
+	    return done;
+	}
+
+	void run() {
+	    synchronized (this) {
+		running = true;
+		if (canceled) {
+		    thread.interrupt();
+		}
+	    }
+	    try {
+		task.run();
+	    } catch (Throwable t) {
+		thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+	    }
+	}
+
+	synchronized void complete() {
+	    done = true;
+	    // clear the interruption of a canceled task
+	    Thread.interrupted();
+	    notifyAll();
+	}
+    }
+
+}
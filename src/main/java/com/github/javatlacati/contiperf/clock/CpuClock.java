@@ -48,4 +48,9 @@ public class CpuClock extends AbstractClock {
 	return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime() / 1000000;
     }
 
+    @Override
+    public long getNanoTime() {
+	return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+
 }
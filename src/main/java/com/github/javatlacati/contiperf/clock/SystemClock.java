@@ -45,4 +45,9 @@ public class SystemClock extends AbstractClock {
 	return System.nanoTime() / 1000000;
     }
 
+    @Override
+    public long getNanoTime() {
+	return System.nanoTime();
+    }
+
 }
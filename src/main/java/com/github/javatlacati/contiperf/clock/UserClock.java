@@ -48,4 +48,9 @@ public class UserClock extends AbstractClock {
 	return ManagementFactory.getThreadMXBean().getCurrentThreadUserTime() / 1000000;
     }
 
+    @Override
+    public long getNanoTime() {
+	return ManagementFactory.getThreadMXBean().getCurrentThreadUserTime();
+    }
+
 }
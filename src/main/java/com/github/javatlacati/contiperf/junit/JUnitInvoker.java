@@ -22,6 +22,8 @@
 
 package com.github.javatlacati.contiperf.junit;
 
+import java.util.function.Predicate;
+
 import com.github.javatlacati.contiperf.Invoker;
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 import org.junit.runners.model.Statement;
@@ -38,12 +40,23 @@ public class JUnitInvoker implements Invoker {
 
     private String id;
     private Statement base;
+    private Predicate<Throwable> stackTraceFilter;
 
     public JUnitInvoker(String id, Statement base) {
 	this.id = id;
 	this.base = base;
     }
 
+    /**
+     * Sets the filter which decides for the cause of a failed invocation
+     * whether the error wrapping it captures a stack trace. Without a filter
+     * all errors do.
+     * @since 2.4.4
+     */
+    public void setStackTraceFilter(Predicate<Throwable> stackTraceFilter) {
+	this.stackTraceFilter = stackTraceFilter;
+    }
+
     public String getId() {
 	return id;
     }
@@ -53,7 +66,8 @@ public class JUnitInvoker implements Invoker {
 	    base.evaluate();
 	    return null;
 	} catch (Throwable e) {
-	    throw ContiPerfUtil.executionError(e);
+	    throw ContiPerfUtil.executionError(e,
+		    stackTraceFilter == null || stackTraceFilter.test(e));
 	}
     }
 
@@ -25,19 +25,23 @@ package com.github.javatlacati.contiperf.junit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.github.javatlacati.contiperf.ArgumentsProvider;
+import com.github.javatlacati.contiperf.ArrivalRateRunner;
+import com.github.javatlacati.contiperf.Cancellation;
 import com.github.javatlacati.contiperf.Clock;
 import com.github.javatlacati.contiperf.ConcurrentRunner;
 import com.github.javatlacati.contiperf.CountRunner;
+import com.github.javatlacati.contiperf.Deadline;
 import com.github.javatlacati.contiperf.EmptyArgumentsProvider;
 import com.github.javatlacati.contiperf.ExecutionConfig;
 import com.github.javatlacati.contiperf.InvocationRunner;
-import com.github.javatlacati.contiperf.Invoker;
 import com.github.javatlacati.contiperf.PerfTestConfigurationError;
 import com.github.javatlacati.contiperf.PerfTestExecutionError;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
 import com.github.javatlacati.contiperf.PerformanceTracker;
+import com.github.javatlacati.contiperf.SaturationRunner;
 import com.github.javatlacati.contiperf.TimedRunner;
 import com.github.javatlacati.contiperf.WaitTimer;
+import com.github.javatlacati.contiperf.WorkerPool;
 import com.github.javatlacati.contiperf.report.ReportContext;
 import org.junit.runners.model.Statement;
 
@@ -71,22 +75,36 @@ final class PerfTestStatement extends Statement {
     @Override
     public void evaluate() throws Throwable {
 	System.out.println(id);
-	Invoker invoker = new JUnitInvoker(id, base);
+	JUnitInvoker invoker = new JUnitInvoker(id, base);
 	Clock[] clocks = config.getClocks();
 	PerformanceTracker tracker = new PerformanceTracker(invoker, config,
 		requirement, context, clocks);
+	// only the first errors of each kind are kept with their stack traces
+	invoker.setStackTraceFilter(tracker::needsStackTrace);
 		try (InvocationRunner runner = createRunner(tracker)) {
-			runner.run();
+			try {
+				runner.run();
+			} finally {
+				if (runner instanceof ConcurrentRunner) {
+					tracker.setPinning(((ConcurrentRunner) runner).getPinning());
+				} else if (runner instanceof SaturationRunner) {
+					tracker.setSaturation(((SaturationRunner) runner).getStatistics());
+				}
+			}
 			if (!tracker.isTrackingStarted() && config.getWarmUp() > 0) {
 				throw new PerfTestExecutionError(
 						"Test finished before warm-up period ("
 								+ config.getWarmUp() + " ms) was over");
 			}
 		} finally {
-			if (tracker.isTrackingStarted()) {
-				tracker.stopTracking();
+			try {
+				if (tracker.isTrackingStarted()) {
+					tracker.stopTracking();
+				}
+			} finally {
+				// stops the watchdog also if the requirements failed
+				tracker.clear();
 			}
-			tracker.clear();
 		}
     }
 
@@ -94,42 +112,64 @@ final class PerfTestStatement extends Statement {
 	ArgumentsProvider provider = new EmptyArgumentsProvider();
 	InvocationRunner runner;
 	int threads = config.getThreads();
+	boolean virtualThreads = config.isVirtualThreads();
 	int rampUp = config.getRampUp();
 	int durationWithRampUp = config.getDuration() + config.getRampUp()
 		* (config.getThreads() - 1);
 	int invocations = config.getInvocations();
 	WaitTimer waitTimer = config.getWaitTimer();
-	if (config.getDuration() > 0) {
-	    if (threads == 1) {
+	WorkerPool workerPool = WorkerPool.shared();
+	Cancellation cancellation = tracker.getCancellation();
+	if (config.getRate() > 0) {
+	    // open workload model
+	    runner = new ArrivalRateRunner(id, tracker, provider, config,
+		    workerPool);
+	} else if (config.getMaxThreads() > threads) {
+	    // saturation search
+	    runner = new SaturationRunner(id, tracker, provider, config,
+		    requirement, workerPool);
+	} else if (config.getDuration() > 0) {
+	    if (threads == 1 && !virtualThreads) {
 		// single-threaded timed test
+		Deadline deadline = new Deadline(durationWithRampUp, 1,
+			config.getWarmUp());
+		tracker.setDeadline(deadline);
 		runner = new TimedRunner(tracker, provider, waitTimer,
-			durationWithRampUp);
+			deadline, cancellation);
 	    } else {
 		// multi-threaded timed test
 		if (durationWithRampUp - (threads - 1) * rampUp <= 0) {
 		    throw new IllegalArgumentException(
 			    "test duration is shorter than the cumulated ramp-up times");
 		}
+		// all threads stop at the same deadline, the throughput is
+		// measured while all of them are running
+		Deadline deadline = new Deadline(durationWithRampUp, threads,
+			config.getWarmUp());
+		tracker.setDeadline(deadline);
 		InvocationRunner[] runners = new InvocationRunner[threads];
 		for (int i = 0; i < threads; i++) {
 		    runners[i] = new TimedRunner(tracker, provider, waitTimer,
-			    durationWithRampUp - i * rampUp);
+			    deadline, cancellation);
 		}
-		runner = new ConcurrentRunner(id, runners, rampUp);
+		runner = new ConcurrentRunner(id, runners, rampUp,
+			virtualThreads, workerPool);
 	    }
 	} else if (invocations >= 0) {
 	    AtomicLong counter = new AtomicLong(invocations);
-	    if (threads == 1) {
+	    if (threads == 1 && !virtualThreads) {
 		// single-threaded count-based test
-		runner = new CountRunner(tracker, provider, waitTimer, counter);
+		runner = new CountRunner(tracker, provider, waitTimer, counter,
+			1, cancellation);
 	    } else {
 		// multi-threaded count-based test
 		InvocationRunner[] runners = new InvocationRunner[threads];
 		for (int i = 0; i < threads; i++) {
 		    runners[i] = new CountRunner(tracker, provider, waitTimer,
-			    counter);
+			    counter, threads, cancellation);
 		}
-		runner = new ConcurrentRunner(id, runners, rampUp);
+		runner = new ConcurrentRunner(id, runners, rampUp,
+			virtualThreads, workerPool);
 	    }
 	} else {
 	    throw new PerfTestConfigurationError(
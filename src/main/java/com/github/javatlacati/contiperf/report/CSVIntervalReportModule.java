@@ -0,0 +1,110 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.report;
+
+import com.github.javatlacati.contiperf.ExecutionConfig;
+import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyInterval;
+import com.github.javatlacati.stat.LatencySnapshot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReportModule} that creates a CSV file with one line per latency
+ * recording interval (see {@link com.github.javatlacati.contiperf.PerfTest#interval()}),
+ * which reports start and end time of the interval, the number of samples and
+ * median, 99-percentile and maximum latency in milliseconds.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class CSVIntervalReportModule extends AbstractReportModule {
+
+    private static final String FILE_SUFFIX = ".intervals.csv";
+    public static final char DELIMITER = ',';
+
+    private PrintWriter out;
+    private DecimalFormat msFormat = ReportUtil.millisFormat();
+
+    @Override
+    public String getReportReferenceLabel(String serviceId) {
+        return serviceId == null ? null : "Latency over time as CSV";
+    }
+
+    @Override
+    public String getReportReference(String serviceId) {
+        return serviceId == null ? null : serviceId + FILE_SUFFIX;
+    }
+
+    @Override
+    public void starting(String serviceId) {
+        File file = new File(context.getReportFolder(), serviceId + FILE_SUFFIX);
+        try {
+            out = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+            out.println("start,end,samples,median,99%,max");
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void intervalCompleted(String serviceId, LatencyInterval interval) {
+        LatencySnapshot snapshot = interval.getSnapshot();
+        long[] percentiles = snapshot.percentileLatencies(new int[]{50, 99},
+                TimeUnit.NANOSECONDS);
+        out.print(interval.getStartTime());
+        out.print(DELIMITER);
+        out.print(interval.getEndTime());
+        out.print(DELIMITER);
+        out.print(snapshot.sampleCount());
+        out.print(DELIMITER);
+        out.print(millis(percentiles[0]));
+        out.print(DELIMITER);
+        out.print(millis(percentiles[1]));
+        out.print(DELIMITER);
+        out.println(millis(snapshot.maxLatency(TimeUnit.NANOSECONDS)));
+    }
+
+    @Override
+    public synchronized void completed(String serviceId, LatencyCounter[] counters,
+                                       ExecutionConfig executionConfig, PerformanceRequirement requirement) {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private String millis(long nanos) {
+        return msFormat.format(nanos / 1000000.);
+    }
+
+}
@@ -25,6 +25,7 @@ package com.github.javatlacati.contiperf.report;
 import com.github.javatlacati.contiperf.ExecutionConfig;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyDistribution;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
@@ -32,10 +33,11 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.text.DecimalFormat;
 
 /**
  * {@link ReportModule} which creates a CSV file that reports how often (2nd
- * column) which latency (1st column) was measured.<br>
+ * column) which latency (1st column, in milliseconds) was measured.<br>
  * <br>
  * Created: 16.01.2011 19:22:23
  *
@@ -101,13 +103,22 @@ public class CSVLatencyReportModule extends AbstractReportModule {
         }
     }
 
+    /**
+     * Writes one line per non-empty distribution bucket with the lowest latency
+     * of the bucket in milliseconds and the bucket's sample count.
+     */
     private void writeStats(String serviceId, LatencyCounter[] counters) {
         try {
-            LatencyCounter counter = counters[0];
-            for (long i = counter.minLatency(); i <= counter.maxLatency(); i++) {
-                String line = i + "," + counter.getLatencyCount(i)
-                        + LINE_SEPARATOR;
-                out.write(line.getBytes());
+            DecimalFormat msFormat = ReportUtil.millisFormat();
+            LatencyDistribution distribution = counters[0].getDistribution();
+            int highestIndex = distribution.getHighestIndex();
+            for (int i = Math.max(distribution.getLowestIndex(), 0); i <= highestIndex; i++) {
+                long count = distribution.getCountAtIndex(i);
+                if (count > 0) {
+                    String line = msFormat.format(distribution.lowestValueAtIndex(i)
+                            / 1000000.) + "," + count + LINE_SEPARATOR;
+                    out.write(line.getBytes());
+                }
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -24,6 +24,7 @@ package com.github.javatlacati.contiperf.report;
 
 import com.github.javatlacati.contiperf.ExecutionConfig;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.contiperf.RunResult;
 import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 import com.github.javatlacati.stat.LatencyCounter;
 
@@ -32,13 +33,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Writes summary information of the ContiPerf to a CSV file.<br>
+ * Writes summary information of the ContiPerf to a CSV file. Latencies are
+ * reported in milliseconds with up to three fraction digits. The corrected
+ * columns are only filled for tests with coordinated omission correction
+ * (see {@link com.github.javatlacati.contiperf.PerfTest#expectedInterval()}).<br>
  * <br>
  * Created: 16.01.2011 11:03:46
  *
@@ -93,7 +96,13 @@ public class CSVSummaryReportModule extends AbstractReportModule {
     @Override
     public void completed(String serviceId, LatencyCounter[] counters,
                           ExecutionConfig executionConfig, PerformanceRequirement requirement) {
-        writeStats(serviceId, counters);
+        writeStats(serviceId, counters, null);
+    }
+
+    @Override
+    public void completed(String serviceId, RunResult result,
+                          ExecutionConfig executionConfig, PerformanceRequirement requirement) {
+        writeStats(serviceId, result.getCounters(), result.getCorrected());
     }
 
     // helper methods
@@ -103,7 +112,8 @@ public class CSVSummaryReportModule extends AbstractReportModule {
         OutputStream out = null;
         try {
             out = new FileOutputStream(file, true);
-            String line = "serviceId,startTime,duration,invocations,min,average,median,90%,95%,99%,max"
+            String line = "serviceId,startTime,duration,invocations,min,average,median,90%,95%,99%,max,stddev,cv,"
+                    + "corrected median,corrected 99%,corrected 99.9%,corrected max"
                     + LINE_SEPARATOR;
             out.write(line.getBytes());
         } catch (IOException e) {
@@ -113,27 +123,31 @@ public class CSVSummaryReportModule extends AbstractReportModule {
         }
     }
 
-    private void writeStats(String serviceId, LatencyCounter[] counters) {
+    private void writeStats(String serviceId, LatencyCounter[] counters,
+                            LatencyCounter corrected) {
         OutputStream out = null;
         try {
             out = new FileOutputStream(file, true);
-            DecimalFormat decForm = new DecimalFormat("0.#",
-                    DecimalFormatSymbols.getInstance(Locale.US));
-            decForm.setGroupingUsed(false);
+            DecimalFormat msForm = ReportUtil.millisFormat();
             LatencyCounter mainCounter = counters[0];
-            String avg = decForm.format(mainCounter.averageLatency());
+            long[] percentiles = mainCounter.percentileLatencies(
+                    new int[]{50, 90, 95, 99}, TimeUnit.NANOSECONDS);
             String message = new StringBuilder()
                     .append(serviceId).append(SEPARATOR)
                     .append(mainCounter.getStartTime()).append(SEPARATOR)
                     .append(mainCounter.duration()).append(SEPARATOR)
                     .append(mainCounter.sampleCount()).append(SEPARATOR)
-                    .append(mainCounter.minLatency()).append(SEPARATOR)
-                    .append(avg).append(SEPARATOR)
-                    .append(mainCounter.percentileLatency(50)).append(SEPARATOR)
-                    .append(mainCounter.percentileLatency(90)).append(SEPARATOR)
-                    .append(mainCounter.percentileLatency(95)).append(SEPARATOR)
-                    .append(mainCounter.percentileLatency(99)).append(SEPARATOR)
-                    .append(mainCounter.maxLatency()).append(LINE_SEPARATOR)
+                    .append(millis(mainCounter.minLatency(TimeUnit.NANOSECONDS), msForm)).append(SEPARATOR)
+                    .append(msForm.format(mainCounter.averageLatency())).append(SEPARATOR)
+                    .append(millis(percentiles[0], msForm)).append(SEPARATOR)
+                    .append(millis(percentiles[1], msForm)).append(SEPARATOR)
+                    .append(millis(percentiles[2], msForm)).append(SEPARATOR)
+                    .append(millis(percentiles[3], msForm)).append(SEPARATOR)
+                    .append(millis(mainCounter.maxLatency(TimeUnit.NANOSECONDS), msForm)).append(SEPARATOR)
+                    .append(msForm.format(mainCounter.standardDeviation())).append(SEPARATOR)
+                    .append(msForm.format(mainCounter.coefficientOfVariation()))
+                    .append(correctedColumns(corrected, msForm))
+                    .append(LINE_SEPARATOR)
                     .toString();
             out.write(message.getBytes());
         } catch (IOException e) {
@@ -143,6 +157,29 @@ public class CSVSummaryReportModule extends AbstractReportModule {
         }
     }
 
+    /**
+     * @return the percentiles corrected for coordinated omission, or empty
+     *         columns if no correction was applied
+     */
+    private static String correctedColumns(LatencyCounter corrected,
+                                           DecimalFormat msForm) {
+        if (corrected == null) {
+            return ",,,,";
+        }
+        long[] percentiles = corrected.percentileLatencies(
+                new double[]{50, 99, 99.9}, TimeUnit.NANOSECONDS);
+        return new StringBuilder()
+                .append(SEPARATOR).append(millis(percentiles[0], msForm))
+                .append(SEPARATOR).append(millis(percentiles[1], msForm))
+                .append(SEPARATOR).append(millis(percentiles[2], msForm))
+                .append(SEPARATOR).append(millis(corrected.maxLatency(TimeUnit.NANOSECONDS), msForm))
+                .toString();
+    }
+
+    private static String millis(long nanos, DecimalFormat format) {
+        return format.format(nanos / 1000000.);
+    }
+
     private String filename() {
         return "summary.csv";
     }
@@ -23,10 +23,16 @@
 package com.github.javatlacati.contiperf.report;
 
 import com.github.javatlacati.contiperf.report.LatencyDataSet.LabelInfo;
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyDistribution;
+import com.github.javatlacati.stat.LatencyInterval;
+import com.github.javatlacati.stat.LatencySnapshot;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Formats the latency distribution of a {@link LatencyCounter} using the Google
@@ -39,20 +45,115 @@ import java.net.URLEncoder;
  */
 public class GoogleLatencyRenderer {
 
+    static final int MAX_INTERVAL_POINTS = 100;
+
     public String render(LatencyCounter counter, String title, int width,
                          int height) {
-        LatencyDataSet dataset = new LatencyDataSet((int) (counter.maxLatency()
-                - counter.minLatency() + 3));
-        for (int i = (int) counter.minLatency(); i <= counter.maxLatency(); i++) {
-            dataset.addPoint(i, (int) counter.getLatencyCount(i));
+        TimeUnit unit = ReportUtil.displayUnit(counter, null);
+        int min = (int) counter.minLatency(unit);
+        int max = (int) counter.maxLatency(unit);
+        long[] counts = distribution(counter, unit, min, max);
+        LatencyDataSet dataset = new LatencyDataSet(max - min + 3);
+        for (int i = min; i <= max; i++) {
+            dataset.addPoint(i, (int) counts[i - min]);
         }
         dataset = dataset.reduce(50);
-        dataset.addLabel("avg", (int) counter.averageLatency());
-        dataset.addLabel("med", (int) counter.percentileLatency(50));
-        dataset.addLabel("90%", (int) counter.percentileLatency(90));
+        dataset.addLabel("avg", (int) counter.averageLatency(unit));
+        dataset.addLabel("med", (int) counter.percentileLatency(50, unit));
+        dataset.addLabel("90%", (int) counter.percentileLatency(90, unit));
         return renderDataset(dataset, title, width, height);
     }
 
+    /**
+     * Maps the distribution buckets of the counter to one cell per display unit.
+     * The count of a bucket which covers several cells is spread evenly.
+     */
+    private long[] distribution(LatencyCounter counter, TimeUnit unit, int min,
+                                int max) {
+        long[] cells = new long[max - min + 1];
+        long unitNanos = unit.toNanos(1);
+        LatencyDistribution distribution = counter.getDistribution();
+        int highestIndex = distribution.getHighestIndex();
+        for (int i = Math.max(distribution.getLowestIndex(), 0); i <= highestIndex; i++) {
+            long count = distribution.getCountAtIndex(i);
+            if (count > 0) {
+                int lowCell = cell(distribution.lowestValueAtIndex(i), unitNanos, min, max);
+                int highCell = cell(distribution.highestValueAtIndex(i), unitNanos, min, max);
+                int cellCount = highCell - lowCell + 1;
+                for (int c = lowCell; c <= highCell; c++) {
+                    cells[c] += count / cellCount;
+                }
+                cells[lowCell] += count % cellCount;
+            }
+        }
+        return cells;
+    }
+
+    private static int cell(long nanos, long unitNanos, int min, int max) {
+        long value = nanos / unitNanos;
+        return (int) (Math.max(min, Math.min(value, max)) - min);
+    }
+
+    /**
+     * Renders the median, 99-percentile and maximum latency of each interval
+     * as line chart over time. If there are more than {@link #MAX_INTERVAL_POINTS}
+     * intervals, adjacent intervals are grouped and the peak values of each
+     * group are shown.
+     */
+    public String renderIntervals(List<LatencyInterval> intervals, String title,
+                                  int width, int height) {
+        int groupSize = (intervals.size() + MAX_INTERVAL_POINTS - 1) / MAX_INTERVAL_POINTS;
+        int pointCount = (intervals.size() + groupSize - 1) / groupSize;
+        long[][] series = new long[3][pointCount];
+        long maxNanos = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            LatencySnapshot snapshot = intervals.get(i).getSnapshot();
+            long[] values = snapshot.percentileLatencies(new int[]{50, 99},
+                    TimeUnit.NANOSECONDS);
+            int point = i / groupSize;
+            series[0][point] = Math.max(series[0][point], values[0]);
+            series[1][point] = Math.max(series[1][point], values[1]);
+            series[2][point] = Math.max(series[2][point],
+                    snapshot.maxLatency(TimeUnit.NANOSECONDS));
+            maxNanos = Math.max(maxNanos, series[2][point]);
+        }
+        TimeUnit unit = ReportUtil.displayUnit(maxNanos);
+        long maxValue = unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+        long seconds = (intervals.get(intervals.size() - 1).getEndTime()
+                - intervals.get(0).getStartTime()) / 1000;
+        String symbol = ContiPerfUtil.symbol(unit);
+        try {
+            StringBuilder builder = new StringBuilder(
+                    "https://chart.apis.google.com/chart?cht=lc") // line chart
+                    .append("&chs=").append(width).append('x').append(height)
+                    .append("&chd=t:");
+            for (int s = 0; s < series.length; s++) {
+                if (s > 0) {
+                    builder.append('|');
+                }
+                for (int p = 0; p < pointCount; p++) {
+                    if (p > 0) {
+                        builder.append(',');
+                    }
+                    // scale to 0..100 to keep the URL short
+                    builder.append(series[s][p] * 100 / Math.max(maxNanos, 1));
+                }
+            }
+            builder.append("&chds=0,100")
+                    .append("&chco=00BB00,EE6600,FF0000")
+                    .append("&chdl=").append(URLEncoder.encode("median (" + symbol
+                            + ")|99% (" + symbol + ")|max (" + symbol + ")", "UTF-8"))
+                    .append("&chxt=x,y")
+                    .append("&chxr=0,0,").append(seconds).append("|1,0,").append(maxValue);
+            if (title != null) {
+                builder.append("&chtt=").append(URLEncoder.encode(title, "UTF-8"));
+            }
+            return builder.toString();
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Error encoding title: " + title, e);
+        }
+    }
+
     String renderDataset(LatencyDataSet dataset, String title, int width,
                          int height) {
         dataset.scaleY(80);
@@ -26,12 +26,28 @@ import com.github.javatlacati.contiperf.Config;
 import com.github.javatlacati.contiperf.ExecutionConfig;
 import com.github.javatlacati.contiperf.PercentileRequirement;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.contiperf.RunResult;
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
+import com.github.javatlacati.stat.ErrorGroup;
+import com.github.javatlacati.stat.ErrorStatistics;
+import com.github.javatlacati.stat.ArrivalStatistics;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.PinningStatistics;
+import com.github.javatlacati.stat.SaturationStatistics;
+import com.github.javatlacati.stat.LatencyHistogram;
+import com.github.javatlacati.stat.LatencyInterval;
 
 import java.io.*;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link ReportModule} implementation that creates an HTML report of the
@@ -54,6 +70,7 @@ public class HtmlReportModule extends AbstractReportModule {
     private static final String CPF_MARKER_2 = "<!-- !!__cpf-marker2__!! -->";
 
     ReportContext context;
+    private final Map<String, List<LatencyInterval>> intervals = new HashMap<>();
     private static boolean initialized;
     private static DecimalFormat lf = new DecimalFormat();
 
@@ -65,25 +82,42 @@ public class HtmlReportModule extends AbstractReportModule {
         this.context = context;
     }
 
+    @Override
+    public synchronized void intervalCompleted(String id, LatencyInterval interval) {
+        intervals.computeIfAbsent(id, k -> new ArrayList<>()).add(interval);
+    }
+
     @Override
     public void completed(String id, LatencyCounter[] counters,
                           ExecutionConfig executionConfig, PerformanceRequirement requirement) {
-        updateReport(id, counters, executionConfig, requirement, context);
+        completed(id, new RunResult(id, counters), executionConfig, requirement);
+    }
+
+    @Override
+    public void completed(String id, RunResult result,
+                          ExecutionConfig executionConfig, PerformanceRequirement requirement) {
+        List<LatencyInterval> testIntervals;
+        synchronized (this) {
+            testIntervals = intervals.remove(id);
+        }
+        updateReport(id, result, testIntervals, executionConfig, requirement,
+                context);
     }
 
     // helper methods
     // --------------------------------------------------------------------------------------------------
 
     private static synchronized void updateReport(String id,
-                                                  LatencyCounter[] counters, ExecutionConfig executionConfig,
+                                                  RunResult result, List<LatencyInterval> intervals,
+                                                  ExecutionConfig executionConfig,
                                                   PerformanceRequirement requirement, ReportContext context) {
         File reportFile = reportFile();
         if (!initialized || !reportFile.exists()) {
-            initReportFile(reportFile, id, counters, executionConfig,
-                    requirement, context);
+            initReportFile(reportFile, id, result, intervals,
+                    executionConfig, requirement, context);
         } else {
-            extendReportFile(reportFile, id, counters, executionConfig,
-                    requirement, context);
+            extendReportFile(reportFile, id, result, intervals,
+                    executionConfig, requirement, context);
         }
     }
 
@@ -92,7 +126,8 @@ public class HtmlReportModule extends AbstractReportModule {
     }
 
     private static void initReportFile(File reportFile, String id,
-                                       LatencyCounter[] counters, ExecutionConfig executionConfig,
+                                       RunResult result, List<LatencyInterval> intervals,
+                                       ExecutionConfig executionConfig,
                                        PerformanceRequirement requirement, ReportContext context) {
         initialized = true;
         try (PrintWriter out = new PrintWriter(new FileOutputStream(reportFile))) {
@@ -132,7 +167,7 @@ public class HtmlReportModule extends AbstractReportModule {
             out.println("		<th style='background-color:#ffffdd; color:#EE6600'>&nbsp;&nbsp;&nbsp;</th>");
             out.println("		<th style='background-color:#ffffdd; color:#EE6600'>Test</th>");
             out.println("	<tr>");
-            appendHeader(id, counters[0], requirement, out);
+            appendHeader(id, result, requirement, out);
             // render overview insertion marker
             out.println(CPF_MARKER_1);
             out.println("</table>");
@@ -141,8 +176,8 @@ public class HtmlReportModule extends AbstractReportModule {
             out.println("<hr/>");
 
             // render first entry
-            appendEntry(id, counters, executionConfig, requirement, out,
-                    context);
+            appendEntry(id, result, intervals, executionConfig, requirement,
+                    out, context);
 
             // render entry insertion marker
             out.println(CPF_MARKER_2);
@@ -161,7 +196,8 @@ public class HtmlReportModule extends AbstractReportModule {
     }
 
     private static void extendReportFile(File reportFile, String id,
-                                         LatencyCounter[] counters, ExecutionConfig executionConfig,
+                                         RunResult result, List<LatencyInterval> intervals,
+                                         ExecutionConfig executionConfig,
                                          PerformanceRequirement requirement, ReportContext context) {
         try {
             // create temp file
@@ -175,15 +211,15 @@ public class HtmlReportModule extends AbstractReportModule {
             while (!(line = in.readLine()).contains(CPF_MARKER_1)) {
                 out.println(line);
             }
-            appendHeader(id, counters[0], requirement, out);
+            appendHeader(id, result, requirement, out);
             out.println(line);
 
             // insert entry
             while (!(line = in.readLine()).contains(CPF_MARKER_2)) {
                 out.println(line);
             }
-            appendEntry(id, counters, executionConfig, requirement, out,
-                    context);
+            appendEntry(id, result, intervals, executionConfig, requirement,
+                    out, context);
             out.println(line);
 
             // finish temp file and replace original
@@ -199,25 +235,27 @@ public class HtmlReportModule extends AbstractReportModule {
         }
     }
 
-    private static void appendHeader(String id, LatencyCounter counter,
+    private static void appendHeader(String id, RunResult result,
                                      PerformanceRequirement requirement, PrintWriter out) {
         out.println("	<tr>");
-        out.println("		" + successCell(counter, requirement));
+        out.println("		" + successCell(result, requirement));
         out.println("		<td><a href='#" + id + "'>" + id + "</td>");
         out.println("	<tr>");
     }
 
-    private static String successCell(LatencyCounter counter,
+    private static String successCell(RunResult result,
                                       PerformanceRequirement requirement) {
-        boolean success = ReportUtil.success(counter, requirement);
+        boolean success = ReportUtil.success(result, requirement);
         return "<td style='background-color:" + (success ? "#00BB00" : "RED")
                 + ";'>&nbsp;</td>";
     }
 
     private static void appendEntry(String serviceId,
-                                    LatencyCounter[] counters, ExecutionConfig executionConfig,
+                                    RunResult result, List<LatencyInterval> intervals,
+                                    ExecutionConfig executionConfig,
                                     PerformanceRequirement requirement, PrintWriter out,
                                     ReportContext context) {
+        LatencyCounter[] counters = result.getCounters();
         // render header
         out.println("<a name='" + serviceId + "'><h2 style='color:#EE6600'>"
                 + serviceId + "</h2></a>");
@@ -231,7 +269,7 @@ public class HtmlReportModule extends AbstractReportModule {
                 + "</th><td align='center'>");
         switch (functionalTestVerdic) {
             case FAILURE:
-                out.print(format(counters[0].getAssertionErrors().get(0)
+                out.print(format(counters[0].getErrors().getFirstError()
                         .getMessage(), functionalTestVerdic));
                 break;
             case IGNORED:
@@ -248,11 +286,26 @@ public class HtmlReportModule extends AbstractReportModule {
         out.println("		</td>");
         out.println("		<td>");
         // ...and number table on the right
-        printStats(serviceId, counters, executionConfig, requirement, out);
+        printStats(serviceId, result, executionConfig, requirement, out);
         out.println("		</td>");
         out.println("	</tr>");
         out.println("</table>");
         out.println("<br>");
+        // render latency over time
+        if (intervals != null && !intervals.isEmpty()) {
+            renderIntervals(intervals, out);
+            out.println("<br>");
+        }
+        // render saturation search steps
+        if (result.getSaturation() != null) {
+            printSaturation(result.getSaturation(), out);
+            out.println("<br>");
+        }
+        // render error groups
+        if (counters[0].errorCount() > 0) {
+            printErrorGroups(counters[0].getErrors(), out);
+            out.println("<br>");
+        }
 
         // render ReportModule links
         boolean first = true;
@@ -282,17 +335,31 @@ public class HtmlReportModule extends AbstractReportModule {
                 + "', height='" + HEIGHT + "'/>");
     }
 
-    private static void printStats(String id, LatencyCounter[] counters,
+    private static void renderIntervals(List<LatencyInterval> intervals,
+                                        PrintWriter out) {
+        String chartUrl = new GoogleLatencyRenderer().renderIntervals(
+                intervals, "Latency over time (s)", 2 * WIDTH, HEIGHT);
+        out.println("<img src='" + chartUrl + "' width='" + (2 * WIDTH)
+                + "', height='" + HEIGHT + "'/>");
+    }
+
+    private static void printStats(String id, RunResult result,
                                    ExecutionConfig executionConfig,
                                    PerformanceRequirement requirement, PrintWriter out) {
+        LatencyCounter[] counters = result.getCounters();
         out.println("			<table style='font-family:sans-serif;'>");
         Date startDate = new Date(counters[0].getStartTime());
         out.println("	<tr><th>Started at:</th><td colspan='2'>"
                 + DateFormat.getDateTimeInstance().format(startDate)
                 + "</td></tr>");
+        if (result.getCancelReason() != null) {
+            out.println("	<tr><th>Canceled:</th><td colspan='2'>"
+                    + format(escape(result.getCancelReason()), Verdict.FAILURE)
+                    + "</td></tr>");
+        }
         if (requirement != null && requirement.isAllowedError()) {
 
-            printStatLine("Invocations:", counters[0].totalInvocations(), null,
+            printStatLine("Invocations:", result.totalInvocations(), null,
                     null, null, null, out);
             printStatLine("- Success:", counters[0].sampleCount(), null, null,
                     null, null, out);
@@ -307,6 +374,37 @@ public class HtmlReportModule extends AbstractReportModule {
             printStatLine("Thread Count:", executionConfig.getThreads(), null,
                     null, null, null, out);
         }
+        if (executionConfig.getBatchSize() > 1) {
+            printStatLine("Batch size:", executionConfig.getBatchSize(), null,
+                    null, null, null, out);
+        }
+        ArrivalStatistics arrivals = result.getArrivals();
+        if (arrivals != null) {
+            printStatLine("Arrival rate:", arrivals.getRate(), "/ s", null,
+                    null, null, out);
+            printStatLine("Workers:", arrivals.getWorkers(), null, null,
+                    null, null, out);
+            printStatLine("Late arrivals:", arrivals.getLateCount(), null,
+                    null, null, null, out);
+            printStatLine("Missed arrivals:", arrivals.getMissedCount(), null,
+                    null, null, null, out);
+        }
+        PinningStatistics pinning = result.getPinning();
+        if (pinning != null) {
+            printStatLine("Pinning events:", pinning.getCount(), null, null,
+                    null, null, out);
+            printStatLine("Pinned time:", pinning.getTotalDuration(
+                    TimeUnit.MILLISECONDS), "ms", null, null, null, out);
+        }
+        if (executionConfig.getTimeout() > 0) {
+            long timeouts = result.timeoutCount();
+            printStatLine("Timeouts (" + executionConfig.getTimeout() + " ms):",
+                    timeouts, null, null, null, timeouts > 0 ? Verdict.FAILURE : Verdict.SUCCESS, out);
+            if (result.abandonedCount() > 0) {
+                printStatLine("Abandoned threads:", result.abandonedCount(),
+                        null, null, null, Verdict.FAILURE, out);
+            }
+        }
         if (executionConfig.getWarmUp() > 0) {
             printStatLine("Warm up:", executionConfig.getWarmUp(), "ms", null,
                     null, null, out);
@@ -326,13 +424,37 @@ public class HtmlReportModule extends AbstractReportModule {
             out.println("		<th>Measured<br>(" + counters[i].getClockName()
                     + ")</th>");
         }
+        LatencyCounter[] latencyCounters = counters;
+        LatencyCounter corrected = result.getCorrected();
+        if (corrected != null) {
+            // latency rows get an additional column with the corrected values
+            out.println("		<th>Corrected<br>(coordinated omission)</th>");
+            latencyCounters = Arrays.copyOf(counters, counters.length + 1);
+            latencyCounters[counters.length] = corrected;
+        }
+        if (arrivals != null) {
+            // latency rows get an additional column with the response times
+            out.println("		<th>Response time<br>(incl. scheduling delay)</th>");
+            latencyCounters = Arrays.copyOf(latencyCounters,
+                    latencyCounters.length + 1);
+            latencyCounters[latencyCounters.length - 1] = arrivals
+                    .getResponseTimes();
+        }
         out.println("	</tr>");
+        TimeUnit unit = ReportUtil.displayUnit(counters[0], requirement);
         printDurationStats(counters, requirement, out);
-        printThroughputStats(counters, requirement, out);
-        printMinStats(counters, requirement, out);
-        printAverageStats(counters, requirement, out);
-        printPercentileStats(counters, requirement, out);
-        printMaxStats(counters, requirement, out);
+        printThroughputStats(result, requirement, out);
+        printMinStats(latencyCounters, unit, out);
+        printAverageStats(latencyCounters, requirement, unit, out);
+        printStdDevStats(latencyCounters, requirement, unit, out);
+        printCoefficientOfVariationStats(latencyCounters, requirement, out);
+        printPercentileStats(latencyCounters, corrected != null, requirement,
+                unit, out);
+        printMaxStats(latencyCounters, requirement, unit, out);
+        if (executionConfig.getBatchSize() > 1) {
+            out.println("	<tr><td colspan='3'><i>Min, max and percentiles are averages of batches of "
+                    + executionConfig.getBatchSize() + " invocations</i></td></tr>");
+        }
         out.println("			</table>");
     }
 
@@ -352,10 +474,11 @@ public class HtmlReportModule extends AbstractReportModule {
                 secondaryValues, verdict, out);
     }
 
-    private static void printThroughputStats(LatencyCounter[] counters,
+    private static void printThroughputStats(RunResult result,
                                              PerformanceRequirement requirement, PrintWriter out) {
+        LatencyCounter[] counters = result.getCounters();
         Verdict verdict = ReportUtil
-                .throughputVerdict(counters[0], requirement);
+                .throughputVerdict(result, requirement);
         Long required = requirement != null && requirement.getThroughput() > 0 ? (long) requirement
                 .getThroughput() : null;
         long[] secondaryValues = null;
@@ -366,91 +489,143 @@ public class HtmlReportModule extends AbstractReportModule {
                 secondaryValues[i - 1] = (long) counters[i].throughput();
             }
         }
-        printStatLine("Throughput:", (long) counters[0].throughput(), "/ s",
+        printStatLine("Throughput:", (long) result.throughput(), "/ s",
                 required, secondaryValues, verdict, out);
     }
 
     private static void printMinStats(LatencyCounter[] counters,
-                                      PerformanceRequirement requirement, PrintWriter out) {
+                                      TimeUnit unit, PrintWriter out) {
         long[] secondaryValues = null;
         int length = counters.length;
         if (length > 1) {
             secondaryValues = new long[length - 1];
             for (int i = 1; i < length; i++) {
-                secondaryValues[i - 1] = counters[i].minLatency();
+                secondaryValues[i - 1] = counters[i].minLatency(unit);
             }
         }
-        printStatMsLine("Min. latency:", counters[0].minLatency(), null,
-                secondaryValues, Verdict.IGNORED, out);
+        printStatLatencyLine("Min. latency:", counters[0].minLatency(unit),
+                null, secondaryValues, Verdict.IGNORED, unit, out);
     }
 
     private static void printAverageStats(LatencyCounter[] counters,
-                                          PerformanceRequirement requirement, PrintWriter out) {
+                                          PerformanceRequirement requirement, TimeUnit unit,
+                                          PrintWriter out) {
         Verdict verdict = ReportUtil.averageVerdict(counters[0], requirement);
-        Long required = requirement != null && requirement.getAverage() > 0 ? (long) requirement
-                .getAverage() : null;
+        Long required = requirement != null && requirement.getAverage() > 0 ? unit
+                .convert(requirement.getAverage(), requirement.getUnit()) : null;
         long[] secondaryValues = null;
         int length = counters.length;
         if (length > 1) {
             secondaryValues = new long[length - 1];
             for (int i = 1; i < length; i++) {
-                secondaryValues[i - 1] = (long) counters[i].averageLatency();
+                secondaryValues[i - 1] = (long) counters[i].averageLatency(unit);
             }
         }
-        printStatMsLine("Average latency:",
-                (long) counters[0].averageLatency(), required, secondaryValues,
-                verdict, out);
+        printStatLatencyLine("Average latency:",
+                (long) counters[0].averageLatency(unit), required,
+                secondaryValues, verdict, unit, out);
+    }
+
+    private static void printStdDevStats(LatencyCounter[] counters,
+                                         PerformanceRequirement requirement, TimeUnit unit,
+                                         PrintWriter out) {
+        Verdict verdict = ReportUtil.stdDevVerdict(counters[0], requirement);
+        Long required = requirement != null && requirement.getMaxStdDev() >= 0 ? unit
+                .convert(requirement.getMaxStdDev(), requirement.getUnit()) : null;
+        long[] secondaryValues = null;
+        int length = counters.length;
+        if (length > 1) {
+            secondaryValues = new long[length - 1];
+            for (int i = 1; i < length; i++) {
+                secondaryValues[i - 1] = Math.round(counters[i].standardDeviation(unit));
+            }
+        }
+        printStatLatencyLine("Std. deviation:",
+                Math.round(counters[0].standardDeviation(unit)), required,
+                secondaryValues, verdict, unit, out);
+    }
+
+    private static void printCoefficientOfVariationStats(LatencyCounter[] counters,
+                                                         PerformanceRequirement requirement,
+                                                         PrintWriter out) {
+        Verdict verdict = ReportUtil.coefficientOfVariationVerdict(counters[0],
+                requirement);
+        DecimalFormat ratioFormat = ReportUtil.millisFormat();
+        out.println("				<tr>");
+        out.println("					<th align='right' valign='top'>"
+                + format("Coeff. of variation:", verdict) + "</th>");
+        out.println("					<td align='right'>"
+                + format(ratioFormat.format(counters[0].coefficientOfVariation()), verdict)
+                + "</td>");
+        out.println("					<td align='right'>"
+                + (requirement != null && requirement.getMaxCoefficientOfVariation() >= 0
+                ? format(ratioFormat.format(requirement.getMaxCoefficientOfVariation()), verdict)
+                : "") + "</td>");
+        for (int i = 1; i < counters.length; i++) {
+            out.println("					<td align='right'>"
+                    + ratioFormat.format(counters[i].coefficientOfVariation()) + "</td>");
+        }
+        out.println("				</tr>");
     }
 
     private static void printPercentileStats(LatencyCounter[] counters,
-                                             PerformanceRequirement requirement, PrintWriter out) {
+                                             boolean corrected, PerformanceRequirement requirement,
+                                             TimeUnit unit, PrintWriter out) {
+        int[] percentages;
+        Long[] required;
+        Verdict[] verdicts;
         if (requirement == null
                 || requirement.getPercentileRequirements().length == 0) {
-            printPercentileStats(counters, 50, null, out);
-            printPercentileStats(counters, 90, null, out);
+            percentages = corrected
+                    ? new int[]{50, 90, 99} : new int[]{50, 90};
+            required = new Long[percentages.length];
+            verdicts = new Verdict[percentages.length];
+            Arrays.fill(verdicts, Verdict.IGNORED);
         } else {
-            for (PercentileRequirement percentileRequirement : requirement
-                    .getPercentileRequirements()) {
-                printPercentileStats(counters,
-                        percentileRequirement.getPercentage(),
-                        (long) percentileRequirement.getMillis(), out);
+            PercentileRequirement[] percentileRequirements = requirement
+                    .getPercentileRequirements();
+            percentages = ReportUtil.percentages(percentileRequirements);
+            required = new Long[percentages.length];
+            for (int i = 0; i < percentages.length; i++) {
+                required[i] = unit.convert((long) percentileRequirements[i]
+                        .getMillis(), requirement.getUnit());
             }
+            verdicts = ReportUtil.percentileVerdicts(counters[0], requirement);
         }
-    }
-
-    private static void printPercentileStats(LatencyCounter[] counters,
-                                             int percentage, Long requiredMillis, PrintWriter out) {
-        String label = percentage == 50 ? "Median:" : percentage + "%:";
-        Verdict verdict = ReportUtil.percentileVerdict(counters[0], percentage,
-                requiredMillis);
-        long[] secondaryValues = null;
-        int length = counters.length;
-        if (length > 1) {
-            secondaryValues = new long[length - 1];
-            for (int i = 1; i < length; i++) {
-                secondaryValues[i - 1] = counters[i]
-                        .percentileLatency(percentage);
+        long[][] measured = new long[counters.length][];
+        for (int i = 0; i < counters.length; i++) {
+            measured[i] = counters[i].percentileLatencies(percentages, unit);
+        }
+        for (int p = 0; p < percentages.length; p++) {
+            String label = percentages[p] == 50 ? "Median:" : percentages[p] + "%:";
+            long[] secondaryValues = null;
+            if (counters.length > 1) {
+                secondaryValues = new long[counters.length - 1];
+                for (int i = 1; i < counters.length; i++) {
+                    secondaryValues[i - 1] = measured[i][p];
+                }
             }
+            printStatLatencyLine(label, measured[0][p], required[p],
+                    secondaryValues, verdicts[p], unit, out);
         }
-        printStatMsLine(label, counters[0].percentileLatency(percentage),
-                requiredMillis, secondaryValues, verdict, out);
     }
 
     private static void printMaxStats(LatencyCounter[] counters,
-                                      PerformanceRequirement requirement, PrintWriter out) {
+                                      PerformanceRequirement requirement, TimeUnit unit,
+                                      PrintWriter out) {
         Verdict verdict = ReportUtil.maxVerdict(counters[0], requirement);
-        Long required = requirement != null && requirement.getMax() > 0 ? (long) requirement
-                .getMax() : null;
+        Long required = requirement != null && requirement.getMax() > 0 ? unit
+                .convert(requirement.getMax(), requirement.getUnit()) : null;
         long[] secondaryValues = null;
         int length = counters.length;
         if (length > 1) {
             secondaryValues = new long[length - 1];
             for (int i = 1; i < length; i++) {
-                secondaryValues[i - 1] = counters[i].maxLatency();
+                secondaryValues[i - 1] = counters[i].maxLatency(unit);
             }
         }
-        printStatMsLine("Max latency:", counters[0].maxLatency(), required,
-                secondaryValues, verdict, out);
+        printStatLatencyLine("Max latency:", counters[0].maxLatency(unit),
+                required, secondaryValues, verdict, unit, out);
     }
 
     private static void printErrorsStats(LatencyCounter[] counters,
@@ -458,7 +633,7 @@ public class HtmlReportModule extends AbstractReportModule {
 
         Verdict verdict = ReportUtil.allowedErrorsVerdict(counters[0],
                 requirement);
-        long errors = counters[0].getAssertionErrors().size();
+        long errors = counters[0].errorCount();
         double errorsPercent = counters[0].errorsRate() * 100.;
 
         out.println("				<tr>");
@@ -471,6 +646,73 @@ public class HtmlReportModule extends AbstractReportModule {
         out.println("				</tr>");
     }
 
+    private static void printErrorGroups(ErrorStatistics errors,
+                                         PrintWriter out) {
+        DateFormat timeFormat = DateFormat.getTimeInstance();
+        out.println("<table border='1' cellspacing='0' cellpadding='3px' style='border-color:#eee; font-family:sans-serif;'>");
+        out.println("	<tr><th>Errors</th><th>Type</th><th>Message</th>"
+                + "<th>First</th><th>Last</th><th>Median latency</th></tr>");
+        for (ErrorGroup group : errors.getGroups()) {
+            LatencyHistogram histogram = group.getHistogram();
+            long median = histogram.valueAtPercentile(50);
+            TimeUnit unit = ReportUtil.displayUnit(median);
+            out.println("	<tr><td align='right'>" + lf.format(group.getCount())
+                    + "</td><td>" + escape(group.getType())
+                    + "</td><td>" + escape(group.getMessage())
+                    + "</td><td>" + timeFormat.format(new Date(group.getFirstTimestamp()))
+                    + "</td><td>" + timeFormat.format(new Date(group.getLastTimestamp()))
+                    + "</td><td align='right'>"
+                    + lf.format(unit.convert(median, TimeUnit.NANOSECONDS)) + " "
+                    + ContiPerfUtil.symbol(unit) + "</td></tr>");
+        }
+        out.println("</table>");
+    }
+
+    private static void printSaturation(SaturationStatistics saturation,
+                                        PrintWriter out) {
+        DecimalFormat msFormat = ReportUtil.millisFormat();
+        out.println("<table border='1' cellspacing='0' cellpadding='3px' style='border-color:#eee; font-family:sans-serif;'>");
+        out.println("	<tr><th>Threads</th><th>Throughput</th><th>Average</th>"
+                + "<th>Median</th><th>90%</th><th>99%</th><th>Max</th><th></th></tr>");
+        SaturationStatistics.Step knee = saturation.getKnee();
+        for (SaturationStatistics.Step step : saturation.getSteps()) {
+            LatencyCounter counter = step.getCounter();
+            long[] percentiles = counter.percentileLatencies(
+                    new int[]{50, 90, 99}, TimeUnit.NANOSECONDS);
+            Verdict verdict = (step == knee ? Verdict.SUCCESS
+                    : step.isBreached() ? Verdict.FAILURE : null);
+            String note = (step == knee ? "knee point"
+                    : step.isBreached() ? "latency limit breached" : "");
+            out.println("	<tr><td align='right'>"
+                    + format((long) step.getThreads(), null, verdict)
+                    + "</td><td align='right'>"
+                    + lf.format((long) step.getThroughput()) + " / s"
+                    + "</td><td align='right'>"
+                    + msFormat.format(counter.averageLatency()) + " ms"
+                    + "</td><td align='right'>" + millis(percentiles[0], msFormat)
+                    + "</td><td align='right'>" + millis(percentiles[1], msFormat)
+                    + "</td><td align='right'>" + millis(percentiles[2], msFormat)
+                    + "</td><td align='right'>"
+                    + millis(counter.maxLatency(TimeUnit.NANOSECONDS), msFormat)
+                    + "</td><td>" + format(note, verdict) + "</td></tr>");
+        }
+        out.println("</table>");
+        out.println("Saturation search ended by " + saturation.getStopReason()
+                .name().toLowerCase(Locale.US).replace('_', ' '));
+    }
+
+    private static String millis(long nanos, DecimalFormat format) {
+        return format.format(nanos / 1000000.) + " ms";
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;")
+                .replace(">", "&gt;");
+    }
+
     private static void printStatMsLine(String label, long mainValue,
                                         Long requirement, long[] secondaryValues, Verdict verdict,
                                         PrintWriter out) {
@@ -478,6 +720,13 @@ public class HtmlReportModule extends AbstractReportModule {
                 verdict, out);
     }
 
+    private static void printStatLatencyLine(String label, long mainValue,
+                                             Long requirement, long[] secondaryValues, Verdict verdict,
+                                             TimeUnit unit, PrintWriter out) {
+        printStatLine(label, mainValue, ContiPerfUtil.symbol(unit),
+                requirement, secondaryValues, verdict, out);
+    }
+
     private static void printStatLine(String label, long value, String unit,
                                       Long requirement, long[] secondaryValues, Verdict verdict,
                                       PrintWriter out) {
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.report;
+
+import com.github.javatlacati.contiperf.ExecutionConfig;
+import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.profile.ProfileFormat;
+import com.github.javatlacati.profile.Profiler;
+import com.github.javatlacati.stat.LatencyCounter;
+
+/**
+ * {@link ReportModule} which exports the results of a {@link Profiler} in a
+ * {@link ProfileFormat} to the report folder after each test and links the
+ * file from the HTML report. Since the profiler accumulates the samples of
+ * all tests, each export replaces the previous one. To provide several
+ * formats, add one module per format.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class ProfilerReportModule extends AbstractReportModule {
+
+    private final Profiler profiler;
+    private final ProfileFormat format;
+
+    public ProfilerReportModule(Profiler profiler, ProfileFormat format) {
+        this.profiler = profiler;
+        this.format = format;
+    }
+
+    // ReportModule interface implementation
+    // ---------------------------------------------------------------------------
+
+    @Override
+    public String getReportReferenceLabel(String serviceId) {
+        if (serviceId != null) {
+            return null;
+        }
+        return (format == ProfileFormat.FOLDED ? "Profile Stacks" : "Profile JSON");
+    }
+
+    @Override
+    public String getReportReference(String serviceId) {
+        return serviceId == null ? profiler.getFileName(format) : null;
+    }
+
+    @Override
+    public void completed(String serviceId, LatencyCounter[] counters,
+                          ExecutionConfig executionConfig, PerformanceRequirement requirement) {
+        profiler.export(context.getReportFolder(), format);
+    }
+
+}
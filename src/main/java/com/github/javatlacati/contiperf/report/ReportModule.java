@@ -25,7 +25,9 @@ package com.github.javatlacati.contiperf.report;
 import com.github.javatlacati.contiperf.ExecutionConfig;
 import com.github.javatlacati.contiperf.ExecutionLogger;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.contiperf.RunResult;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyInterval;
 
 /**
  * Replaces the {@link ExecutionLogger} interface of
@@ -47,8 +49,32 @@ public interface ReportModule {
 
     void invoked(String serviceId, int latency, long startTime);
 
+    /**
+     * Is called each time a latency recording interval has been completed,
+     * if {@link com.github.javatlacati.contiperf.PerfTest#interval()} is set.
+     * Modules which do not report intervals can rely on the default, which
+     * ignores them.
+     * @since 2.4.4
+     */
+    default void intervalCompleted(String serviceId, LatencyInterval interval) {
+        // ignored
+    }
+
     void completed(String serviceId, LatencyCounter[] counters,
                    ExecutionConfig executionConfig, PerformanceRequirement requirement);
 
+    /**
+     * Is called when a test has been completed and provides the
+     * {@link RunResult} with the counters and the information about the run,
+     * like timeouts or the cancellation reason. The default forwards the
+     * counters to {@link #completed(String, LatencyCounter[], ExecutionConfig,
+     * PerformanceRequirement)} for modules which only evaluate those.
+     * @since 2.4.4
+     */
+    default void completed(String serviceId, RunResult result,
+                           ExecutionConfig executionConfig, PerformanceRequirement requirement) {
+        completed(serviceId, result.getCounters(), executionConfig, requirement);
+    }
+
     void error(String serviceId);
 }
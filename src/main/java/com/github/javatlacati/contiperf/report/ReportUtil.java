@@ -24,8 +24,14 @@ package com.github.javatlacati.contiperf.report;
 
 import com.github.javatlacati.contiperf.PercentileRequirement;
 import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.contiperf.RunResult;
 import com.github.javatlacati.stat.LatencyCounter;
 
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Utility class for report modules.<br>
  * <br>
@@ -36,23 +42,43 @@ import com.github.javatlacati.stat.LatencyCounter;
  */
 public class ReportUtil {
 
+    /**
+     * @return true if the main counter of the result met the requirements
+     *         and no invocation timed out unless errors were allowed
+     */
+    public static boolean success(RunResult result,
+                                  PerformanceRequirement requirement) {
+        boolean success = success(result.getMainCounter(),
+                throughputVerdict(result, requirement), requirement);
+        if (requirement == null || !requirement.isAllowedError()) {
+            success &= result.timeoutCount() == 0;
+        }
+        return success;
+    }
+
     public static boolean success(LatencyCounter counter,
                                   PerformanceRequirement requirement) {
+        return success(counter, throughputVerdict(counter, requirement),
+                requirement);
+    }
+
+    private static boolean success(LatencyCounter counter,
+                                   Verdict throughputVerdict, PerformanceRequirement requirement) {
         boolean success = averageVerdict(counter, requirement) != Verdict.FAILURE;
         success &= maxVerdict(counter, requirement) != Verdict.FAILURE;
-        success &= throughputVerdict(counter, requirement) != Verdict.FAILURE;
+        success &= throughputVerdict != Verdict.FAILURE;
         success &= totalTimeVerdict(counter, requirement) != Verdict.FAILURE;
+        success &= stdDevVerdict(counter, requirement) != Verdict.FAILURE;
+        success &= coefficientOfVariationVerdict(counter, requirement) != Verdict.FAILURE;
         if (requirement != null && requirement.isAllowedError()) {
             success &= allowedErrorsVerdict(counter, requirement) != Verdict.FAILURE;
         } else {
-            success &= counter.getAssertionErrors().size() == 0;
+            success &= counter.errorCount() == 0;
         }
 
         if (requirement != null) {
-            PercentileRequirement[] percentileRequirements = requirement
-                    .getPercentileRequirements();
-            for (PercentileRequirement percentileRequirement : percentileRequirements) {
-                success &= percentileVerdict(counter, percentileRequirement) != Verdict.FAILURE;
+            for (Verdict verdict : percentileVerdicts(counter, requirement)) {
+                success &= verdict != Verdict.FAILURE;
             }
         }
 
@@ -62,7 +88,7 @@ public class ReportUtil {
     public static Verdict totalTimeVerdict(LatencyCounter counter,
                                            PerformanceRequirement requirement) {
         if (requirement == null || requirement.getTotalTime() < 0
-                || counter.getAssertionErrors().size() > 0) {
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
         return counter.duration() <= requirement.getTotalTime() ? Verdict.SUCCESS
@@ -72,51 +98,171 @@ public class ReportUtil {
     public static Verdict maxVerdict(LatencyCounter counter,
                                      PerformanceRequirement requirement) {
         if (requirement == null || requirement.getMax() < 0
-                || counter.getAssertionErrors().size() > 0) {
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
-        return counter.maxLatency() <= requirement.getMax() ? Verdict.SUCCESS
+        return counter.maxLatency(TimeUnit.NANOSECONDS) <= requirement
+                .getUnit().toNanos(requirement.getMax()) ? Verdict.SUCCESS
                 : Verdict.FAILURE;
     }
 
     public static Verdict throughputVerdict(LatencyCounter counter,
                                             PerformanceRequirement requirement) {
         if (requirement == null || requirement.getThroughput() < 0
-                || counter.getAssertionErrors().size() > 0) {
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
         return counter.throughput() >= requirement.getThroughput() ? Verdict.SUCCESS
                 : Verdict.FAILURE;
     }
 
+    /**
+     * Like {@link #throughputVerdict(LatencyCounter, PerformanceRequirement)},
+     * but compares the throughput of the result's measurement window.
+     */
+    public static Verdict throughputVerdict(RunResult result,
+                                            PerformanceRequirement requirement) {
+        if (requirement == null || requirement.getThroughput() < 0
+                || result.getMainCounter().errorCount() > 0) {
+            return Verdict.IGNORED;
+        }
+        return result.throughput() >= requirement.getThroughput() ? Verdict.SUCCESS
+                : Verdict.FAILURE;
+    }
+
     public static Verdict averageVerdict(LatencyCounter counter,
                                          PerformanceRequirement requirement) {
         if (requirement == null || requirement.getAverage() < 0
-                || counter.getAssertionErrors().size() > 0) {
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
-        return counter.averageLatency() <= requirement.getAverage() ? Verdict.SUCCESS
-                : Verdict.FAILURE;
+        return comparedAverage(counter, requirement) <= requirement
+                .getAverage() ? Verdict.SUCCESS : Verdict.FAILURE;
+    }
+
+    /**
+     * @return the average latency in the unit of the requirement or, if the
+     *         requirement is {@link PerformanceRequirement#isConfidenceGated()
+     *         confidence gated}, the lower bound of its confidence interval
+     */
+    public static double comparedAverage(LatencyCounter counter,
+                                         PerformanceRequirement requirement) {
+        if (requirement.isConfidenceGated()) {
+            return counter.meanConfidenceInterval(requirement.getConfidence(),
+                    requirement.getUnit()).getLower();
+        }
+        return counter.averageLatency(requirement.getUnit());
+    }
+
+    /**
+     * @return the latencies in nanoseconds of the percentile requirements or,
+     *         if the requirement is {@link PerformanceRequirement#isConfidenceGated()
+     *         confidence gated}, the lower bounds of their confidence intervals
+     */
+    public static long[] comparedPercentiles(LatencyCounter counter,
+                                             PerformanceRequirement requirement) {
+        PercentileRequirement[] percentileRequirements = requirement
+                .getPercentileRequirements();
+        int[] percentages = percentages(percentileRequirements);
+        if (!requirement.isConfidenceGated()) {
+            return counter.percentileLatencies(percentages, TimeUnit.NANOSECONDS);
+        }
+        long[] result = new long[percentages.length];
+        for (int i = 0; i < percentages.length; i++) {
+            result[i] = (long) counter.percentileConfidenceInterval(percentages[i],
+                    requirement.getConfidence(), TimeUnit.NANOSECONDS).getLower();
+        }
+        return result;
+    }
+
+    public static Verdict stdDevVerdict(LatencyCounter counter,
+                                        PerformanceRequirement requirement) {
+        if (requirement == null || requirement.getMaxStdDev() < 0
+                || counter.errorCount() > 0) {
+            return Verdict.IGNORED;
+        }
+        return counter.standardDeviation(requirement.getUnit()) <= requirement
+                .getMaxStdDev() ? Verdict.SUCCESS : Verdict.FAILURE;
     }
 
+    public static Verdict coefficientOfVariationVerdict(LatencyCounter counter,
+                                                        PerformanceRequirement requirement) {
+        if (requirement == null || requirement.getMaxCoefficientOfVariation() < 0
+                || counter.errorCount() > 0) {
+            return Verdict.IGNORED;
+        }
+        return counter.coefficientOfVariation() <= requirement
+                .getMaxCoefficientOfVariation() ? Verdict.SUCCESS : Verdict.FAILURE;
+    }
+
+    /**
+     * @deprecated the percentile requirement does not know its time unit, use
+     *             {@link #percentileVerdict(LatencyCounter, PercentileRequirement, TimeUnit)}
+     */
+    @Deprecated
     public static Verdict percentileVerdict(LatencyCounter counter,
                                             PercentileRequirement requirement) {
+        return percentileVerdict(counter, requirement, TimeUnit.MILLISECONDS);
+    }
+
+    public static Verdict percentileVerdict(LatencyCounter counter,
+                                            PercentileRequirement requirement, TimeUnit unit) {
         if (requirement == null || requirement.getMillis() < 0
-                || counter.getAssertionErrors().size() > 0) {
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
         return percentileVerdict(counter, requirement.getPercentage(),
-                (long) requirement.getMillis());
+                (long) requirement.getMillis(), unit);
     }
 
     public static Verdict percentileVerdict(LatencyCounter counter,
                                             int percentage, Long requiredMillis) {
-        if (requiredMillis == null || requiredMillis < 0
-                || counter.getAssertionErrors().size() > 0) {
+        return percentileVerdict(counter, percentage, requiredMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static Verdict percentileVerdict(LatencyCounter counter,
+                                            int percentage, Long required, TimeUnit unit) {
+        if (required == null || required < 0
+                || counter.errorCount() > 0) {
             return Verdict.IGNORED;
         }
-        return counter.percentileLatency(percentage) <= requiredMillis ? Verdict.SUCCESS
-                : Verdict.FAILURE;
+        return counter.percentileLatency(percentage, TimeUnit.NANOSECONDS) <= unit
+                .toNanos(required) ? Verdict.SUCCESS : Verdict.FAILURE;
+    }
+
+    /**
+     * Evaluates all percentile requirements in one pass over the latency
+     * distribution.
+     *
+     * @return the verdicts in the order of
+     *         {@link PerformanceRequirement#getPercentileRequirements()}
+     */
+    public static Verdict[] percentileVerdicts(LatencyCounter counter,
+                                               PerformanceRequirement requirement) {
+        PercentileRequirement[] percentileRequirements = requirement
+                .getPercentileRequirements();
+        Verdict[] verdicts = new Verdict[percentileRequirements.length];
+        long[] measured = comparedPercentiles(counter, requirement);
+        boolean errors = counter.errorCount() > 0;
+        for (int i = 0; i < verdicts.length; i++) {
+            long required = (long) percentileRequirements[i].getMillis();
+            if (required < 0 || errors) {
+                verdicts[i] = Verdict.IGNORED;
+            } else {
+                verdicts[i] = measured[i] <= requirement.getUnit().toNanos(required)
+                        ? Verdict.SUCCESS : Verdict.FAILURE;
+            }
+        }
+        return verdicts;
+    }
+
+    public static int[] percentages(PercentileRequirement[] requirements) {
+        int[] percentages = new int[requirements.length];
+        for (int i = 0; i < requirements.length; i++) {
+            percentages[i] = requirements[i].getPercentage();
+        }
+        return percentages;
     }
 
     public static Verdict functionalTestVerdict(final LatencyCounter counter,
@@ -125,7 +271,7 @@ public class ReportUtil {
         if (requirement != null && requirement.isAllowedError()) {
             return allowedErrorsVerdict(counter, requirement);
         } else {
-            return counter.getAssertionErrors().size() == 0 ? Verdict.SUCCESS
+            return counter.errorCount() == 0 ? Verdict.SUCCESS
                     : Verdict.FAILURE;
         }
     }
@@ -136,4 +282,45 @@ public class ReportUtil {
                 : Verdict.FAILURE;
     }
 
+    /**
+     * Chooses the time unit in which the latencies of a counter are displayed:
+     * The coarsest of milliseconds, microseconds and nanoseconds in which the
+     * maximum latency has at least two digits, but not coarser than the unit
+     * of the requirement.
+     */
+    public static TimeUnit displayUnit(LatencyCounter counter,
+                                       PerformanceRequirement requirement) {
+        TimeUnit unit = displayUnit(counter.maxLatency(TimeUnit.NANOSECONDS));
+        if (requirement != null
+                && requirement.getUnit().toNanos(1) < unit.toNanos(1)) {
+            unit = requirement.getUnit();
+        }
+        return unit;
+    }
+
+    /**
+     * @return the coarsest of milliseconds, microseconds and nanoseconds in
+     *         which the given latency has at least two digits
+     */
+    public static TimeUnit displayUnit(long maxNanos) {
+        if (TimeUnit.NANOSECONDS.toMillis(maxNanos) >= 10) {
+            return TimeUnit.MILLISECONDS;
+        } else if (TimeUnit.NANOSECONDS.toMicros(maxNanos) >= 10) {
+            return TimeUnit.MICROSECONDS;
+        } else {
+            return TimeUnit.NANOSECONDS;
+        }
+    }
+
+    /**
+     * @return a format for millisecond values with microsecond precision,
+     *         e.g. 12 or 0.25
+     */
+    public static DecimalFormat millisFormat() {
+        DecimalFormat format = new DecimalFormat("0.###",
+                DecimalFormatSymbols.getInstance(Locale.US));
+        format.setGroupingUsed(false);
+        return format;
+    }
+
 }
@@ -42,4 +42,9 @@ public abstract class AbstractTimer implements WaitTimer {
 	}
     }
 
+    /** Converts a timer parameter in milliseconds to nanoseconds. */
+    protected static long nanos(double millis) {
+	return Math.round(millis * 1000000);
+    }
+
 }
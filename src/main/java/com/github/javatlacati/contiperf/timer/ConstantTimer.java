@@ -35,11 +35,13 @@ import com.github.javatlacati.contiperf.WaitTimer;
 public class ConstantTimer extends AbstractTimer {
 
     private int wait = 1000;
+    private long waitNanos = 1000000000L;
 
     public void init(double[] params) {
 	checkParamCount(1, params);
 	if (params.length > 0) {
 	    wait = (int) params[0];
+	    waitNanos = nanos(params[0]);
 	}
     }
 
@@ -47,4 +49,9 @@ public class ConstantTimer extends AbstractTimer {
 	return wait;
     }
 
+    @Override
+    public long getWaitTimeNanos() {
+	return waitNanos;
+    }
+
 }
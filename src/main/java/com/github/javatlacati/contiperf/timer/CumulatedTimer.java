@@ -40,18 +40,29 @@ public class CumulatedTimer extends AbstractTimer {
 
     private int min = 500;
     private int range = 1000;
+    private long minNanos = 500000000L;
+    private long rangeNanos = 1000000000L;
     private Random random = new Random();
 
     public void init(double[] params) {
 	checkParamCount(2, params);
 	if (params.length > 0) {
 	    min = (int) params[0];
+	    minNanos = nanos(params[0]);
 	}
 	if (params.length > 1) {
 	    range = (int) (params[1] - min);
+	    rangeNanos = nanos(params[1]) - minNanos;
 	}
     }
 
+    @Override
+    public long getWaitTimeNanos() {
+	double sum = random.nextDouble() + random.nextDouble()
+		+ random.nextDouble();
+	return minNanos + (long) (sum * rangeNanos / 3);
+    }
+
     public int getWaitTime() {
 	return min
 		+ (random.nextInt(range) + random.nextInt(range) + random
@@ -0,0 +1,70 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.timer;
+
+import com.github.javatlacati.contiperf.WaitTimer;
+
+/**
+ * {@link WaitTimer} decorator which makes the wait times of another timer
+ * the intervals between the starts of subsequent invocations, so that the
+ * invocation rate does not depend on the latency of the invocations. If an
+ * invocation takes longer than the interval, the next one starts
+ * immediately.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class PacingTimer extends AbstractTimer {
+
+    private final WaitTimer timer;
+
+    public PacingTimer(WaitTimer timer) {
+	this.timer = timer;
+    }
+
+    /** @return the timer which provides the intervals */
+    public WaitTimer getTimer() {
+	return timer;
+    }
+
+    public void init(double[] params) {
+	timer.init(params);
+    }
+
+    public int getWaitTime() {
+	return timer.getWaitTime();
+    }
+
+    @Override
+    public long getWaitTimeNanos() {
+	return timer.getWaitTimeNanos();
+    }
+
+    @Override
+    public boolean isPacing() {
+	return true;
+    }
+
+}
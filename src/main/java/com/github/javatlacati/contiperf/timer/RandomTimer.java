@@ -37,15 +37,19 @@ public class RandomTimer extends AbstractTimer {
 
     private int min = 500;
     private int range = 1001;
+    private long minNanos = 500000000L;
+    private long rangeNanos = 1000000000L;
     private java.util.Random random = new java.util.Random();
 
     public void init(double[] params) {
 	checkParamCount(2, params);
 	if (params.length > 0) {
 	    min = (int) params[0];
+	    minNanos = nanos(params[0]);
 	}
 	if (params.length > 1) {
 	    range = (int) params[1] - min + 1;
+	    rangeNanos = nanos(params[1]) - minNanos;
 	}
     }
 
@@ -53,4 +57,9 @@ public class RandomTimer extends AbstractTimer {
 	return min + random.nextInt(range);
     }
 
+    @Override
+    public long getWaitTimeNanos() {
+	return minNanos + (long) (random.nextDouble() * rangeNanos);
+    }
+
 }
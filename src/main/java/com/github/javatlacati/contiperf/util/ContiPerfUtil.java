@@ -28,6 +28,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import com.github.javatlacati.contiperf.Clock;
 import com.github.javatlacati.contiperf.ExecutionConfig;
@@ -51,6 +53,9 @@ import org.junit.runners.model.FrameworkMethod;
  */
 public class ContiPerfUtil {
 
+    /** the time before a deadline from which on {@link #waitUntil(long)} spins */
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     public static void close(Closeable resource) {
 	if (resource != null) {
 	    try {
@@ -61,7 +66,45 @@ public class ContiPerfUtil {
 	}
     }
 
+    /**
+     * Waits until {@link System#nanoTime()} reaches a deadline: The thread is
+     * parked until shortly before the deadline and spins for the rest of the
+     * time, so that the wait is precise to a few microseconds instead of the
+     * scheduling granularity of the operating system.
+     */
+    public static void waitUntil(long deadlineNanos) throws InterruptedException {
+	waitUntil(deadlineNanos, SPIN_NANOS);
+    }
+
+    /**
+     * Like {@link #waitUntil(long)}, but spins only for the given time before
+     * the deadline. With 0 the thread is only parked, which saves the
+     * processor time of spinning at the price of the scheduling granularity.
+     */
+    public static void waitUntil(long deadlineNanos, long spinNanos)
+	    throws InterruptedException {
+	long remaining;
+	while ((remaining = deadlineNanos - System.nanoTime()) > spinNanos) {
+	    LockSupport.parkNanos(remaining - spinNanos);
+	    if (Thread.interrupted()) {
+		throw new InterruptedException();
+	    }
+	}
+	while (deadlineNanos - System.nanoTime() > 0) {
+	    // spin
+	}
+    }
+
     public static PerfTestException executionError(Throwable e) {
+	return executionError(e, true);
+    }
+
+    /**
+     * Like {@link #executionError(Throwable)}, but the stack trace of a new
+     * error is only captured if <code>stackTrace</code> is true.
+     */
+    public static PerfTestException executionError(Throwable e,
+	    boolean stackTrace) {
 	Throwable result = e;
 	if (result instanceof InvocationTargetException) {
 	    result = result.getCause();
@@ -69,21 +112,32 @@ public class ContiPerfUtil {
 	if (result instanceof PerfTestException) {
 	    return (PerfTestException) result;
 	} else {
-	    return new PerfTestExecutionError(result);
+	    return new PerfTestExecutionError(result, stackTrace);
 	}
     }
 
     public static ExecutionConfig mapPerfTestAnnotation(PerfTest annotation) {
 	if (annotation != null) {
-	    return new ExecutionConfig(annotation.invocations(),
-		    annotation.threads(), annotation.duration(),
-		    clocks(annotation), annotation.rampUp(),
-		    annotation.warmUp(), annotation.cancelOnViolation(),
-		    annotation.timer(), annotation.timerParams() /*
-								  * ,
-								  * annotation.
-								  * timeout()
-								  */);
+	    ExecutionConfig config = new ExecutionConfig(
+		    annotation.invocations(), annotation.threads(),
+		    annotation.duration(), clocks(annotation),
+		    annotation.rampUp(), annotation.warmUp(),
+		    annotation.cancelOnViolation(), annotation.timer(),
+		    annotation.timerParams());
+	    config.setInterval(annotation.interval());
+	    config.setExpectedInterval(annotation.expectedInterval());
+	    config.setDistribution(annotation.distribution());
+	    config.setRate(annotation.rate());
+	    config.setArrivalProcess(annotation.arrivals());
+	    config.setSeed(annotation.seed());
+	    config.setVirtualThreads(annotation.virtualThreads());
+	    config.setMaxThreads(annotation.maxThreads());
+	    config.setThreadIncrement(annotation.threadIncrement());
+	    config.setMinThroughputGain(annotation.minThroughputGain());
+	    config.setBatchSize(annotation.batchSize());
+	    config.setPacing(annotation.pacing());
+	    config.setTimeout(annotation.timeout());
+	    return config;
 	} else {
 	    return null;
 	}
@@ -144,8 +198,14 @@ public class ContiPerfUtil {
 	PercentileRequirement[] percs = new PercentileRequirement[percTmp
 		.size()];
 	percTmp.toArray(percs);
-	return new PerformanceRequirement(average, max, totalTime, percs,
-		throughput, annotation.allowedErrorsRate());
+	PerformanceRequirement requirement = new PerformanceRequirement(
+		average, max, totalTime, percs, throughput,
+		annotation.allowedErrorsRate(), annotation.unit());
+	requirement.setMaxStdDev(annotation.maxStdDev());
+	requirement.setMaxCoefficientOfVariation(annotation
+		.maxCoefficientOfVariation());
+	requirement.setConfidence(annotation.confidence());
+	return requirement;
     }
 
     public static PercentileRequirement[] parsePercentiles(
@@ -161,6 +221,26 @@ public class ContiPerfUtil {
 	return reqs;
     }
 
+    /** @return the abbreviation of a {@link TimeUnit}, e.g. 'ms' */
+    public static String symbol(TimeUnit unit) {
+	switch (unit) {
+	case NANOSECONDS:
+	    return "ns";
+	case MICROSECONDS:
+	    return "us";
+	case MILLISECONDS:
+	    return "ms";
+	case SECONDS:
+	    return "s";
+	case MINUTES:
+	    return "min";
+	case HOURS:
+	    return "h";
+	default:
+	    return "d";
+	}
+    }
+
     public static <T extends Annotation> T annotationOfMethodOrClass(
 	    FrameworkMethod method, Class<T> annotationClass) {
 	if (null != method) {
@@ -23,14 +23,27 @@ package com.github.javatlacati.profile;
 
 import java.text.DecimalFormat;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import com.github.javatlacati.contiperf.clock.SystemClock;
+import com.github.javatlacati.stat.DistributionType;
 import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.SingleWriterRecorder;
 
 /**
  * Uses a {@link LatencyCounter} to collect profile information and manages sub
- * profiles.<br>
+ * profiles. Sub profiles use the same {@link DistributionType} as their
+ * parent, by default {@link DistributionType#SPARSE}, so that the memory of a
+ * profile tree grows with the latency values actually seen. Sub profiles may
+ * be looked up and created concurrently. {@link #addSampleNanos(long)} records
+ * into a {@link SingleWriterRecorder} without locking and is reserved for the
+ * thread which owns the profile, see {@link Profiler#push(String)}; the
+ * samples are moved to the {@link LatencyCounter} when the profile is
+ * queried. If entries are skipped by a {@link ProfileSampling}, the scaled
+ * methods extrapolate the measured values to all entries.<br>
  * <br>
  * Created: 19.05.2011 09:08:27
  * 
@@ -39,18 +52,35 @@ import com.github.javatlacati.stat.LatencyCounter;
  */
 public class Profile {
 
+    private static final AtomicLongFieldUpdater<Profile> SKIPPED_COUNT =
+	    AtomicLongFieldUpdater.newUpdater(Profile.class, "skippedCount");
+
     private String name;
     private Profile parent;
     private Map<String, Profile> subProfiles;
+    private DistributionType distributionType;
     private LatencyCounter counter;
-    private DecimalFormat nf = new DecimalFormat("0");
-    private DecimalFormat df = new DecimalFormat("0.0");
+    private final SingleWriterRecorder recorder;
+
+    // sampling state, only modified by the thread which owns the profile;
+    // the skipped count is read by other threads when merging
+    volatile long skippedCount;
+    int countdown;
+    long lastSampleTime;
 
     public Profile(String name, Profile parent) {
+	this(name, parent, DistributionType.SPARSE);
+    }
+
+    public Profile(String name, Profile parent,
+	    DistributionType distributionType) {
 	this.parent = parent;
 	this.name = name;
-	this.counter = new LatencyCounter(name);
-	this.subProfiles = new HashMap<>();
+	this.distributionType = distributionType;
+	this.counter = new LatencyCounter(name, SystemClock.NAME,
+		distributionType);
+	this.recorder = new SingleWriterRecorder(counter.getDistribution());
+	this.subProfiles = new ConcurrentHashMap<>();
     }
 
     public String getName() {
@@ -74,32 +104,97 @@ public class Profile {
     }
 
     private Profile createSubProfile(String name) {
-	Profile result = new Profile(name, this);
-	subProfiles.put(name, result);
-	return result;
+	Profile result = new Profile(name, this, distributionType);
+	Profile existing = subProfiles.putIfAbsent(name, result);
+	return (existing != null ? existing : result);
     }
 
     public void addSample(int duration) {
 	counter.addSample(duration, null);
     }
 
+    /**
+     * Adds a sample with a duration in nanoseconds. It must only be called by
+     * the thread which owns the profile.
+     */
+    public void addSampleNanos(long duration) {
+	recorder.record(duration);
+    }
+
+    /** Counts an entry which was not measured due to sampling. */
+    void addSkipped() {
+	// only the owning thread writes, so an ordered store suffices
+	SKIPPED_COUNT.lazySet(this, skippedCount + 1);
+    }
+
+    /**
+     * Adds the statistics of another profile and, recursively, of its sub
+     * profiles to this profile tree.
+     */
+    public void merge(Profile other) {
+	getCounter().merge(other.getCounter());
+	SKIPPED_COUNT.addAndGet(this, other.skippedCount);
+	for (Profile otherSub : other.getSubProfiles()) {
+	    getOrCreateSubProfile(otherSub.getName()).merge(otherSub);
+	}
+    }
+
+    public LatencyCounter getCounter() {
+	recorder.drainTo(counter);
+	return counter;
+    }
+
     public long getInvocationCount() {
-	return counter.sampleCount();
+	return getCounter().sampleCount();
     }
 
     public long getTotalLatency() {
-	return counter.totalLatency();
+	return getCounter().totalLatency();
     }
 
     public double getAverageLatency() {
-	return counter.averageLatency();
+	return getCounter().averageLatency();
+    }
+
+    /** @return the number of entries which were not measured due to sampling */
+    public long getSkippedCount() {
+	return skippedCount;
+    }
+
+    /** @return the number of measured and skipped entries */
+    public long getScaledInvocationCount() {
+	return getInvocationCount() + skippedCount;
+    }
+
+    /**
+     * @return the share of the entries which were measured, 1 if none was
+     *         skipped
+     */
+    public double getSamplingRate() {
+	long entries = getScaledInvocationCount();
+	return (entries > 0 ? (double) getInvocationCount() / entries : 1);
+    }
+
+    /** @return the total latency in milliseconds, extrapolated to all entries */
+    public long getScaledTotalLatency() {
+	return getScaledTotalLatency(TimeUnit.MILLISECONDS);
+    }
+
+    /** @return the total latency extrapolated to all entries */
+    public long getScaledTotalLatency(TimeUnit unit) {
+	double rate = getSamplingRate();
+	return (rate > 0 ? Math.round(getCounter().totalLatency(unit) / rate) : 0);
     }
 
     @Override
     public String toString() {
-	return "[" + nf.format(getInvocationCount()) + " inv., " + "avg: "
-		+ df.format(getAverageLatency()) + ", " + "total: "
-		+ nf.format(getTotalLatency()) + "]: " + name;
+	DecimalFormat nf = new DecimalFormat("0");
+	DecimalFormat df = new DecimalFormat("0.0");
+	String sampling = (skippedCount > 0 ? ", sampled: "
+		+ df.format(getSamplingRate() * 100) + "%" : "");
+	return "[" + nf.format(getScaledInvocationCount()) + " inv., "
+		+ "avg: " + df.format(getAverageLatency()) + ", " + "total: "
+		+ nf.format(getScaledTotalLatency()) + sampling + "]: " + name;
     }
 
     @Override
@@ -0,0 +1,194 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.profile;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File formats in which a {@link Profile} tree can be exported for hot spot
+ * analysis. All times are exported in nanoseconds. Invocation counts and
+ * totals are extrapolated to the entries skipped by a
+ * {@link ProfileSampling}. The self time of a profile
+ * is its total time minus the total times of its sub profiles; sub profiles
+ * are written in the order of their names.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public enum ProfileFormat {
+
+    /**
+     * Folded stacks as consumed by flame graph tools: One line per profile
+     * with self time, with the names of the profiles on the path from the
+     * root separated by semicolons, followed by a blank and the self time.
+     */
+    FOLDED(".folded") {
+	@Override
+	public void write(Profile profile, PrintWriter out) {
+	    writeFolded(profile, "", out);
+	    out.flush();
+	}
+    },
+
+    /**
+     * JSON document with a nested object per profile which holds the
+     * invocation count, measured invocation count, sampling rate, total, self and average time, the 50%, 90% and 99%
+     * percentiles and the sub profiles in a 'children' array.
+     */
+    JSON(".profile.json") {
+	@Override
+	public void write(Profile profile, PrintWriter out) {
+	    writeJson(profile, "", out);
+	    out.println();
+	    out.flush();
+	}
+    };
+
+    private static final int[] PERCENTILES = {50, 90, 99};
+
+    private final String fileSuffix;
+
+    ProfileFormat(String fileSuffix) {
+	this.fileSuffix = fileSuffix;
+    }
+
+    public String getFileSuffix() {
+	return fileSuffix;
+    }
+
+    /** Writes the profile and all its sub profiles. */
+    public abstract void write(Profile profile, PrintWriter out);
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private static void writeFolded(Profile profile, String parentPath,
+				    PrintWriter out) {
+	String path = parentPath + frameName(profile.getName());
+	long selfTime = selfTime(profile);
+	if (selfTime > 0) {
+	    out.println(path + ' ' + selfTime);
+	}
+	for (Profile subProfile : sortedSubProfiles(profile)) {
+	    writeFolded(subProfile, path + ';', out);
+	}
+    }
+
+    private static void writeJson(Profile profile, String indent,
+				  PrintWriter out) {
+	long[] percentiles = profile.getCounter().percentileLatencies(
+		PERCENTILES, TimeUnit.NANOSECONDS);
+	out.println(indent + "{");
+	out.println(indent + "  \"name\": " + jsonString(profile.getName()) + ",");
+	out.println(indent + "  \"invocations\": " + profile.getScaledInvocationCount() + ",");
+	out.println(indent + "  \"sampledInvocations\": " + profile.getInvocationCount() + ",");
+	out.println(indent + "  \"samplingRate\": " + profile.getSamplingRate() + ",");
+	out.println(indent + "  \"totalNanos\": " + totalTime(profile) + ",");
+	out.println(indent + "  \"selfNanos\": " + selfTime(profile) + ",");
+	out.println(indent + "  \"averageNanos\": " + Math.round(profile
+		.getCounter().averageLatency(TimeUnit.NANOSECONDS)) + ",");
+	out.print(indent + "  \"percentileNanos\": {");
+	for (int i = 0; i < PERCENTILES.length; i++) {
+	    out.print((i > 0 ? ", " : "") + "\"" + PERCENTILES[i] + "\": "
+		    + percentiles[i]);
+	}
+	out.println("},");
+	out.print(indent + "  \"children\": [");
+	List<Profile> subProfiles = sortedSubProfiles(profile);
+	if (subProfiles.isEmpty()) {
+	    out.println("]");
+	} else {
+	    out.println();
+	    for (int i = 0; i < subProfiles.size(); i++) {
+		if (i > 0) {
+		    out.println(",");
+		}
+		writeJson(subProfiles.get(i), indent + "    ", out);
+	    }
+	    out.println();
+	    out.println(indent + "  ]");
+	}
+	out.print(indent + "}");
+    }
+
+    private static long totalTime(Profile profile) {
+	return profile.getScaledTotalLatency(TimeUnit.NANOSECONDS);
+    }
+
+    private static long selfTime(Profile profile) {
+	long result = totalTime(profile);
+	for (Profile subProfile : profile.getSubProfiles()) {
+	    result -= totalTime(subProfile);
+	}
+	return Math.max(result, 0);
+    }
+
+    private static List<Profile> sortedSubProfiles(Profile profile) {
+	List<Profile> result = new ArrayList<>(profile.getSubProfiles());
+	result.sort(Comparator.comparing(Profile::getName));
+	return result;
+    }
+
+    /** Replaces the characters which separate frames and counts. */
+    private static String frameName(String name) {
+	return name.replace(';', ':').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String jsonString(String text) {
+	StringBuilder builder = new StringBuilder("\"");
+	for (int i = 0; i < text.length(); i++) {
+	    char c = text.charAt(i);
+	    switch (c) {
+		case '"':
+		    builder.append("\\\"");
+		    break;
+		case '\\':
+		    builder.append("\\\\");
+		    break;
+		case '\n':
+		    builder.append("\\n");
+		    break;
+		case '\r':
+		    builder.append("\\r");
+		    break;
+		case '\t':
+		    builder.append("\\t");
+		    break;
+		default:
+		    if (c < 0x20) {
+			builder.append(String.format("\\u%04x", (int) c));
+		    } else {
+			builder.append(c);
+		    }
+	    }
+	}
+	return builder.append('"').toString();
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.profile;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which entries of a profiling point are measured by
+ * {@link Profiler#push(String)}. Sampling bounds the instrumentation overhead
+ * on frequently called paths: Either 1 in N entries of each profiling point
+ * is measured, starting with the first one, or at most one entry per time
+ * interval. The decisions only depend on the sequence (and, for intervals,
+ * the timing) of the entries of each thread, not on random numbers, so they
+ * are reproducible. Skipped entries are counted, so that {@link Profile}
+ * can scale the measured values up to all entries.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class ProfileSampling {
+
+    /** Measures every entry. */
+    public static final ProfileSampling ALL = new ProfileSampling(1, 0);
+
+    private static final Pattern ONE_IN_N = Pattern.compile("1/(\\d+)");
+    private static final Pattern INTERVAL = Pattern.compile("(\\d+)(ns|us|ms|s)");
+
+    private final int every;
+    private final long intervalNanos;
+
+    private ProfileSampling(int every, long intervalNanos) {
+	this.every = every;
+	this.intervalNanos = intervalNanos;
+    }
+
+    /** @return a sampling which measures the 1st, (n+1)th, (2n+1)th, ... entry */
+    public static ProfileSampling oneIn(int n) {
+	if (n < 1) {
+	    throw new IllegalArgumentException("n must be 1 or more, but was " + n);
+	}
+	return (n == 1 ? ALL : new ProfileSampling(n, 0));
+    }
+
+    /**
+     * @return a sampling which measures an entry if at least the given time
+     *         has passed since the last measured entry of the same profiling
+     *         point in the same thread
+     */
+    public static ProfileSampling interval(long duration, TimeUnit unit) {
+	if (duration <= 0) {
+	    throw new IllegalArgumentException(
+		    "duration must be positive, but was " + duration);
+	}
+	return new ProfileSampling(1, unit.toNanos(duration));
+    }
+
+    /**
+     * Parses a sampling specification: Either '1/N' for {@link #oneIn(int)},
+     * a duration with one of the units ns, us, ms or s for
+     * {@link #interval(long, TimeUnit)}, e.g. '10ms', or 'all'.
+     */
+    public static ProfileSampling parse(String spec) {
+	String trimmed = spec.trim();
+	if (trimmed.isEmpty() || "all".equalsIgnoreCase(trimmed)) {
+	    return ALL;
+	}
+	Matcher matcher = ONE_IN_N.matcher(trimmed);
+	if (matcher.matches()) {
+	    return oneIn(Integer.parseInt(matcher.group(1)));
+	}
+	matcher = INTERVAL.matcher(trimmed);
+	if (matcher.matches()) {
+	    return interval(Long.parseLong(matcher.group(1)), unit(matcher.group(2)));
+	}
+	throw new IllegalArgumentException("Illegal profile sampling: '" + spec
+		+ "', expected '1/N' or a duration like '10ms'");
+    }
+
+    public boolean isSampling() {
+	return every > 1 || intervalNanos > 0;
+    }
+
+    /**
+     * Decides if the next entry of a profiling point is measured and counts
+     * it as skipped otherwise. The profile needs to be confined to the
+     * calling thread.
+     */
+    boolean sample(Profile profile) {
+	boolean result;
+	if (every > 1) {
+	    result = (profile.countdown == 0);
+	    profile.countdown = (result ? every - 1 : profile.countdown - 1);
+	} else if (intervalNanos > 0) {
+	    long now = System.nanoTime();
+	    // 0 stands for 'no entry measured yet'
+	    result = profile.lastSampleTime == 0
+		    || now - profile.lastSampleTime >= intervalNanos;
+	    if (result) {
+		profile.lastSampleTime = now;
+	    }
+	} else {
+	    return true;
+	}
+	if (!result) {
+	    profile.addSkipped();
+	}
+	return result;
+    }
+
+    private static TimeUnit unit(String symbol) {
+	switch (symbol) {
+	    case "ns":
+		return TimeUnit.NANOSECONDS;
+	    case "us":
+		return TimeUnit.MICROSECONDS;
+	    case "ms":
+		return TimeUnit.MILLISECONDS;
+	    default:
+		return TimeUnit.SECONDS;
+	}
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	if (every > 1) {
+	    return "1 in " + every;
+	} else if (intervalNanos > 0) {
+	    return "1 per " + intervalNanos + " ns";
+	} else {
+	    return "all";
+	}
+    }
+
+}
@@ -21,10 +21,37 @@
 
 package com.github.javatlacati.profile;
 
+import com.github.javatlacati.contiperf.Config;
+import com.github.javatlacati.stat.DistributionType;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Organizes {@link Profile}s in a tree structure.<br>
+ * Organizes {@link Profile}s in a tree structure. Samples can either be added
+ * with a complete call path using {@link #addSample(List, long)} or measured
+ * with {@link #push(String)} and {@link #pop()}. The latter keep a call path
+ * stack and a profile tree per thread, so that the hot path neither locks nor
+ * allocates once a call path has been seen; the trees of all threads are
+ * merged by {@link #getMergedProfile()}. The trees of terminated threads are
+ * folded into a common tree and released, when profiles are merged or new
+ * threads have been added, so that the profiler does not grow with the
+ * number of threads used over time. The merged tree can be exported in
+ * each {@link ProfileFormat}, e.g. as folded stacks for flame graphs.<br>
+ * <br>
+ * To bound the overhead on frequently called paths, {@link #push(String)} can
+ * measure a sample of the entries, see {@link #setSampling(ProfileSampling)}.
+ * The summaries and exports extrapolate counts and totals to all entries.<br>
  * <br>
  * Created: 19.05.2011 09:01:32
  *
@@ -36,14 +63,38 @@ public class Profiler {
     private static final Profiler DEFAULT_INSTANCE = new Profiler("default", 1,
             "ms");
 
+    /** the number of thread trees above which terminated ones are folded */
+    private static final int MIN_RETIRE_THRESHOLD = 64;
+
     private long granularity;
     private String unit;
+    private DistributionType distributionType;
     private Profile rootProfile;
+    private final Queue<ThreadProfile> threadProfiles;
+    /** the merged trees of terminated threads, guarded by this */
+    private final Profile retiredProfile;
+    /** the number of thread trees, guarded by this */
+    private int threadCount;
+    /** guarded by this */
+    private int retireThreshold;
+    private final ThreadLocal<CallStack> callStacks;
+    private volatile ProfileSampling sampling;
 
     public Profiler(String name, long granularity, String unit) {
+        this(name, granularity, unit, DistributionType.SPARSE);
+    }
+
+    public Profiler(String name, long granularity, String unit,
+                    DistributionType distributionType) {
         this.granularity = granularity;
         this.unit = unit;
-        this.rootProfile = new Profile(name, null);
+        this.distributionType = distributionType;
+        this.rootProfile = new Profile(name, null, distributionType);
+        this.threadProfiles = new ConcurrentLinkedQueue<>();
+        this.retiredProfile = new Profile(name, null, distributionType);
+        this.retireThreshold = MIN_RETIRE_THRESHOLD;
+        this.callStacks = ThreadLocal.withInitial(this::createCallStack);
+        this.sampling = Profiling.getSampling();
     }
 
     public static Profiler defaultInstance() {
@@ -54,6 +105,29 @@ public class Profiler {
         return rootProfile;
     }
 
+    public ProfileSampling getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Sets the sampling of {@link #push(String)}, by default the one
+     * configured in {@link Profiling#getSampling()}.
+     */
+    public void setSampling(ProfileSampling sampling) {
+        this.sampling = sampling;
+    }
+
+    /**
+     * @return the share of all entries of all profiling points which were
+     *         measured, 1 if none was skipped
+     */
+    public double getEffectiveSamplingRate() {
+        Profile merged = getMergedProfile();
+        long[] counts = new long[2];
+        countEntries(merged, counts);
+        return (counts[1] > 0 ? (double) counts[0] / counts[1] : 1);
+    }
+
     public void addSample(List<String> path, long duration) {
         int depth = path.size();
         Profile profile = rootProfile;
@@ -63,8 +137,115 @@ public class Profiler {
         profile.addSample((int) (duration / granularity));
     }
 
+    /**
+     * Enters a sub profile of the current thread's innermost open profile and
+     * starts measuring its duration, unless the entry is skipped by the
+     * {@link #getSampling() sampling}.
+     */
+    public void push(String name) {
+        CallStack stack = callStacks.get();
+        Profile profile = stack.profiles[stack.depth].getOrCreateSubProfile(name);
+        if (sampling.sample(profile)) {
+            stack.push(profile, true, System.nanoTime());
+        } else {
+            stack.push(profile, false, 0);
+        }
+    }
+
+    /**
+     * Stops measuring the current thread's innermost open profile and records
+     * its duration in nanoseconds, if it has been sampled.
+     *
+     * @throws IllegalStateException if no profile has been pushed by the
+     *                               current thread
+     */
+    public void pop() {
+        long end = System.nanoTime();
+        CallStack stack = callStacks.get();
+        if (stack.depth == 0) {
+            throw new IllegalStateException("pop() without push() in profiler "
+                    + rootProfile.getName());
+        }
+        if (stack.sampled[stack.depth]) {
+            stack.profiles[stack.depth].addSampleNanos(end - stack.startTimes[stack.depth]);
+        }
+        stack.depth--;
+    }
+
+    /**
+     * Merges the profiles recorded by {@link #addSample(List, long)} and the
+     * per-thread profiles recorded by {@link #push(String)} and {@link #pop()}.
+     * Profiles which are still open are not included.
+     *
+     * @return a new profile tree which is independent of further samples
+     */
+    public Profile getMergedProfile() {
+        Profile result = new Profile(rootProfile.getName(), null, distributionType);
+        result.merge(rootProfile);
+        synchronized (this) {
+            retireTerminatedThreads();
+            result.merge(retiredProfile);
+            for (ThreadProfile threadProfile : threadProfiles) {
+                result.merge(threadProfile.root);
+            }
+        }
+        return result;
+    }
+
     public void printSummary() {
-        printRecursively(rootProfile, "");
+        Profile merged = getMergedProfile();
+        if (sampling.isSampling()) {
+            long[] counts = new long[2];
+            countEntries(merged, counts);
+            double rate = (counts[1] > 0 ? (double) counts[0] / counts[1] : 1);
+            System.out.println("sampling: " + sampling + ", effective rate: "
+                    + new DecimalFormat("0.###").format(rate * 100) + "%");
+        }
+        printRecursively(merged, "");
+    }
+
+    /**
+     * Exports the {@link #getMergedProfile() merged profile} in all
+     * {@link ProfileFormat}s to the {@link Config#getReportFolder() report
+     * folder}.
+     *
+     * @return the files written
+     */
+    public List<File> export() {
+        File folder = Config.instance().getReportFolder();
+        List<File> result = new ArrayList<>();
+        for (ProfileFormat format : ProfileFormat.values()) {
+            result.add(export(folder, format));
+        }
+        return result;
+    }
+
+    /**
+     * Exports the {@link #getMergedProfile() merged profile} to a file named
+     * {@link #getFileName(ProfileFormat)} in the given folder.
+     *
+     * @return the file written
+     */
+    public File export(File folder, ProfileFormat format) {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new RuntimeException("Unable to create folder " + folder);
+        }
+        File file = new File(folder, getFileName(format));
+        try (PrintWriter out = new PrintWriter(new FileOutputStream(file))) {
+            format.write(getMergedProfile(), out);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+        return file;
+    }
+
+    /**
+     * @return the profiler's name with all characters but letters, digits,
+     * '.', '-' and '_' replaced, followed by the suffix of the format
+     */
+    public String getFileName(ProfileFormat format) {
+        return rootProfile.getName().replaceAll("[^A-Za-z0-9._-]", "_")
+                + format.getFileSuffix();
     }
 
     private void printRecursively(Profile profile, String indent) {
@@ -74,4 +255,92 @@ public class Profiler {
         }
     }
 
+    /** Sums up the measured and all entries of a profile tree. */
+    private static void countEntries(Profile profile, long[] counts) {
+        counts[0] += profile.getInvocationCount();
+        counts[1] += profile.getScaledInvocationCount();
+        for (Profile subProfile : profile.getSubProfiles()) {
+            countEntries(subProfile, counts);
+        }
+    }
+
+    private synchronized CallStack createCallStack() {
+        Profile threadRootProfile = new Profile(rootProfile.getName(), null,
+                distributionType);
+        threadProfiles.add(new ThreadProfile(Thread.currentThread(),
+                threadRootProfile));
+        if (++threadCount > retireThreshold) {
+            // amortized, the threshold grows with the number of live threads
+            retireTerminatedThreads();
+            retireThreshold = Math.max(MIN_RETIRE_THRESHOLD, 2 * threadCount);
+        }
+        return new CallStack(threadRootProfile);
+    }
+
+    /** @return the number of per-thread trees which are held */
+    synchronized int threadProfileCount() {
+        return threadCount;
+    }
+
+    /**
+     * Folds the trees of terminated threads into the retired profile. A
+     * thread's termination makes all of its samples visible here.
+     */
+    private synchronized void retireTerminatedThreads() {
+        for (Iterator<ThreadProfile> iterator = threadProfiles.iterator();
+             iterator.hasNext(); ) {
+            ThreadProfile threadProfile = iterator.next();
+            Thread thread = threadProfile.thread.get();
+            if (thread == null || !thread.isAlive()) {
+                retiredProfile.merge(threadProfile.root);
+                iterator.remove();
+                threadCount--;
+            }
+        }
+    }
+
+    /** The profile tree of a thread, which does not keep the thread alive. */
+    private static final class ThreadProfile {
+
+        private final WeakReference<Thread> thread;
+        private final Profile root;
+
+        ThreadProfile(Thread thread, Profile root) {
+            this.thread = new WeakReference<>(thread);
+            this.root = root;
+        }
+    }
+
+    /**
+     * The open profiles of a thread with their start times and whether they
+     * are measured. Index 0 holds
+     * the thread's root profile.
+     */
+    private static final class CallStack {
+
+        private Profile[] profiles;
+        private long[] startTimes;
+        private boolean[] sampled;
+        private int depth;
+
+        CallStack(Profile root) {
+            this.profiles = new Profile[16];
+            this.startTimes = new long[16];
+            this.sampled = new boolean[16];
+            this.profiles[0] = root;
+            this.depth = 0;
+        }
+
+        void push(Profile profile, boolean measured, long startTime) {
+            if (++depth == profiles.length) {
+                profiles = Arrays.copyOf(profiles, depth * 2);
+                startTimes = Arrays.copyOf(startTimes, depth * 2);
+                sampled = Arrays.copyOf(sampled, depth * 2);
+            }
+            profiles[depth] = profile;
+            startTimes[depth] = startTime;
+            sampled[depth] = measured;
+        }
+    }
+
 }
@@ -23,7 +23,11 @@
 package com.github.javatlacati.profile;
 
 /**
- * Encapsulates access to Profiling configuration.<br>
+ * Encapsulates access to Profiling configuration. The system properties
+ * 'profile' (enables profiling unless it is 'false') and 'profile.sampling'
+ * (see {@link ProfileSampling#parse(String)}) are read once and cached, so
+ * that checks on hot paths are cheap; call {@link #reload()} after changing
+ * them.<br>
  * <br>
  * Created: 21.07.2011 08:28:43
  * 
@@ -32,9 +36,47 @@ package com.github.javatlacati.profile;
  */
 public class Profiling {
 
+    public static final String SYSPROP_PROFILE = "profile";
+    public static final String SYSPROP_SAMPLING = "profile.sampling";
+
+    private static volatile boolean enabled;
+    private static volatile ProfileSampling sampling;
+
+    static {
+	reload();
+    }
+
     public static boolean isEnabled() {
-	String config = System.getProperty("profile");
-	return config != null && !"false".equals(config);
+	return enabled;
+    }
+
+    /** @return the sampling for new {@link Profiler}s */
+    public static ProfileSampling getSampling() {
+	return sampling;
+    }
+
+    /**
+     * Reads the profiling configuration from the system properties. A
+     * malformed 'profile.sampling' value is reported and replaced by
+     * {@link ProfileSampling#ALL}, since this also runs in the static
+     * initializer and must not render the class unusable.
+     */
+    public static void reload() {
+	String config = System.getProperty(SYSPROP_PROFILE);
+	String samplingSpec = System.getProperty(SYSPROP_SAMPLING);
+	sampling = (samplingSpec != null ? parseSampling(samplingSpec)
+		: ProfileSampling.ALL);
+	enabled = config != null && !"false".equals(config);
+    }
+
+    private static ProfileSampling parseSampling(String spec) {
+	try {
+		return ProfileSampling.parse(spec);
+	} catch (IllegalArgumentException e) {
+		System.err.println("Ignoring system property " + SYSPROP_SAMPLING
+			+ ": " + e.getMessage());
+		return ProfileSampling.ALL;
+	}
     }
 
 }
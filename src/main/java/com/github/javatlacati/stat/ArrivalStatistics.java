@@ -0,0 +1,140 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.stat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the arrivals of an open workload model test: The response
+ * times from the scheduled arrival to the end of the invocation, which
+ * include the time an arrival waited for a free worker, and the counts of
+ * arrivals which were started late or were missed since the test ended
+ * before a worker became available. The service times, from the actual
+ * start of the invocation to its end, are recorded by the main
+ * {@link LatencyCounter}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class ArrivalStatistics {
+
+    private final int rate;
+    private final LatencyCounter responseTimes;
+    private final AtomicLong startedCount;
+    private final AtomicLong lateCount;
+    private final AtomicLong missedCount;
+    private final AtomicLong maxSchedulingDelay;
+    private final AtomicInteger workers;
+
+    /**
+     * @param rate          the target number of arrivals per second
+     * @param responseTimes the counter in which the response times are
+     *                      recorded
+     */
+    public ArrivalStatistics(int rate, LatencyCounter responseTimes) {
+	this.rate = rate;
+	this.responseTimes = responseTimes;
+	this.startedCount = new AtomicLong();
+	this.lateCount = new AtomicLong();
+	this.missedCount = new AtomicLong();
+	this.maxSchedulingDelay = new AtomicLong();
+	this.workers = new AtomicInteger();
+    }
+
+    /**
+     * Records an invocation of an arrival.
+     *
+     * @param schedulingDelay the time in nanoseconds from the scheduled
+     *                        arrival to the start of the invocation
+     * @param responseTime    the time in nanoseconds from the scheduled
+     *                        arrival to the end of the invocation
+     * @param late            true if the invocation was started late
+     */
+    public void record(long schedulingDelay, long responseTime, boolean late) {
+	responseTimes.addSampleNanos(responseTime, null);
+	startedCount.incrementAndGet();
+	if (late) {
+	    lateCount.incrementAndGet();
+	}
+	maxSchedulingDelay.accumulateAndGet(schedulingDelay, Math::max);
+    }
+
+    /** Counts arrivals which were not invoked before the test ended. */
+    public void addMissed(long count) {
+	missedCount.addAndGet(count);
+    }
+
+    /** Remembers the size of the worker pool, if it is the largest so far. */
+    public void updateWorkers(int count) {
+	workers.accumulateAndGet(count, Math::max);
+    }
+
+    /** @return the target number of arrivals per second */
+    public int getRate() {
+	return rate;
+    }
+
+    public LatencyCounter getResponseTimes() {
+	return responseTimes;
+    }
+
+    /** @return the number of started and missed arrivals */
+    public long getArrivalCount() {
+	return startedCount.get() + missedCount.get();
+    }
+
+    public long getStartedCount() {
+	return startedCount.get();
+    }
+
+    public long getLateCount() {
+	return lateCount.get();
+    }
+
+    public long getMissedCount() {
+	return missedCount.get();
+    }
+
+    public long getMaxSchedulingDelay(TimeUnit unit) {
+	return unit.convert(maxSchedulingDelay.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /** @return the largest size of the worker pool */
+    public int getWorkers() {
+	return workers.get();
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getArrivalCount() + " arrivals at " + rate + " / s, "
+		+ getLateCount() + " late, " + getMissedCount() + " missed, "
+		+ getWorkers() + " workers";
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+/**
+ * Interval which contains an estimated statistic with a given confidence
+ * level, for example the range in which the true 99th percentile lies with
+ * 95% probability. Also provides the quantile functions needed to calculate
+ * the intervals.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @see LatencySnapshot#meanConfidenceInterval(double, java.util.concurrent.TimeUnit)
+ * @see LatencySnapshot#percentileConfidenceInterval(double, double, java.util.concurrent.TimeUnit)
+ * @since 2.4.4
+ */
+public final class ConfidenceInterval {
+
+    public static final double DEFAULT_LEVEL = 0.95;
+
+    private final double lower;
+    private final double upper;
+    private final double level;
+
+    public ConfidenceInterval(double lower, double upper, double level) {
+	this.lower = lower;
+	this.upper = upper;
+	this.level = level;
+    }
+
+    public double getLower() {
+	return lower;
+    }
+
+    public double getUpper() {
+	return upper;
+    }
+
+    /** @return the confidence level, e.g. 0.95 */
+    public double getLevel() {
+	return level;
+    }
+
+    public boolean contains(double value) {
+	return lower <= value && value <= upper;
+    }
+
+    // quantile functions
+    // ----------------------------------------------------------------------------------------------
+
+    /**
+     * @return the z value for a two-sided interval of the given confidence
+     *         level, e.g. 1.96 for 0.95
+     */
+    public static double zValue(double level) {
+	checkLevel(level);
+	return normalQuantile(1 - (1 - level) / 2);
+    }
+
+    /**
+     * Approximates the t value for a two-sided interval of the given
+     * confidence level by a Cornish-Fisher expansion of the normal quantile,
+     * which is accurate to about 1% from 3 degrees of freedom on.
+     */
+    public static double tValue(double level, long degreesOfFreedom) {
+	double z = zValue(level);
+	double n = degreesOfFreedom;
+	double z3 = z * z * z;
+	double z5 = z3 * z * z;
+	return z + (z3 + z) / (4 * n) + (5 * z5 + 16 * z3 + 3 * z) / (96 * n * n);
+    }
+
+    /**
+     * Calculates the quantile function of the standard normal distribution
+     * with the rational approximation of P. J. Acklam, which has a relative
+     * error below 1.2E-9.
+     */
+    public static double normalQuantile(double p) {
+	if (p <= 0 || p >= 1) {
+	    throw new IllegalArgumentException("p must be between 0 and 1, but was " + p);
+	}
+	final double pLow = 0.02425;
+	if (p < pLow) {
+	    double q = Math.sqrt(-2 * Math.log(p));
+	    return tail(q);
+	} else if (p > 1 - pLow) {
+	    double q = Math.sqrt(-2 * Math.log(1 - p));
+	    return -tail(q);
+	}
+	double q = p - 0.5;
+	double r = q * q;
+	return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r
+		- 2.759285104469687e+02) * r + 1.383577518672690e+02) * r
+		- 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+		/ (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r
+		- 1.556989798598866e+02) * r + 6.680131188771972e+01) * r
+		- 1.328068155288572e+01) * r + 1);
+    }
+
+    private static double tail(double q) {
+	return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q
+		- 2.400758277161838e+00) * q - 2.549732539343734e+00) * q
+		+ 4.374664141464968e+00) * q + 2.938163982698783e+00)
+		/ ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q
+		+ 2.445134137142996e+00) * q + 3.754408661907416e+00) * q + 1);
+    }
+
+    static void checkLevel(double level) {
+	if (!(level > 0 && level < 1)) {
+	    throw new IllegalArgumentException(
+		    "Confidence level must be between 0 and 1, but was " + level);
+	}
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return "[" + lower + ", " + upper + "] (" + (level * 100) + "%)";
+    }
+
+}
@@ -22,20 +22,32 @@
 
 package com.github.javatlacati.stat;
 
+import com.github.javatlacati.contiperf.clock.SystemClock;
+
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Repository that binds {@link LatencyCounter}s to a name and makes them
- * available to clients.<br>
+ * Repository that binds {@link LatencyCounter}s to a name and an optional set
+ * of {@link Tags} and makes them available to clients. New counters record
+ * their latencies in a {@link LatencyDistribution} of the configured
+ * {@link DistributionType}.<br>
+ * <br>
+ * The counters are kept in concurrent maps, first by name, then by tags, so
+ * lookups do not lock and, with reused {@link Tags} instances, do not
+ * allocate objects. Only the first sample of a new counter synchronizes on
+ * the map bin in which the counter is created.<br>
  * <br>
  * Created: 14.01.2011 11:26:09
  *
@@ -44,7 +56,8 @@ import java.util.Set;
  */
 public class CounterRepository {
 
-    private Map<String, LatencyCounter> counters;
+    private final ConcurrentMap<String, ConcurrentMap<Tags, LatencyCounter>> counters;
+    private volatile DistributionType distributionType;
 
     // construction and singleton management
     // ---------------------------------------------------------------------------
@@ -52,7 +65,8 @@ public class CounterRepository {
     private static final CounterRepository INSTANCE = new CounterRepository();
 
     private CounterRepository() {
-        counters = new HashMap<>();
+        counters = new ConcurrentHashMap<>();
+        distributionType = DistributionType.HISTOGRAM;
     }
 
     public static CounterRepository getInstance() {
@@ -62,29 +76,103 @@ public class CounterRepository {
     // CounterRepository interface
     // -------------------------------------------------------------------------------------
 
+    /** Adds a sample with a latency in milliseconds. */
     public void addSample(String name, int latency) {
-        LatencyCounter counter = getOrCreateCounter(name);
-        counter.addSample(latency, null);
+        getOrCreateCounter(name, Tags.EMPTY).addSample(latency, null);
+    }
+
+    /** Adds a sample with a latency in nanoseconds. */
+    public void addSampleNanos(String name, long latency) {
+        addSampleNanos(name, Tags.EMPTY, latency);
+    }
+
+    /** Adds a sample with a latency in nanoseconds to a tagged counter. */
+    public void addSampleNanos(String name, Tags tags, long latency) {
+        getOrCreateCounter(name, tags).addSampleNanos(latency, null);
+    }
+
+    /**
+     * Provides the counter of the given name and tags, creating it if
+     * necessary. Clients which record many samples can keep the counter
+     * instead of looking it up for each sample.
+     */
+    public LatencyCounter getOrCreateCounter(String name, Tags tags) {
+        ConcurrentMap<Tags, LatencyCounter> tagged = counters.get(name);
+        if (tagged == null) {
+            tagged = counters.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
+        }
+        LatencyCounter counter = tagged.get(tags);
+        if (counter == null) {
+            counter = tagged.computeIfAbsent(tags, k -> createCounter(name, k));
+        }
+        return counter;
+    }
+
+    public DistributionType getDistributionType() {
+        return distributionType;
+    }
+
+    /** Sets the type of distribution used by counters created afterwards. */
+    public void setDistributionType(DistributionType distributionType) {
+        this.distributionType = distributionType;
     }
 
     public LatencyCounter getCounter(String name) {
-        return counters.get(name);
+        return getCounter(name, Tags.EMPTY);
+    }
+
+    public LatencyCounter getCounter(String name, Tags tags) {
+        Map<Tags, LatencyCounter> tagged = counters.get(name);
+        return (tagged != null ? tagged.get(tags) : null);
+    }
+
+    /** @return the counters of the given name, by their tags */
+    public Map<Tags, LatencyCounter> getCounters(String name) {
+        Map<Tags, LatencyCounter> tagged = counters.get(name);
+        return (tagged != null ? new HashMap<>(tagged) : new HashMap<>());
     }
 
+    /**
+     * @return all counters by their {@link LatencyCounter#getName() name},
+     *         which includes the tags of tagged counters, e.g.
+     *         <code>cache{operation=get}</code>
+     */
     public Set<Map.Entry<String, LatencyCounter>> getCounters() {
-        return counters.entrySet();
+        Map<String, LatencyCounter> result = new LinkedHashMap<>();
+        for (LatencyCounter counter : allCounters()) {
+            result.put(counter.getName(), counter);
+        }
+        return result.entrySet();
     }
 
     public void clear() {
         counters.clear();
     }
 
+    /**
+     * Takes a snapshot of each counter and resets it, e.g. for reporting the
+     * statistics of consecutive periods while measurements continue.
+     * Samples recorded concurrently end up in this or the next snapshot.
+     *
+     * @return the snapshots by counter name and tags
+     */
+    public Map<String, Map<Tags, LatencySnapshot>> snapshotAndReset() {
+        Map<String, Map<Tags, LatencySnapshot>> result = new HashMap<>();
+        for (Map.Entry<String, ConcurrentMap<Tags, LatencyCounter>> named : counters.entrySet()) {
+            Map<Tags, LatencySnapshot> snapshots = new HashMap<>();
+            for (Map.Entry<Tags, LatencyCounter> tagged : named.getValue().entrySet()) {
+                snapshots.put(tagged.getKey(), tagged.getValue().snapshotAndReset());
+            }
+            result.put(named.getKey(), snapshots);
+        }
+        return result;
+    }
+
     public void printSummary() {
         DecimalFormat df = new DecimalFormat("0.0",
                 DecimalFormatSymbols.getInstance(Locale.US));
-        List<String[]> list = new ArrayList<>(counters.size());
-        List<LatencyCounter> sortedCounters = new ArrayList<>(
-				counters.values());
+        List<LatencyCounter> sortedCounters = allCounters();
+        List<String[]> list = new ArrayList<>(sortedCounters.size());
         Collections.sort(sortedCounters, new Comparator<LatencyCounter>() {
             public int compare(LatencyCounter c1, LatencyCounter c2) {
                 return -Long.valueOf(c1.totalLatency()).compareTo(c2.totalLatency());
@@ -102,21 +190,18 @@ public class CounterRepository {
     // helper methods
     // --------------------------------------------------------------------------------------------------
 
-    private LatencyCounter getOrCreateCounter(String name) {
-        LatencyCounter counter = getCounter(name);
-        if (counter == null) {
-            counter = createCounter(name);
-        }
-        return counter;
+    private LatencyCounter createCounter(String name, Tags tags) {
+        String qualifiedName = (tags.isEmpty() ? name : name + "{" + tags + "}");
+        return new LatencyCounter(qualifiedName, SystemClock.NAME,
+                distributionType);
     }
 
-    private synchronized LatencyCounter createCounter(String name) {
-        LatencyCounter counter = getCounter(name);
-        if (counter == null) {
-            counter = new LatencyCounter(name);
-            counters.put(name, counter);
+    private List<LatencyCounter> allCounters() {
+        List<LatencyCounter> result = new ArrayList<>();
+        for (Map<Tags, LatencyCounter> tagged : counters.values()) {
+            result.addAll(tagged.values());
         }
-        return counter;
+        return result;
     }
 
     private void printSummaryTable(List<String[]> list) {
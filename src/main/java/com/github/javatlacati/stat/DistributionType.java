@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+/**
+ * Selects the {@link LatencyDistribution} implementation in which a
+ * {@link LatencyCounter} records its latencies.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public enum DistributionType {
+
+    /**
+     * Log-linear {@link LatencyHistogram} with 2 significant digits for
+     * latencies of up to 24 hours. Larger values are counted as 24 hours.
+     */
+    HISTOGRAM {
+	@Override
+	public LatencyDistribution create() {
+	    return new LatencyHistogram();
+	}
+    },
+
+    /**
+     * {@link LatencySketch} with a relative accuracy of 1% over the whole
+     * range of long values, for tests whose latencies range from
+     * microseconds to minutes or more.
+     */
+    SKETCH {
+	@Override
+	public LatencyDistribution create() {
+	    return new LatencySketch();
+	}
+    },
+
+    /**
+     * {@link SparseLatencyDistribution} with the buckets of a
+     * {@link #HISTOGRAM}, whose memory footprint grows with the number of
+     * distinct latency buckets, for large numbers of counters with few
+     * samples each, like the nodes of a profile tree.
+     */
+    SPARSE {
+	@Override
+	public LatencyDistribution create() {
+	    return new SparseLatencyDistribution();
+	}
+    };
+
+    /** @return a new, empty distribution of this type */
+    public abstract LatencyDistribution create();
+
+}
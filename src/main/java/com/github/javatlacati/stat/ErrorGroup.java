@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import com.github.javatlacati.contiperf.PerfTestExecutionError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregates the errors of one exception type and message: their count, the
+ * time of the first and last occurrence, the latencies of the failed
+ * invocations and the first few errors as exemplars.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @see ErrorStatistics
+ * @since 2.4.4
+ */
+public final class ErrorGroup {
+
+    private final String type;
+    private final String message;
+    private final int maxExemplars;
+
+    private long count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private final LatencyHistogram histogram;
+    private final List<PerfTestExecutionError> exemplars;
+
+    ErrorGroup(String type, String message, int maxExemplars) {
+	this.type = type;
+	this.message = message;
+	this.maxExemplars = maxExemplars;
+	this.count = 0;
+	this.firstTimestamp = -1;
+	this.lastTimestamp = -1;
+	this.histogram = new LatencyHistogram();
+	this.exemplars = new ArrayList<>(maxExemplars);
+    }
+
+    void add(PerfTestExecutionError error, long latencyNanos, long count,
+	    long timestamp) {
+	this.count += count;
+	if (firstTimestamp == -1) {
+	    firstTimestamp = timestamp;
+	}
+	lastTimestamp = timestamp;
+	histogram.record(latencyNanos, count);
+	if (exemplars.size() < maxExemplars) {
+	    exemplars.add(error);
+	}
+    }
+
+    /** @return the class name of the error cause */
+    public String getType() {
+	return type;
+    }
+
+    public String getMessage() {
+	return message;
+    }
+
+    public long getCount() {
+	return count;
+    }
+
+    /** @return the time of the first error in milliseconds since the epoch */
+    public long getFirstTimestamp() {
+	return firstTimestamp;
+    }
+
+    /** @return the time of the last error in milliseconds since the epoch */
+    public long getLastTimestamp() {
+	return lastTimestamp;
+    }
+
+    /** @return the latencies of the failed invocations in nanoseconds */
+    public LatencyHistogram getHistogram() {
+	return histogram;
+    }
+
+    /** @return the first errors of the group, including stack traces */
+    public List<PerfTestExecutionError> getExemplars() {
+	return Collections.unmodifiableList(exemplars);
+    }
+
+    @Override
+    public String toString() {
+	return count + " x " + type + (message != null ? ": " + message : "");
+    }
+
+}
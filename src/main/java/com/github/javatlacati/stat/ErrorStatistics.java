@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import com.github.javatlacati.contiperf.PerfTestExecutionError;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the errors of a test run in a bounded amount of memory. Errors
+ * are grouped by the type and message of their cause into {@link ErrorGroup}s
+ * which keep statistics and only the first few errors as exemplars, so the
+ * stack traces of all other errors can be garbage collected right away.
+ * Invokers can ask {@link #needsExemplar(Throwable)} to skip capturing stack
+ * traces which would not be retained anyway. When
+ * the maximum number of groups is reached, further kinds of errors are
+ * counted in a common group of type {@link #OTHER_TYPE}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class ErrorStatistics {
+
+    public static final int DEFAULT_MAX_GROUPS = 50;
+    public static final int DEFAULT_MAX_EXEMPLARS = 3;
+    public static final String OTHER_TYPE = "other";
+
+    private final int maxGroups;
+    private final int maxExemplars;
+
+    private final Map<String, ErrorGroup> groups;
+    private long count;
+    private PerfTestExecutionError firstError;
+
+    public ErrorStatistics() {
+	this(DEFAULT_MAX_GROUPS, DEFAULT_MAX_EXEMPLARS);
+    }
+
+    /**
+     * @param maxGroups    the maximum number of error groups to distinguish
+     * @param maxExemplars the number of errors per group which are retained
+     *                     with their stack traces
+     */
+    public ErrorStatistics(int maxGroups, int maxExemplars) {
+	this.maxGroups = maxGroups;
+	this.maxExemplars = maxExemplars;
+	this.groups = new LinkedHashMap<>();
+	this.count = 0;
+    }
+
+    public void add(PerfTestExecutionError error, long latencyNanos) {
+	add(error, latencyNanos, 1);
+    }
+
+    /**
+     * Adds an error which stands for several failed invocations, e.g. a
+     * failed batch of invocations which were timed as a whole.
+     *
+     * @param count the number of invocations the error is counted for
+     */
+    public synchronized void add(PerfTestExecutionError error,
+	    long latencyNanos, long count) {
+	Throwable cause = (error.getCause() != null ? error.getCause() : error);
+	String type = cause.getClass().getName();
+	String message = cause.getMessage();
+	String key = key(cause);
+	ErrorGroup group = groups.get(key);
+	if (group == null) {
+	    if (groups.size() < maxGroups) {
+		group = new ErrorGroup(type, message, maxExemplars);
+		groups.put(key, group);
+	    } else {
+		group = groups.computeIfAbsent(OTHER_TYPE,
+			k -> new ErrorGroup(OTHER_TYPE, null, maxExemplars));
+	    }
+	}
+	group.add(error, latencyNanos, count, System.currentTimeMillis());
+	if (firstError == null) {
+	    firstError = error;
+	}
+	this.count += count;
+    }
+
+    /**
+     * @param cause the cause of an error which is about to be added
+     * @return true if the error would be retained as an exemplar of its
+     *         group, false if it will only be counted
+     */
+    public synchronized boolean needsExemplar(Throwable cause) {
+	ErrorGroup group = groups.get(key(cause));
+	if (group == null) {
+	    if (groups.size() < maxGroups) {
+		return true;
+	    }
+	    group = groups.get(OTHER_TYPE);
+	}
+	return group == null || group.getExemplars().size() < maxExemplars;
+    }
+
+    /** @return the total number of errors */
+    public synchronized long getCount() {
+	return count;
+    }
+
+    public synchronized boolean isEmpty() {
+	return count == 0;
+    }
+
+    /** @return the first error that occurred, or null if there was none */
+    public synchronized PerfTestExecutionError getFirstError() {
+	return firstError;
+    }
+
+    /** @return the error groups in the order of their first occurrence */
+    public synchronized List<ErrorGroup> getGroups() {
+	return new ArrayList<>(groups.values());
+    }
+
+    /** @return the exemplars of all groups */
+    public synchronized List<PerfTestExecutionError> getExemplars() {
+	List<PerfTestExecutionError> result = new ArrayList<>();
+	for (ErrorGroup group : groups.values()) {
+	    result.addAll(group.getExemplars());
+	}
+	return result;
+    }
+
+    private static String key(Throwable cause) {
+	return cause.getClass().getName() + ": " + cause.getMessage();
+    }
+
+    @Override
+    public synchronized String toString() {
+	return getClass().getSimpleName() + "[" + count + " errors in "
+		+ groups.size() + " groups]";
+    }
+
+}
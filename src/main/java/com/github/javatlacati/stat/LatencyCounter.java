@@ -23,14 +23,31 @@
 package com.github.javatlacati.stat;
 
 import java.io.PrintWriter;
-import java.util.ArrayList;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.github.javatlacati.contiperf.PerfTestExecutionError;
 import com.github.javatlacati.contiperf.clock.SystemClock;
 
 /**
- * Counts latencies and calculates performance-related statistics.<br>
+ * Counts latencies and calculates performance-related statistics. Latencies
+ * are recorded with nanosecond resolution in a {@link LatencyDistribution},
+ * by default a {@link LatencyHistogram}; for latencies of more than 24 hours a
+ * {@link LatencySketch} can be used (see {@link DistributionType}). The query
+ * methods without {@link TimeUnit} parameter report milliseconds.<br>
+ * <br>
+ * Samples are recorded into a small pool of {@link LatencyRecorder}s, the
+ * calling thread's id selecting one of them, so that concurrent callers of
+ * {@link #addSampleNanos(long, PerfTestExecutionError)} rarely compete for
+ * the same lock. The pool is bounded by the number of processors, not by the
+ * number of threads, so tests with many thousand virtual threads do not
+ * allocate a distribution per thread. The recorders are merged into the
+ * counter's statistics on {@link #stop()} and before each query, so the
+ * results are the same as with sequential recording.<br>
  * <br>
  * Created: Created: 14.12.2006 18:11:58
  * 
@@ -39,30 +56,63 @@ import com.github.javatlacati.contiperf.clock.SystemClock;
  */
 public final class LatencyCounter {
 
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    /** the number of recorders, a power of two of at least twice the processors */
+    static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime
+	    .getRuntime().availableProcessors() * 4 - 1));
+
     private String name;
     private String clockName;
 
-    private int minLatency;
-    private int maxLatency;
-    private long latencyCounts[];
+    private long minLatency;
+    private long maxLatency;
+    private LatencyDistribution distribution;
 
     private boolean running;
     private long startTime;
     private long endTime;
     private long sampleCount;
     private long totalLatency;
+    /** the sum of squared deviations from the mean in square nanoseconds */
+    private double m2;
 
-    private List<PerfTestExecutionError> assertionErrors = new ArrayList<>(
-			0);
+    private final ErrorStatistics errors = new ErrorStatistics();
+
+    private LatencySnapshot snapshot;
+
+    /** the recorders, created on first use of their stripe */
+    private final AtomicReferenceArray<LatencyRecorder> recorders = new AtomicReferenceArray<>(
+	    STRIPES);
 
     public LatencyCounter(String name) {
-	this(name, SystemClock.NAME, 1000);
+	this(name, SystemClock.NAME);
     }
 
+    public LatencyCounter(String name, String clockName) {
+	this(name, clockName, new LatencyHistogram());
+    }
+
+    public LatencyCounter(String name, String clockName,
+	    DistributionType distributionType) {
+	this(name, clockName, distributionType.create());
+    }
+
+    /**
+     * @deprecated the expected maximum latency is not needed any more, since
+     *             the {@link LatencyHistogram} has a fixed footprint. Use
+     *             {@link #LatencyCounter(String, String)}.
+     */
+    @Deprecated
     public LatencyCounter(String name, String clockName, int expectedMaxLatency) {
+	this(name, clockName);
+    }
+
+    public LatencyCounter(String name, String clockName,
+	    LatencyDistribution distribution) {
 	this.name = name;
 	this.clockName = clockName;
-	this.latencyCounts = new long[1 + expectedMaxLatency];
+	this.distribution = distribution;
 	this.sampleCount = 0;
 	this.totalLatency = 0;
 	this.minLatency = -1;
@@ -90,33 +140,55 @@ public final class LatencyCounter {
 	this.running = true;
     }
 
-    public synchronized void addSample(int latency,
+    /** Adds a sample with a latency in milliseconds. */
+    public void addSample(int latency, PerfTestExecutionError assertionError) {
+	addSampleNanos(latency * NANOS_PER_MILLI, assertionError);
+    }
+
+    /**
+     * Adds a sample with a latency in nanoseconds. Successful samples are
+     * recorded in the calling thread's stripe without locking the counter,
+     * failed invocations are aggregated in the {@link ErrorStatistics}.
+     */
+    public void addSampleNanos(long latency,
 	    PerfTestExecutionError assertionError) {
 	if (null != assertionError) {
-	    this.assertionErrors.add(assertionError);
+	    errors.add(assertionError, latency);
 	} else {
-	    if (latency >= latencyCounts.length) {
-		resize(latency);
-	    }
-	    latencyCounts[latency]++;
-	    sampleCount++;
-	    totalLatency += latency;
-	    if (minLatency == -1 || latency < minLatency) {
-		minLatency = latency;
+	    LatencyRecorder stripe = recorder();
+	    synchronized (stripe) {
+		stripe.record(latency);
 	    }
-	    if (latency > maxLatency) {
-		maxLatency = latency;
+	}
+    }
+
+    /**
+     * Adds several samples with the same latency in nanoseconds, e.g. the
+     * average latency of a batch of invocations which was timed as a whole.
+     * A failed batch is counted as <code>count</code> errors, the same weight
+     * as a successful one, so that the {@link #errorsRate()} is the share of
+     * invocations in failed batches.
+     */
+    public void addSampleNanos(long latency, long count,
+	    PerfTestExecutionError assertionError) {
+	if (null != assertionError) {
+	    errors.add(assertionError, latency, count);
+	} else {
+	    LatencyRecorder stripe = recorder();
+	    synchronized (stripe) {
+		stripe.record(latency, count);
 	    }
 	}
     }
 
-    public void stop() {
+    public synchronized void stop() {
 	if (!running) {
 	    throw new IllegalStateException("Stopping " + this
 		    + " which is not running");
 	}
 	this.running = false;
 	this.endTime = System.currentTimeMillis();
+	collect();
     }
 
     public boolean isRunning() {
@@ -127,61 +199,186 @@ public final class LatencyCounter {
 	return startTime;
     }
 
-    public long getLatencyCount(long latency) {
-	if (latency < latencyCounts.length) {
-	    return latencyCounts[(int) latency];
-	} else {
-	    return 0;
+    /**
+     * @deprecated the counter may use another kind of
+     *             {@link LatencyDistribution}, use {@link #getDistribution()}
+     * @throws IllegalStateException if the counter does not use a
+     *                               {@link LatencyHistogram}
+     */
+    @Deprecated
+    public LatencyHistogram getHistogram() {
+	LatencyDistribution result = getDistribution();
+	if (!(result instanceof LatencyHistogram)) {
+	    throw new IllegalStateException(this + " uses a " + result);
 	}
+	return (LatencyHistogram) result;
+    }
+
+    public synchronized LatencyDistribution getDistribution() {
+	collect();
+	return distribution;
+    }
+
+    /**
+     * @return the number of samples with a latency of the given number of
+     *         milliseconds (to the precision of the distribution)
+     */
+    public synchronized long getLatencyCount(long latency) {
+	collect();
+	return distribution.countBetween(latency * NANOS_PER_MILLI, (latency + 1)
+		* NANOS_PER_MILLI);
     }
 
+    /**
+     * @deprecated errors are aggregated and only a few exemplars per kind of
+     *             error are retained, so the size of the returned list is not
+     *             the number of errors. Use {@link #getErrors()} or
+     *             {@link #errorCount()}.
+     * @return the retained exemplars of all errors
+     */
+    @Deprecated
     public List<PerfTestExecutionError> getAssertionErrors() {
-	return assertionErrors;
+	return errors.getExemplars();
+    }
+
+    public ErrorStatistics getErrors() {
+	return errors;
+    }
+
+    public long errorCount() {
+	return errors.getCount();
     }
 
     public long totalLatency() {
-	return totalLatency;
+	return totalLatency(TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized long totalLatency(TimeUnit unit) {
+	collect();
+	return unit.convert(totalLatency, TimeUnit.NANOSECONDS);
     }
 
     public double averageLatency() {
-	return (double) totalLatency / sampleCount;
+	return averageLatency(TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized double averageLatency(TimeUnit unit) {
+	collect();
+	return (double) totalLatency / sampleCount / unit.toNanos(1);
     }
 
     public long minLatency() {
-	return Math.max(minLatency, 0);
+	return minLatency(TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized long minLatency(TimeUnit unit) {
+	collect();
+	return unit.convert(Math.max(minLatency, 0), TimeUnit.NANOSECONDS);
     }
 
     public long maxLatency() {
-	return Math.max(maxLatency, 0);
+	return maxLatency(TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized long maxLatency(TimeUnit unit) {
+	collect();
+	return unit.convert(Math.max(maxLatency, 0), TimeUnit.NANOSECONDS);
     }
 
-    public long sampleCount() {
+    public synchronized long sampleCount() {
+	collect();
 	return sampleCount;
     }
 
-    public long totalInvocations() {
+    public synchronized long totalInvocations() {
+	collect();
+	return sampleCount + errors.getCount();
+    }
+
+    public double standardDeviation() {
+	return standardDeviation(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the sample standard deviation of the latencies, or 0 if there
+     *         are less than two samples
+     */
+    public double standardDeviation(TimeUnit unit) {
+	return snapshot().standardDeviation(unit);
+    }
+
+    /**
+     * @return the ratio of the standard deviation to the average latency, or
+     *         0 if there are less than two samples
+     */
+    public double coefficientOfVariation() {
+	return snapshot().coefficientOfVariation();
+    }
+
+    /** @see LatencySnapshot#meanConfidenceInterval(double, TimeUnit) */
+    public ConfidenceInterval meanConfidenceInterval(double level,
+	    TimeUnit unit) {
+	return snapshot().meanConfidenceInterval(level, unit);
+    }
 
-	return sampleCount + assertionErrors.size();
+    /**
+     * @see LatencySnapshot#percentileConfidenceInterval(double, double,
+     *      TimeUnit)
+     */
+    public ConfidenceInterval percentileConfidenceInterval(double percentile,
+	    double level, TimeUnit unit) {
+	return snapshot().percentileConfidenceInterval(percentile, level, unit);
     }
 
     public long percentileLatency(int percentile) {
-	long targetCount = percentile * sampleCount / 100;
-	long count = 0;
-	for (long value = minLatency(); value <= maxLatency; value++) {
-	    count += getLatencyCount(value);
-	    if (count >= targetCount) {
-		return value;
-	    }
-	}
-	return maxLatency;
+	return percentileLatency(percentile, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the latency below or at which the given percentage of samples
+     *         lies, to the precision of the distribution
+     */
+    public long percentileLatency(double percentile, TimeUnit unit) {
+	return snapshot().percentileLatency(percentile, unit);
     }
 
+    /**
+     * Evaluates several percentiles in one pass.
+     * 
+     * @see LatencySnapshot#percentileLatencies(int[], TimeUnit)
+     */
+    public long[] percentileLatencies(int[] percentiles, TimeUnit unit) {
+	return snapshot().percentileLatencies(percentiles, unit);
+    }
+
+    /** @see LatencySnapshot#percentileLatencies(double[], TimeUnit) */
+    public long[] percentileLatencies(double[] percentiles, TimeUnit unit) {
+	return snapshot().percentileLatencies(percentiles, unit);
+    }
+
+    /**
+     * @return the percentage of samples with a latency of more than the given
+     *         number of milliseconds
+     */
     public double percentileAboveLatency(int latency) {
-	long count = 0;
-	for (long value = latency + 1; value <= maxLatency; value++) {
-	    count += getLatencyCount(value);
+	return percentileAboveLatency(latency, TimeUnit.MILLISECONDS);
+    }
+
+    public double percentileAboveLatency(long latency, TimeUnit unit) {
+	return snapshot().percentileAboveLatency(latency, unit);
+    }
+
+    /**
+     * Provides a frozen view of the statistics recorded so far. The snapshot
+     * is cached until new samples are merged into the counter.
+     */
+    public synchronized LatencySnapshot snapshot() {
+	collect();
+	if (snapshot == null) {
+	    snapshot = new LatencySnapshot(distribution, sampleCount,
+		    totalLatency, minLatency, maxLatency, m2);
 	}
-	return (count * 100.) / sampleCount;
+	return snapshot;
     }
 
     public double throughput() {
@@ -189,44 +386,169 @@ public final class LatencyCounter {
 	    throw new IllegalArgumentException(
 		    "Invalid setup: Use start() and stop() to indicate test start and end!");
 	}
-	return 1000. * sampleCount / duration();
+	return 1000. * sampleCount() / duration();
     }
 
     public long duration() {
 	return endTime - startTime;
     }
 
-    public double errorsRate() {
+    public synchronized double errorsRate() {
+	return ((double) errors.getCount()) / totalInvocations();
+    }
+
+    public synchronized void printSummary(PrintWriter out, int... percentiles) {
+	collect();
+	DecimalFormat df = new DecimalFormat("0.###",
+		DecimalFormatSymbols.getInstance(Locale.US));
+	out.println("samples: " + sampleCount);
+	out.println("max:     " + df.format(maxLatency(TimeUnit.NANOSECONDS)
+		/ (double) NANOS_PER_MILLI));
+	out.println("average: " + averageLatency() + " "
+		+ interval(meanConfidenceInterval(ConfidenceInterval.DEFAULT_LEVEL,
+			TimeUnit.MILLISECONDS), df));
+	out.println("stddev:  " + df.format(standardDeviation()) + " (cv "
+		+ df.format(coefficientOfVariation()) + ")");
+	out.println("median:  " + df.format(percentileLatency(50,
+		TimeUnit.NANOSECONDS) / (double) NANOS_PER_MILLI));
+	long[] values = percentileLatencies(percentiles, TimeUnit.NANOSECONDS);
+	for (int i = 0; i < percentiles.length; i++) {
+	    out.println(percentiles[i] + "%:     "
+		    + df.format(values[i] / (double) NANOS_PER_MILLI) + " "
+		    + interval(percentileConfidenceInterval(percentiles[i],
+			    ConfidenceInterval.DEFAULT_LEVEL,
+			    TimeUnit.MILLISECONDS), df));
+	}
+	if (!errors.isEmpty()) {
+	    out.println("errors:  " + errors.getCount() + " ("
+		    + (errorsRate() * 100.) + "%)");
+	    for (ErrorGroup group : errors.getGroups()) {
+		out.println("         " + group);
+	    }
+	}
+	out.flush();
+    }
+
+    /**
+     * Provides a snapshot of the statistics recorded so far and starts over
+     * with empty statistics. Samples which are recorded concurrently end up
+     * either in the returned snapshot or in the next one.
+     */
+    public synchronized LatencySnapshot snapshotAndReset() {
+	LatencySnapshot result = snapshot();
+	distribution.reset();
+	sampleCount = 0;
+	totalLatency = 0;
+	minLatency = -1;
+	maxLatency = -1;
+	m2 = 0;
+	snapshot = null;
+	return result;
+    }
 
-	return ((double) assertionErrors.size()) / totalInvocations();
+    /**
+     * Adds the samples of another counter to this one. Both counters need to
+     * use the same type and configuration of {@link LatencyDistribution}.
+     * Errors are not merged.
+     */
+    public void merge(LatencyCounter other) {
+	LatencyDistribution copy;
+	long count;
+	long total;
+	long min;
+	long max;
+	double otherM2;
+	synchronized (other) {
+	    other.collect();
+	    count = other.sampleCount;
+	    if (count == 0) {
+		return;
+	    }
+	    copy = other.distribution.emptyCopy();
+	    copy.add(other.distribution);
+	    total = other.totalLatency;
+	    min = other.minLatency;
+	    max = other.maxLatency;
+	    otherM2 = other.m2;
+	}
+	// the other counter's lock is released before this one is acquired,
+	// so concurrent merges in opposite directions cannot deadlock
+	merge(copy, count, total, min, max, otherM2);
+    }
+
+    /**
+     * Adds the statistics drained from a {@link LatencyRecorder}. The sums of
+     * squared deviations are combined with the parallel variant of Welford's
+     * algorithm (Chan et al.), so the result is independent of how the
+     * samples were distributed over the recorders.
+     */
+    synchronized void merge(LatencyDistribution recordedDistribution,
+	    long recordedCount, long recordedTotal, long recordedMin,
+	    long recordedMax, double recordedM2) {
+	distribution.add(recordedDistribution);
+	snapshot = null;
+	if (sampleCount == 0) {
+	    m2 = recordedM2;
+	} else {
+	    double delta = (double) recordedTotal / recordedCount
+		    - (double) totalLatency / sampleCount;
+	    m2 += recordedM2 + delta * delta * sampleCount * recordedCount
+		    / (sampleCount + recordedCount);
+	}
+	sampleCount += recordedCount;
+	totalLatency += recordedTotal;
+	if (minLatency == -1 || recordedMin < minLatency) {
+	    minLatency = recordedMin;
+	}
+	if (recordedMax > maxLatency) {
+	    maxLatency = recordedMax;
+	}
     }
 
     // private helpers
     // -------------------------------------------------------------------------------------------------
 
-    private void resize(int requestedIndex) {
-	int sizingFactor = (requestedIndex + latencyCounts.length)
-		/ latencyCounts.length;
-	int newLength = sizingFactor * latencyCounts.length;
-	long[] newLatencyCounts = new long[newLength];
-	System.arraycopy(latencyCounts, 0, newLatencyCounts, 0,
-		latencyCounts.length);
-	latencyCounts = newLatencyCounts;
+    /** @return the recorder of the stripe selected by the current thread */
+    private LatencyRecorder recorder() {
+	long id = Thread.currentThread().getId();
+	// spreads consecutive thread ids over the stripes
+	int stripe = (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (STRIPES - 1);
+	LatencyRecorder result = recorders.get(stripe);
+	if (result == null) {
+	    recorders.compareAndSet(stripe, null, new LatencyRecorder(distribution));
+	    result = recorders.get(stripe);
+	}
+	return result;
     }
 
-    public void printSummary(PrintWriter out, int... percentiles) {
-	out.println("samples: " + sampleCount);
-	out.println("max:     " + maxLatency());
-	out.println("average: " + averageLatency());
-	out.println("median:  " + percentileLatency(50));
-	for (int percentile : percentiles) {
-	    out.println(percentile + "%:     " + percentileLatency(percentile));
-	}
-	if (assertionErrors.size() > 0) {
-	    out.println("errors:  " + assertionErrors.size() + " ("
-		    + (errorsRate() * 100.) + "%)");
+    /** @return the number of recorders which have been created */
+    int recorderCount() {
+	int count = 0;
+	for (int i = 0; i < STRIPES; i++) {
+	    if (recorders.get(i) != null) {
+		count++;
+	    }
+	}
+	return count;
+    }
+
+    private static String interval(ConfidenceInterval interval,
+	    DecimalFormat format) {
+	return "(" + format.format(interval.getLevel() * 100) + "% CI "
+		+ format.format(interval.getLower()) + " - "
+		+ format.format(interval.getUpper()) + ")";
+    }
+
+    /** Drains all recorders into the counter's statistics. */
+    private synchronized void collect() {
+	for (int i = 0; i < STRIPES; i++) {
+	    LatencyRecorder stripeRecorder = recorders.get(i);
+	    if (stripeRecorder != null) {
+		synchronized (stripeRecorder) {
+		    stripeRecorder.drainTo(this);
+		}
+	    }
 	}
-	out.flush();
     }
 
     // java.lang.Object overrides
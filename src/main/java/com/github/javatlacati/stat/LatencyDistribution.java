@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+/**
+ * Common abstraction of the data structures in which a {@link LatencyCounter}
+ * records the distribution of latencies. Recorded values are counted in
+ * buckets which are addressed by an index; the buckets of equally configured
+ * distributions line up, so that they can be merged without loss. Implementations
+ * are not thread-safe, callers need to synchronize access.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @see LatencyHistogram
+ * @see LatencySketch
+ * @see SparseLatencyDistribution
+ * @since 2.4.4
+ */
+public interface LatencyDistribution {
+
+    void record(long value);
+
+    void record(long value, long count);
+
+    /**
+     * Adds all counts of another distribution of the same type and
+     * configuration to this one.
+     *
+     * @throws IllegalArgumentException if the other distribution is not
+     *                                  compatible
+     */
+    void add(LatencyDistribution other);
+
+    /** Removes all recorded values. */
+    void reset();
+
+    /** @return a new, empty distribution with the same configuration */
+    LatencyDistribution emptyCopy();
+
+    long getTotalCount();
+
+    /** @return the lowest index with a non-zero count or -1 if empty */
+    int getLowestIndex();
+
+    /** @return the highest index with a non-zero count or -1 if empty */
+    int getHighestIndex();
+
+    long getCountAtIndex(int index);
+
+    long lowestValueAtIndex(int index);
+
+    long highestValueAtIndex(int index);
+
+    /**
+     * @return the value by which the values of the bucket are represented in
+     *         percentile queries
+     */
+    long valueAtIndex(int index);
+
+    int indexFor(long value);
+
+    /**
+     * Determines the value below or at which the given percentage of the
+     * recorded values lies.
+     *
+     * @return the representative value of the bucket in which the percentile
+     *         was found, or 0 if the distribution is empty.
+     */
+    long valueAtPercentile(double percentile);
+
+    /**
+     * @return the number of recorded values in the buckets whose lowest value
+     *         is in the range from low (inclusive) to high (exclusive)
+     */
+    long countBetween(long low, long high);
+
+}
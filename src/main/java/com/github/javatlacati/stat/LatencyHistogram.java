@@ -0,0 +1,324 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log-linear histogram of non-negative long values with a fixed memory
+ * footprint. The value range is split into buckets of powers of two, each of
+ * which is divided into linear sub buckets, so that each recorded value is
+ * represented with the configured number of significant decimal digits. With
+ * the default settings, values from 1 ns to 24 hours are tracked with a
+ * relative error below 1% in about 40 KB of memory. Larger values are counted
+ * in the highest bucket. For latencies beyond that range use a
+ * {@link LatencySketch}.<br>
+ * <br>
+ * The class is not thread-safe, callers need to synchronize access.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class LatencyHistogram implements LatencyDistribution {
+
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS
+	    .toNanos(24);
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+
+    private final long[] counts;
+    private long totalCount;
+    private int lowestIndex;
+    private int highestIndex;
+
+    public LatencyHistogram() {
+	this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+	if (significantDigits < 1 || significantDigits > 5) {
+	    throw new IllegalArgumentException(
+		    "significantDigits must be between 1 and 5, but was "
+			    + significantDigits);
+	}
+	if (highestTrackableValue < 2) {
+	    throw new IllegalArgumentException(
+		    "highestTrackableValue must be 2 or more, but was "
+			    + highestTrackableValue);
+	}
+	this.highestTrackableValue = highestTrackableValue;
+	this.significantDigits = significantDigits;
+	long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10,
+		significantDigits);
+	int subBucketCountMagnitude = (int) Math.ceil(Math
+		.log(largestValueWithSingleUnitResolution) / Math.log(2));
+	this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+	int subBucketCount = 1 << subBucketCountMagnitude;
+	this.subBucketHalfCount = subBucketCount / 2;
+	this.subBucketMask = subBucketCount - 1;
+	this.leadingZeroCountBase = 64 - subBucketCountMagnitude;
+	this.counts = new long[(bucketsNeeded(subBucketCount) + 1)
+		* subBucketHalfCount];
+	this.totalCount = 0;
+	this.lowestIndex = -1;
+	this.highestIndex = -1;
+    }
+
+    public LatencyHistogram(LatencyHistogram prototype) {
+	this(prototype.highestTrackableValue, prototype.significantDigits);
+    }
+
+    // properties
+    // ------------------------------------------------------------------------------------------------------
+
+    public long getHighestTrackableValue() {
+	return highestTrackableValue;
+    }
+
+    public int getSignificantDigits() {
+	return significantDigits;
+    }
+
+    @Override
+    public long getTotalCount() {
+	return totalCount;
+    }
+
+    // recording
+    // -------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void record(long value) {
+	record(value, 1);
+    }
+
+    @Override
+    public void record(long value, long count) {
+	int index = indexFor(value);
+	counts[index] += count;
+	totalCount += count;
+	if (lowestIndex == -1 || index < lowestIndex) {
+	    lowestIndex = index;
+	}
+	if (index > highestIndex) {
+	    highestIndex = index;
+	}
+    }
+
+    /**
+     * Adds all counts of another histogram with the same configuration to
+     * this one.
+     */
+    @Override
+    public void add(LatencyDistribution distribution) {
+	if (!(distribution instanceof LatencyHistogram)
+		|| ((LatencyHistogram) distribution).counts.length != counts.length
+		|| ((LatencyHistogram) distribution).significantDigits != significantDigits) {
+	    throw new IllegalArgumentException(
+		    "Cannot add histograms of different configuration: "
+			    + this + ", " + distribution);
+	}
+	LatencyHistogram other = (LatencyHistogram) distribution;
+	if (other.totalCount == 0) {
+	    return;
+	}
+	for (int i = other.lowestIndex; i <= other.highestIndex; i++) {
+	    counts[i] += other.counts[i];
+	}
+	totalCount += other.totalCount;
+	if (lowestIndex == -1 || other.lowestIndex < lowestIndex) {
+	    lowestIndex = other.lowestIndex;
+	}
+	if (other.highestIndex > highestIndex) {
+	    highestIndex = other.highestIndex;
+	}
+    }
+
+    @Override
+    public void reset() {
+	if (totalCount > 0) {
+	    Arrays.fill(counts, lowestIndex, highestIndex + 1, 0);
+	}
+	totalCount = 0;
+	lowestIndex = -1;
+	highestIndex = -1;
+    }
+
+    @Override
+    public LatencyHistogram emptyCopy() {
+	return new LatencyHistogram(this);
+    }
+
+    // queries
+    // ---------------------------------------------------------------------------------------------------------
+
+    @Override
+    public int getLowestIndex() {
+	return lowestIndex;
+    }
+
+    @Override
+    public int getHighestIndex() {
+	return highestIndex;
+    }
+
+    @Override
+    public long getCountAtIndex(int index) {
+	return counts[index];
+    }
+
+    @Override
+    public long lowestValueAtIndex(int index) {
+	int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+	int subBucketIndex = (index & (subBucketHalfCount - 1))
+		+ subBucketHalfCount;
+	if (bucketIndex < 0) {
+	    subBucketIndex -= subBucketHalfCount;
+	    bucketIndex = 0;
+	}
+	return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    @Override
+    public long highestValueAtIndex(int index) {
+	if (index + 1 < counts.length) {
+	    return lowestValueAtIndex(index + 1) - 1;
+	} else {
+	    return Long.MAX_VALUE;
+	}
+    }
+
+    /** @return the highest value of the bucket */
+    @Override
+    public long valueAtIndex(int index) {
+	return highestValueAtIndex(index);
+    }
+
+    @Override
+    public int indexFor(long value) {
+	if (value < 0) {
+	    value = 0;
+	} else if (value > highestTrackableValue) {
+	    value = highestTrackableValue;
+	}
+	int bucketIndex = leadingZeroCountBase
+		- Long.numberOfLeadingZeros(value | subBucketMask);
+	int subBucketIndex = (int) (value >>> bucketIndex);
+	return ((bucketIndex + 1) << subBucketHalfCountMagnitude)
+		+ (subBucketIndex - subBucketHalfCount);
+    }
+
+    /**
+     * Determines the value below or at which the given percentage of the
+     * recorded values lies.
+     *
+     * @return the highest value which is equivalent to the bucket in which the
+     *         percentile was found, or 0 if the histogram is empty.
+     */
+    @Override
+    public long valueAtPercentile(double percentile) {
+	if (totalCount == 0) {
+	    return 0;
+	}
+	long targetCount = (long) (percentile * totalCount / 100);
+	long count = 0;
+	for (int i = lowestIndex; i <= highestIndex; i++) {
+	    count += counts[i];
+	    if (count >= targetCount && count > 0) {
+		return highestValueAtIndex(i);
+	    }
+	}
+	return highestValueAtIndex(highestIndex);
+    }
+
+    /**
+     * @return the number of recorded values which are in buckets above the one
+     *         of the given value
+     */
+    public long countAbove(long value) {
+	if (totalCount == 0) {
+	    return 0;
+	}
+	long count = 0;
+	for (int i = Math.max(indexFor(value) + 1, lowestIndex); i <= highestIndex; i++) {
+	    count += counts[i];
+	}
+	return count;
+    }
+
+    /**
+     * @return the number of recorded values in the buckets whose lowest value
+     *         is in the range from low (inclusive) to high (exclusive)
+     */
+    @Override
+    public long countBetween(long low, long high) {
+	if (totalCount == 0 || high <= low) {
+	    return 0;
+	}
+	long count = 0;
+	int i = Math.max(indexFor(low), lowestIndex);
+	if (lowestValueAtIndex(i) < low) {
+	    i++;
+	}
+	for (; i <= highestIndex && lowestValueAtIndex(i) < high; i++) {
+	    count += counts[i];
+	}
+	return count;
+    }
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private int bucketsNeeded(int subBucketCount) {
+	long smallestUntrackableValue = subBucketCount;
+	int bucketsNeeded = 1;
+	while (smallestUntrackableValue <= highestTrackableValue) {
+	    if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+		return bucketsNeeded + 1;
+	    }
+	    smallestUntrackableValue <<= 1;
+	    bucketsNeeded++;
+	}
+	return bucketsNeeded;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + totalCount + " values, "
+		+ significantDigits + " significant digits]";
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+/**
+ * The latency distribution of the samples recorded in one time window of a
+ * test run.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class LatencyInterval {
+
+    private final long startTime;
+    private final long endTime;
+    private final LatencySnapshot snapshot;
+
+    /**
+     * @param startTime the begin of the interval in milliseconds since the epoch
+     * @param endTime   the end of the interval in milliseconds since the epoch
+     * @param snapshot  the latencies recorded within the interval
+     */
+    public LatencyInterval(long startTime, long endTime, LatencySnapshot snapshot) {
+	this.startTime = startTime;
+	this.endTime = endTime;
+	this.snapshot = snapshot;
+    }
+
+    public long getStartTime() {
+	return startTime;
+    }
+
+    public long getEndTime() {
+	return endTime;
+    }
+
+    public LatencySnapshot getSnapshot() {
+	return snapshot;
+    }
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + startTime + "-" + endTime
+		+ ", " + snapshot.sampleCount() + " samples]";
+    }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quantile sketch of non-negative long values with a guaranteed relative
+ * accuracy, following the DDSketch approach: A value v &gt; 0 is counted in
+ * the bucket with the key ceil(log<sub>&gamma;</sub>(v)) with
+ * &gamma; = (1 + &alpha;) / (1 - &alpha;), so every value of a bucket lies
+ * within the relative accuracy &alpha; of the bucket's representative value.
+ * The buckets cover the whole range of long values, so no value is clamped,
+ * and the memory footprint is constant: about 17 KB for the default accuracy
+ * of 1%. Sketches of the same accuracy are merged without loss by adding
+ * their counts.<br>
+ * <br>
+ * The class is not thread-safe, callers need to synchronize access.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class LatencySketch implements LatencyDistribution {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final Map<Double, long[]> UPPER_BOUNDS = new ConcurrentHashMap<>();
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    /** the highest value of each bucket, shared by all sketches of the same accuracy */
+    private final long[] upperBounds;
+
+    private final long[] counts;
+    private long totalCount;
+    private int lowestIndex;
+    private int highestIndex;
+
+    public LatencySketch() {
+	this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param relativeAccuracy the maximum relative error of percentile
+     *                         values, from 0.0001 to 0.5
+     */
+    public LatencySketch(double relativeAccuracy) {
+	if (!(relativeAccuracy >= 0.0001 && relativeAccuracy <= 0.5)) {
+	    throw new IllegalArgumentException(
+		    "relativeAccuracy must be between 0.0001 and 0.5, but was "
+			    + relativeAccuracy);
+	}
+	this.relativeAccuracy = relativeAccuracy;
+	this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+	this.logGamma = Math.log(gamma);
+	// index 0 counts zeros, index key + 1 counts the values of the key
+	this.upperBounds = UPPER_BOUNDS.computeIfAbsent(relativeAccuracy,
+		accuracy -> calculateUpperBounds());
+	this.counts = new long[upperBounds.length];
+	this.lowestIndex = -1;
+	this.highestIndex = -1;
+    }
+
+    private LatencySketch(LatencySketch prototype) {
+	this.relativeAccuracy = prototype.relativeAccuracy;
+	this.gamma = prototype.gamma;
+	this.logGamma = prototype.logGamma;
+	this.upperBounds = prototype.upperBounds;
+	this.counts = new long[prototype.counts.length];
+	this.lowestIndex = -1;
+	this.highestIndex = -1;
+    }
+
+    // properties
+    // ------------------------------------------------------------------------------------------------------
+
+    public double getRelativeAccuracy() {
+	return relativeAccuracy;
+    }
+
+    @Override
+    public long getTotalCount() {
+	return totalCount;
+    }
+
+    // recording
+    // -------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void record(long value) {
+	record(value, 1);
+    }
+
+    @Override
+    public void record(long value, long count) {
+	int index = indexFor(value);
+	counts[index] += count;
+	totalCount += count;
+	if (lowestIndex == -1 || index < lowestIndex) {
+	    lowestIndex = index;
+	}
+	if (index > highestIndex) {
+	    highestIndex = index;
+	}
+    }
+
+    @Override
+    public void add(LatencyDistribution distribution) {
+	if (!(distribution instanceof LatencySketch)
+		|| ((LatencySketch) distribution).relativeAccuracy != relativeAccuracy) {
+	    throw new IllegalArgumentException(
+		    "Cannot add distributions of different configuration: "
+			    + this + ", " + distribution);
+	}
+	LatencySketch other = (LatencySketch) distribution;
+	if (other.totalCount == 0) {
+	    return;
+	}
+	for (int i = other.lowestIndex; i <= other.highestIndex; i++) {
+	    counts[i] += other.counts[i];
+	}
+	totalCount += other.totalCount;
+	if (lowestIndex == -1 || other.lowestIndex < lowestIndex) {
+	    lowestIndex = other.lowestIndex;
+	}
+	if (other.highestIndex > highestIndex) {
+	    highestIndex = other.highestIndex;
+	}
+    }
+
+    @Override
+    public void reset() {
+	if (totalCount > 0) {
+	    Arrays.fill(counts, lowestIndex, highestIndex + 1, 0);
+	}
+	totalCount = 0;
+	lowestIndex = -1;
+	highestIndex = -1;
+    }
+
+    @Override
+    public LatencySketch emptyCopy() {
+	return new LatencySketch(this);
+    }
+
+    // queries
+    // ---------------------------------------------------------------------------------------------------------
+
+    @Override
+    public int getLowestIndex() {
+	return lowestIndex;
+    }
+
+    @Override
+    public int getHighestIndex() {
+	return highestIndex;
+    }
+
+    @Override
+    public long getCountAtIndex(int index) {
+	return counts[index];
+    }
+
+    @Override
+    public long lowestValueAtIndex(int index) {
+	return (index == 0 ? 0 : upperBounds[index - 1] + 1);
+    }
+
+    @Override
+    public long highestValueAtIndex(int index) {
+	return upperBounds[index];
+    }
+
+    /**
+     * @return the value 2 * &gamma;<sup>key</sup> / (&gamma; + 1) which
+     *         differs from all values of the bucket by at most the relative
+     *         accuracy
+     */
+    @Override
+    public long valueAtIndex(int index) {
+	if (index == 0) {
+	    return 0;
+	}
+	long value = Math.round(2 * Math.pow(gamma, index - 1) / (gamma + 1));
+	return Math.max(lowestValueAtIndex(index),
+		Math.min(value, highestValueAtIndex(index)));
+    }
+
+    @Override
+    public int indexFor(long value) {
+	if (value <= 0) {
+	    return 0;
+	}
+	return Math.min(key(value) + 1, counts.length - 1);
+    }
+
+    @Override
+    public long valueAtPercentile(double percentile) {
+	if (totalCount == 0) {
+	    return 0;
+	}
+	long targetCount = (long) (percentile * totalCount / 100);
+	long count = 0;
+	for (int i = lowestIndex; i <= highestIndex; i++) {
+	    count += counts[i];
+	    if (count >= targetCount && count > 0) {
+		return valueAtIndex(i);
+	    }
+	}
+	return valueAtIndex(highestIndex);
+    }
+
+    @Override
+    public long countBetween(long low, long high) {
+	if (totalCount == 0 || high <= low) {
+	    return 0;
+	}
+	long count = 0;
+	int i = Math.max(indexFor(low), lowestIndex);
+	if (lowestValueAtIndex(i) < low) {
+	    i++;
+	}
+	for (; i <= highestIndex && lowestValueAtIndex(i) < high; i++) {
+	    count += counts[i];
+	}
+	return count;
+    }
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private int key(long value) {
+	return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Determines the highest value which {@link #indexFor(long)} maps to each
+     * index, so that the bucket bounds are consistent with the floating point
+     * calculation of the keys. For indexes of small keys which no integer
+     * maps to, the bound is the one of the bucket below.
+     */
+    private long[] calculateUpperBounds() {
+	long[] bounds = new long[key(Long.MAX_VALUE) + 2];
+	for (int i = 1; i < bounds.length - 1; i++) {
+	    // binary search for the highest value with an index <= i
+	    long low = bounds[i - 1];
+	    long high = Long.MAX_VALUE;
+	    while (low < high) {
+		long mid = low + (high - low) / 2 + 1;
+		if (key(mid) + 1 <= i) {
+		    low = mid;
+		} else {
+		    high = mid - 1;
+		}
+	    }
+	    bounds[i] = low;
+	}
+	bounds[bounds.length - 1] = Long.MAX_VALUE;
+	return bounds;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + totalCount
+		+ " values, relative accuracy " + relativeAccuracy + "]";
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable view of the latency distribution of a {@link LatencyCounter} at a
+ * point in time. Only the non-empty buckets of its {@link LatencyDistribution}
+ * are kept, together with their cumulative counts, so that percentile queries
+ * are answered by binary search. {@link #percentileLatencies(int[], TimeUnit)} evaluates a whole set
+ * of percentiles in a single pass.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @see LatencyCounter#snapshot()
+ * @since 2.4.4
+ */
+public final class LatencySnapshot {
+
+    private final long sampleCount;
+    private final long totalLatency;
+    private final long minLatency;
+    private final long maxLatency;
+    private final double m2;
+
+    private final long[] lowerValues;
+    private final long[] upperValues;
+    private final long[] values;
+    private final long[] cumulativeCounts;
+
+    LatencySnapshot(LatencyDistribution distribution, long sampleCount,
+		    long totalLatency, long minLatency, long maxLatency,
+		    double m2) {
+	this.sampleCount = sampleCount;
+	this.totalLatency = totalLatency;
+	this.minLatency = Math.max(minLatency, 0);
+	this.maxLatency = Math.max(maxLatency, 0);
+	this.m2 = m2;
+	int lowestIndex = distribution.getLowestIndex();
+	int highestIndex = distribution.getHighestIndex();
+	int buckets = 0;
+	for (int i = Math.max(lowestIndex, 0); i <= highestIndex; i++) {
+	    if (distribution.getCountAtIndex(i) > 0) {
+		buckets++;
+	    }
+	}
+	this.lowerValues = new long[buckets];
+	this.upperValues = new long[buckets];
+	this.values = new long[buckets];
+	this.cumulativeCounts = new long[buckets];
+	long cumulativeCount = 0;
+	int bucket = 0;
+	for (int i = Math.max(lowestIndex, 0); i <= highestIndex; i++) {
+	    long count = distribution.getCountAtIndex(i);
+	    if (count > 0) {
+		cumulativeCount += count;
+		lowerValues[bucket] = distribution.lowestValueAtIndex(i);
+		upperValues[bucket] = distribution.highestValueAtIndex(i);
+		values[bucket] = distribution.valueAtIndex(i);
+		cumulativeCounts[bucket] = cumulativeCount;
+		bucket++;
+	    }
+	}
+    }
+
+    // basic statistics
+    // ------------------------------------------------------------------------------------------------
+
+    public long sampleCount() {
+	return sampleCount;
+    }
+
+    public long totalLatency(TimeUnit unit) {
+	return unit.convert(totalLatency, TimeUnit.NANOSECONDS);
+    }
+
+    public double averageLatency(TimeUnit unit) {
+	return (double) totalLatency / sampleCount / unit.toNanos(1);
+    }
+
+    public long minLatency(TimeUnit unit) {
+	return unit.convert(minLatency, TimeUnit.NANOSECONDS);
+    }
+
+    public long maxLatency(TimeUnit unit) {
+	return unit.convert(maxLatency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the sample standard deviation of the latencies, or 0 if there
+     *         are less than two samples
+     */
+    public double standardDeviation(TimeUnit unit) {
+	if (sampleCount < 2) {
+	    return 0;
+	}
+	return Math.sqrt(Math.max(m2, 0) / (sampleCount - 1)) / unit.toNanos(1);
+    }
+
+    /**
+     * @return the ratio of the standard deviation to the average latency, or
+     *         0 if there are less than two samples or the average is 0
+     */
+    public double coefficientOfVariation() {
+	if (sampleCount < 2 || totalLatency == 0) {
+	    return 0;
+	}
+	return standardDeviation(TimeUnit.NANOSECONDS)
+		/ averageLatency(TimeUnit.NANOSECONDS);
+    }
+
+    // percentiles
+    // -----------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the latency below or at which the given percentage of samples
+     *         lies, to the precision of the distribution
+     */
+    public long percentileLatency(double percentile, TimeUnit unit) {
+	if (sampleCount == 0 || cumulativeCounts.length == 0) {
+	    return 0;
+	}
+	int bucket = bucketOfCount(targetCount(percentile));
+	return unit.convert(clamp(values[bucket]), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Evaluates several percentiles in a single pass over the buckets.
+     *
+     * @param percentiles the percentiles to evaluate, in any order
+     * @return the latencies of the percentiles in the order of the
+     *         percentiles parameter
+     */
+    public long[] percentileLatencies(int[] percentiles, TimeUnit unit) {
+	double[] values = new double[percentiles.length];
+	for (int i = 0; i < percentiles.length; i++) {
+	    values[i] = percentiles[i];
+	}
+	return percentileLatencies(values, unit);
+    }
+
+    /**
+     * Evaluates several percentiles like 99.9 in a single pass over the
+     * buckets.
+     *
+     * @see #percentileLatencies(int[], TimeUnit)
+     */
+    public long[] percentileLatencies(double[] percentiles, TimeUnit unit) {
+	long[] result = new long[percentiles.length];
+	if (sampleCount == 0 || cumulativeCounts.length == 0) {
+	    return result;
+	}
+	Integer[] order = new Integer[percentiles.length];
+	for (int i = 0; i < order.length; i++) {
+	    order[i] = i;
+	}
+	Arrays.sort(order, (a, b) -> Double.compare(percentiles[a], percentiles[b]));
+	int bucket = 0;
+	for (int i : order) {
+	    long target = Math.max(targetCount(percentiles[i]), 1);
+	    while (bucket < cumulativeCounts.length - 1
+		    && cumulativeCounts[bucket] < target) {
+		bucket++;
+	    }
+	    result[i] = unit.convert(clamp(values[bucket]),
+		    TimeUnit.NANOSECONDS);
+	}
+	return result;
+    }
+
+    // confidence intervals
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Estimates the interval which contains the true average latency with the
+     * given confidence level, using Student's t distribution.
+     *
+     * @return the interval, degenerated to the average if there are less
+     *         than two samples. The lower bound is not negative.
+     */
+    public ConfidenceInterval meanConfidenceInterval(double level, TimeUnit unit) {
+	ConfidenceInterval.checkLevel(level);
+	double mean = (sampleCount > 0 ? averageLatency(unit) : 0);
+	if (sampleCount < 2) {
+	    return new ConfidenceInterval(mean, mean, level);
+	}
+	double halfWidth = ConfidenceInterval.tValue(level, sampleCount - 1)
+		* standardDeviation(unit) / Math.sqrt(sampleCount);
+	return new ConfidenceInterval(Math.max(mean - halfWidth, 0),
+		mean + halfWidth, level);
+    }
+
+    /**
+     * Estimates the interval which contains the true percentile with the given
+     * confidence level. The bounds are order statistics whose ranks are
+     * derived from the binomial distribution of the number of samples below
+     * the percentile (in its normal approximation), so no assumption about
+     * the latency distribution is made. With few samples, the upper bound of
+     * a high percentile is the maximum latency.
+     */
+    public ConfidenceInterval percentileConfidenceInterval(double percentile,
+							   double level, TimeUnit unit) {
+	ConfidenceInterval.checkLevel(level);
+	if (sampleCount == 0 || cumulativeCounts.length == 0) {
+	    return new ConfidenceInterval(0, 0, level);
+	}
+	double p = percentile / 100;
+	double expectedRank = p * sampleCount;
+	double deviation = ConfidenceInterval.zValue(level)
+		* Math.sqrt(sampleCount * p * (1 - p));
+	long lowerRank = Math.max((long) Math.floor(expectedRank - deviation), 1);
+	long upperRank = Math.min((long) Math.ceil(expectedRank + deviation) + 1,
+		sampleCount);
+	long nanosPerUnit = unit.toNanos(1);
+	return new ConfidenceInterval(
+		(double) clamp(values[bucketOfCount(lowerRank)]) / nanosPerUnit,
+		(double) clamp(values[bucketOfCount(upperRank)]) / nanosPerUnit,
+		level);
+    }
+
+    /**
+     * @return the percentage of samples with a latency of more than the given
+     *         value, to the precision of the distribution
+     */
+    public double percentileAboveLatency(long latency, TimeUnit unit) {
+	long nanos = unit.toNanos(latency);
+	if (sampleCount == 0 || nanos >= maxLatency) {
+	    return 0;
+	}
+	return countAbove(nanos) * 100. / sampleCount;
+    }
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private long targetCount(double percentile) {
+	return (long) (percentile * sampleCount / 100);
+    }
+
+    /** @return the first bucket whose cumulative count reaches the target */
+    private int bucketOfCount(long targetCount) {
+	int index = Arrays.binarySearch(cumulativeCounts, Math.max(targetCount, 1));
+	if (index < 0) {
+	    index = Math.min(-index - 1, cumulativeCounts.length - 1);
+	}
+	return index;
+    }
+
+    /** @return the number of samples in buckets above the one of the value */
+    private long countAbove(long nanos) {
+	int index = Arrays.binarySearch(upperValues, nanos);
+	if (index < 0) {
+	    index = -index - 1;
+	}
+	if (index >= upperValues.length) {
+	    return 0;
+	}
+	if (lowerValues[index] <= nanos) {
+	    return sampleCount - cumulativeCounts[index];
+	}
+	return sampleCount - (index > 0 ? cumulativeCounts[index - 1] : 0);
+    }
+
+    private long clamp(long nanos) {
+	return Math.max(minLatency, Math.min(nanos, maxLatency));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.stat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the events in which a virtual thread blocked while being pinned to
+ * its carrier thread, e.g. in a synchronized block, so that the carrier could
+ * not run other virtual threads. The events are grouped by the topmost stack
+ * frame of the pinned thread; like in {@link ErrorStatistics}, the number of
+ * groups is bounded and further locations are counted as 'other'.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class PinningStatistics {
+
+    public static final int DEFAULT_MAX_LOCATIONS = 10;
+
+    private static final String OTHER_LOCATION = "(other)";
+
+    private final int maxLocations;
+    private final Map<String, Long> locations;
+    private long count;
+    private long totalDuration;
+    private long maxDuration;
+
+    public PinningStatistics() {
+	this(DEFAULT_MAX_LOCATIONS);
+    }
+
+    public PinningStatistics(int maxLocations) {
+	this.maxLocations = maxLocations;
+	this.locations = new LinkedHashMap<>();
+    }
+
+    /**
+     * @param location the topmost stack frame of the pinned thread, or null
+     *                 if unknown
+     * @param duration the time in nanoseconds the thread was pinned
+     */
+    public synchronized void add(String location, long duration) {
+	count++;
+	totalDuration += duration;
+	maxDuration = Math.max(maxDuration, duration);
+	String key = (location != null ? location : OTHER_LOCATION);
+	if (!locations.containsKey(key) && locations.size() >= maxLocations) {
+	    key = OTHER_LOCATION;
+	}
+	locations.merge(key, 1L, Long::sum);
+    }
+
+    public synchronized long getCount() {
+	return count;
+    }
+
+    public synchronized long getTotalDuration(TimeUnit unit) {
+	return unit.convert(totalDuration, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized long getMaxDuration(TimeUnit unit) {
+	return unit.convert(maxDuration, TimeUnit.NANOSECONDS);
+    }
+
+    /** @return the locations with their event counts, most frequent first */
+    public synchronized List<Map.Entry<String, Long>> getLocations() {
+	List<Map.Entry<String, Long>> result = new ArrayList<>(locations.entrySet());
+	Collections.sort(result, (e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+	return result;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public synchronized String toString() {
+	return count + " pinning events, " + getTotalDuration(TimeUnit.MILLISECONDS)
+		+ " ms pinned in total, max. " + getMaxDuration(TimeUnit.MILLISECONDS)
+		+ " ms";
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.stat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a saturation search, which runs a test with an increasing number
+ * of threads: The throughput and latencies of each step and the <i>knee
+ * point</i>, the highest thread count which still increased the throughput
+ * significantly without breaching the latency requirements.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class SaturationStatistics {
+
+    /** The reason for which the search ended. */
+    public enum StopReason {
+	/** the throughput did not increase significantly any more */
+	PLATEAU,
+	/** a latency requirement was breached */
+	LATENCY_LIMIT,
+	/** the maximum thread count was reached before saturation */
+	MAX_THREADS
+    }
+
+    private final double minThroughputGain;
+    private final List<Step> steps;
+    private Step knee;
+    private StopReason stopReason;
+
+    /**
+     * @param minThroughputGain the relative throughput increase below which
+     *                          a step is considered a plateau, e.g. 0.05
+     */
+    public SaturationStatistics(double minThroughputGain) {
+	this.minThroughputGain = minThroughputGain;
+	this.steps = new ArrayList<>();
+    }
+
+    public double getMinThroughputGain() {
+	return minThroughputGain;
+    }
+
+    /**
+     * Adds the result of a step and determines if the search is over.
+     *
+     * @param counter  the stopped counter of the step's measurement window
+     * @param breached true if the step breached a latency requirement
+     * @return true if the search should continue
+     */
+    public synchronized boolean addStep(int threads, LatencyCounter counter,
+					boolean breached) {
+	Step step = new Step(threads, counter, breached);
+	steps.add(step);
+	if (breached) {
+	    stopReason = StopReason.LATENCY_LIMIT;
+	    return false;
+	}
+	if (knee != null
+		&& step.getThroughput() < knee.getThroughput() * (1 + minThroughputGain)) {
+	    stopReason = StopReason.PLATEAU;
+	    return false;
+	}
+	knee = step;
+	return true;
+    }
+
+    /** Ends the search after the maximum thread count. */
+    public synchronized void maxThreadsReached() {
+	if (stopReason == null) {
+	    stopReason = StopReason.MAX_THREADS;
+	}
+    }
+
+    public synchronized List<Step> getSteps() {
+	return Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+
+    /**
+     * @return the step with the highest thread count which increased the
+     *         throughput significantly and met the latency requirements, or
+     *         null if already the first step breached the requirements
+     */
+    public synchronized Step getKnee() {
+	return knee;
+    }
+
+    public synchronized StopReason getStopReason() {
+	return stopReason;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public synchronized String toString() {
+	return "knee at " + (knee != null ? knee.getThreads() + " threads, "
+		+ (long) knee.getThroughput() + " / s" : "-") + " after "
+		+ steps.size() + " steps (" + stopReason + ")";
+    }
+
+    /** The measurement of one thread count. */
+    public static final class Step {
+
+	private final int threads;
+	private final LatencyCounter counter;
+	private final double throughput;
+	private final boolean breached;
+
+	Step(int threads, LatencyCounter counter, boolean breached) {
+	    this.threads = threads;
+	    this.counter = counter;
+	    this.throughput = (counter.duration() > 0 ? counter.throughput() : 0);
+	    this.breached = breached;
+	}
+
+	public int getThreads() {
+	    return threads;
+	}
+
+	public LatencyCounter getCounter() {
+	    return counter;
+	}
+
+	/** @return the number of invocations per second */
+	public double getThroughput() {
+	    return throughput;
+	}
+
+	public boolean isBreached() {
+	    return breached;
+	}
+
+	/** @return the number of invocations of the step which failed */
+	public long getErrorCount() {
+	    return counter.errorCount();
+	}
+
+	@Override
+	public String toString() {
+	    long errors = getErrorCount();
+	    return threads + " threads: " + (long) throughput + " / s"
+		    + (errors > 0 ? ", " + errors + " errors" : "");
+	}
+    }
+
+}
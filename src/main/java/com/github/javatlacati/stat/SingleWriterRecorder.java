@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Records the latencies of a single thread without locking and lets other
+ * threads drain them into a {@link LatencyCounter}. The writer records into
+ * the active one of two {@link LatencyRecorder}s; a reader swaps them and
+ * waits until a write to the previously active one has been completed, so
+ * that it can drain that one while the writer goes on with the other. The
+ * writer neither acquires a monitor nor performs a compare-and-set.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class SingleWriterRecorder {
+
+    private static final AtomicLongFieldUpdater<SingleWriterRecorder> EXITED =
+	    AtomicLongFieldUpdater.newUpdater(SingleWriterRecorder.class, "exited");
+
+    private volatile LatencyRecorder active;
+    /** the recorder which is not written, guarded by this */
+    private LatencyRecorder inactive;
+
+    /** the number of started writes, only modified by the writer */
+    private volatile long entered;
+    /** the number of completed writes, only modified by the writer */
+    private volatile long exited;
+
+    public SingleWriterRecorder(LatencyDistribution prototype) {
+	this.active = new LatencyRecorder(prototype);
+	this.inactive = new LatencyRecorder(prototype);
+    }
+
+    /**
+     * Records a latency in nanoseconds. It must not be called by more than
+     * one thread at a time.
+     */
+    public void record(long latency) {
+	// the volatile write is ordered before reading the active recorder,
+	// so a reader which swapped the recorders either waits for this write
+	// or this write goes to the new active recorder
+	entered = entered + 1;
+	active.record(latency);
+	EXITED.lazySet(this, exited + 1);
+    }
+
+    /**
+     * Moves the latencies recorded so far to the counter. It may be called
+     * by any thread, concurrently to {@link #record(long)}.
+     */
+    public synchronized void drainTo(LatencyCounter counter) {
+	LatencyRecorder recorded = active;
+	active = inactive;
+	long started = entered;
+	while (exited < started) {
+	    Thread.yield();
+	}
+	recorded.drainTo(counter);
+	inactive = recorded;
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.Arrays;
+
+/**
+ * {@link LatencyDistribution} which only stores the buckets that have actually
+ * been hit, in two parallel arrays sorted by bucket index. The bucket layout
+ * is taken from a dense distribution, by default a {@link LatencyHistogram},
+ * which is shared by all sparse distributions and never recorded into. So the
+ * results are the same as the ones of the dense distribution, while the
+ * memory footprint grows with the number of distinct buckets: an empty
+ * instance takes a few dozen bytes instead of about 40 KB. This makes it the
+ * choice for large numbers of rarely used counters like the nodes of a deep
+ * {@link com.github.javatlacati.profile.Profile} tree. Recording a value
+ * takes a binary search over the used buckets.<br>
+ * <br>
+ * The class is not thread-safe, callers need to synchronize access.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class SparseLatencyDistribution implements LatencyDistribution {
+
+    private static final LatencyHistogram DEFAULT_LAYOUT = new LatencyHistogram();
+
+    private static final int[] NO_INDEXES = new int[0];
+    private static final long[] NO_COUNTS = new long[0];
+
+    private final LatencyDistribution layout;
+
+    private int[] indexes;
+    private long[] counts;
+    private int size;
+    private long totalCount;
+
+    public SparseLatencyDistribution() {
+	this(DEFAULT_LAYOUT);
+    }
+
+    /**
+     * @param layout the distribution which defines the buckets. It is only
+     *               used for index calculations and is shared with all
+     *               {@link #emptyCopy() copies}; sparse distributions can
+     *               only be {@link #add(LatencyDistribution) added} if they
+     *               share the same layout instance.
+     */
+    public SparseLatencyDistribution(LatencyDistribution layout) {
+	if (layout instanceof SparseLatencyDistribution) {
+	    layout = ((SparseLatencyDistribution) layout).layout;
+	}
+	this.layout = layout;
+	this.indexes = NO_INDEXES;
+	this.counts = NO_COUNTS;
+    }
+
+    // properties
+    // ------------------------------------------------------------------------------------------------------
+
+    public LatencyDistribution getLayout() {
+	return layout;
+    }
+
+    /** @return the number of buckets with a non-zero count */
+    public int getBucketCount() {
+	return size;
+    }
+
+    @Override
+    public long getTotalCount() {
+	return totalCount;
+    }
+
+    // recording
+    // -------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void record(long value) {
+	record(value, 1);
+    }
+
+    @Override
+    public void record(long value, long count) {
+	int index = layout.indexFor(value);
+	int position = Arrays.binarySearch(indexes, 0, size, index);
+	if (position < 0) {
+	    position = -position - 1;
+	    insert(position, index);
+	}
+	counts[position] += count;
+	totalCount += count;
+    }
+
+    @Override
+    public void add(LatencyDistribution distribution) {
+	if (!(distribution instanceof SparseLatencyDistribution)
+		|| ((SparseLatencyDistribution) distribution).layout != layout) {
+	    throw new IllegalArgumentException(
+		    "Cannot add distributions of different configuration: "
+			    + this + ", " + distribution);
+	}
+	SparseLatencyDistribution other = (SparseLatencyDistribution) distribution;
+	if (other.size == 0) {
+	    return;
+	}
+	// merge the sorted index arrays
+	int[] mergedIndexes = new int[size + other.size];
+	long[] mergedCounts = new long[size + other.size];
+	int i = 0;
+	int j = 0;
+	int k = 0;
+	while (i < size || j < other.size) {
+	    if (j == other.size || (i < size && indexes[i] < other.indexes[j])) {
+		mergedIndexes[k] = indexes[i];
+		mergedCounts[k++] = counts[i++];
+	    } else if (i == size || other.indexes[j] < indexes[i]) {
+		mergedIndexes[k] = other.indexes[j];
+		mergedCounts[k++] = other.counts[j++];
+	    } else {
+		mergedIndexes[k] = indexes[i];
+		mergedCounts[k++] = counts[i++] + other.counts[j++];
+	    }
+	}
+	this.indexes = mergedIndexes;
+	this.counts = mergedCounts;
+	this.size = k;
+	this.totalCount += other.totalCount;
+    }
+
+    /** Removes all recorded values, but keeps the allocated capacity. */
+    @Override
+    public void reset() {
+	Arrays.fill(counts, 0, size, 0);
+	size = 0;
+	totalCount = 0;
+    }
+
+    @Override
+    public SparseLatencyDistribution emptyCopy() {
+	return new SparseLatencyDistribution(layout);
+    }
+
+    // queries
+    // ---------------------------------------------------------------------------------------------------------
+
+    @Override
+    public int getLowestIndex() {
+	return (size > 0 ? indexes[0] : -1);
+    }
+
+    @Override
+    public int getHighestIndex() {
+	return (size > 0 ? indexes[size - 1] : -1);
+    }
+
+    @Override
+    public long getCountAtIndex(int index) {
+	int position = Arrays.binarySearch(indexes, 0, size, index);
+	return (position >= 0 ? counts[position] : 0);
+    }
+
+    @Override
+    public long lowestValueAtIndex(int index) {
+	return layout.lowestValueAtIndex(index);
+    }
+
+    @Override
+    public long highestValueAtIndex(int index) {
+	return layout.highestValueAtIndex(index);
+    }
+
+    @Override
+    public long valueAtIndex(int index) {
+	return layout.valueAtIndex(index);
+    }
+
+    @Override
+    public int indexFor(long value) {
+	return layout.indexFor(value);
+    }
+
+    @Override
+    public long valueAtPercentile(double percentile) {
+	if (totalCount == 0) {
+	    return 0;
+	}
+	long targetCount = (long) (percentile * totalCount / 100);
+	long count = 0;
+	for (int i = 0; i < size; i++) {
+	    count += counts[i];
+	    if (count >= targetCount && count > 0) {
+		return layout.valueAtIndex(indexes[i]);
+	    }
+	}
+	return layout.valueAtIndex(indexes[size - 1]);
+    }
+
+    @Override
+    public long countBetween(long low, long high) {
+	if (totalCount == 0 || high <= low) {
+	    return 0;
+	}
+	long count = 0;
+	for (int i = 0; i < size; i++) {
+	    long bucketLow = layout.lowestValueAtIndex(indexes[i]);
+	    if (bucketLow >= high) {
+		break;
+	    }
+	    if (bucketLow >= low) {
+		count += counts[i];
+	    }
+	}
+	return count;
+    }
+
+    // private helpers
+    // -------------------------------------------------------------------------------------------------
+
+    private void insert(int position, int index) {
+	if (size == indexes.length) {
+	    int capacity = Math.max(4, size + (size >> 1));
+	    indexes = Arrays.copyOf(indexes, capacity);
+	    counts = Arrays.copyOf(counts, capacity);
+	}
+	System.arraycopy(indexes, position, indexes, position + 1, size - position);
+	System.arraycopy(counts, position, counts, position + 1, size - position);
+	indexes[position] = index;
+	counts[position] = 0;
+	size++;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+	return getClass().getSimpleName() + "[" + totalCount + " values in "
+		+ size + " buckets of " + layout + "]";
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of key-value pairs which qualifies a counter name in the
+ * {@link CounterRepository}, e.g. <code>operation=get,cache=hit</code>.
+ * Create the tags once and reuse them, so that lookups in the repository do
+ * not allocate objects.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public final class Tags {
+
+    public static final Tags EMPTY = new Tags(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+    private final int hashCode;
+
+    private Tags(String[] keys, String[] values) {
+	this.keys = keys;
+	this.values = values;
+	this.hashCode = 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+
+    /**
+     * @param keyValues alternating keys and values, e.g.
+     *                  <code>"operation", "get", "cache", "hit"</code>
+     */
+    public static Tags of(String... keyValues) {
+	if (keyValues.length % 2 != 0) {
+	    throw new IllegalArgumentException(
+		    "Expected key-value pairs, but found an odd number of arguments: "
+			    + Arrays.toString(keyValues));
+	}
+	int count = keyValues.length / 2;
+	if (count == 0) {
+	    return EMPTY;
+	}
+	String[][] pairs = new String[count][];
+	for (int i = 0; i < count; i++) {
+	    String key = keyValues[2 * i];
+	    String value = keyValues[2 * i + 1];
+	    if (key == null || key.isEmpty() || value == null) {
+		throw new IllegalArgumentException("Illegal tag: " + key + "=" + value);
+	    }
+	    pairs[i] = new String[]{key, value};
+	}
+	// order by key, so that tags are equal regardless of their order
+	Arrays.sort(pairs, (p1, p2) -> p1[0].compareTo(p2[0]));
+	String[] keys = new String[count];
+	String[] values = new String[count];
+	for (int i = 0; i < count; i++) {
+	    if (i > 0 && pairs[i][0].equals(pairs[i - 1][0])) {
+		throw new IllegalArgumentException("Duplicate tag: " + pairs[i][0]);
+	    }
+	    keys[i] = pairs[i][0];
+	    values[i] = pairs[i][1];
+	}
+	return new Tags(keys, values);
+    }
+
+    /**
+     * Parses a comma-separated list of key=value pairs like
+     * <code>operation=get,cache=hit</code>.
+     */
+    public static Tags parse(String spec) {
+	if (spec == null || spec.trim().isEmpty()) {
+	    return EMPTY;
+	}
+	String[] assignments = spec.split(",");
+	String[] keyValues = new String[assignments.length * 2];
+	for (int i = 0; i < assignments.length; i++) {
+	    int separator = assignments[i].indexOf('=');
+	    if (separator < 0) {
+		throw new IllegalArgumentException("Illegal tag specification: " + spec);
+	    }
+	    keyValues[2 * i] = assignments[i].substring(0, separator).trim();
+	    keyValues[2 * i + 1] = assignments[i].substring(separator + 1).trim();
+	}
+	return of(keyValues);
+    }
+
+    /** @return tags with the additional or replaced tag */
+    public Tags and(String key, String value) {
+	String[] keyValues = new String[(keys.length + 1) * 2];
+	int count = 0;
+	for (int i = 0; i < keys.length; i++) {
+	    if (!keys[i].equals(key)) {
+		keyValues[count++] = keys[i];
+		keyValues[count++] = values[i];
+	    }
+	}
+	keyValues[count++] = key;
+	keyValues[count++] = value;
+	return of(Arrays.copyOf(keyValues, count));
+    }
+
+    public int size() {
+	return keys.length;
+    }
+
+    public boolean isEmpty() {
+	return keys.length == 0;
+    }
+
+    /** @return the value of the tag with the given key, or null */
+    public String get(String key) {
+	for (int i = 0; i < keys.length; i++) {
+	    if (keys[i].equals(key)) {
+		return values[i];
+	    }
+	}
+	return null;
+    }
+
+    // java.lang.Object overrides
+    // --------------------------------------------------------------------------------------
+
+    @Override
+    public int hashCode() {
+	return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+	if (this == obj) {
+	    return true;
+	}
+	if (obj == null || getClass() != obj.getClass()) {
+	    return false;
+	}
+	Tags that = (Tags) obj;
+	return this.hashCode == that.hashCode
+		&& Arrays.equals(this.keys, that.keys)
+		&& Arrays.equals(this.values, that.values);
+    }
+
+    @Override
+    public String toString() {
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < keys.length; i++) {
+	    if (i > 0) {
+		builder.append(',');
+	    }
+	    builder.append(keys[i]).append('=').append(values[i]);
+	}
+	return builder.toString();
+    }
+
+}
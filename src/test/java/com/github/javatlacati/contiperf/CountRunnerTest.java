@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.contiperf.timer.None;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Tests the {@link CountRunner}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class CountRunnerTest {
+
+    @Test
+    public void testSingleThread() {
+        CountingInvoker invoker = new CountingInvoker(0);
+        new CountRunner(invoker, new EmptyArgumentsProvider(), new None(),
+                new AtomicLong(12345)).run();
+        assertThat(invoker.calls.get(), is(12345));
+    }
+
+    @Test
+    public void testExactTotalWithManyThreads() {
+        CountingInvoker invoker = new CountingInvoker(0);
+        runConcurrently(invoker, 100003, 16);
+        assertThat(invoker.calls.get(), is(100003));
+    }
+
+    @Test
+    public void testFewerInvocationsThanThreads() {
+        CountingInvoker invoker = new CountingInvoker(0);
+        runConcurrently(invoker, 5, 10);
+        assertThat(invoker.calls.get(), is(5));
+    }
+
+    @Test
+    public void testBalancedTail() {
+        // slow invocations need to be spread evenly over the threads
+        CountingInvoker invoker = new CountingInvoker(2);
+        runConcurrently(invoker, 200, 4);
+        assertThat(invoker.calls.get(), is(200));
+        assertThat(invoker.callsByThread.size(), is(4));
+        for (AtomicInteger calls : invoker.callsByThread.values()) {
+            assertThat(calls.get(), greaterThan(30));
+            assertThat(calls.get(), lessThanOrEqualTo(70));
+        }
+    }
+
+    private static void runConcurrently(Invoker invoker, long invocations, int threads) {
+        AtomicLong counter = new AtomicLong(invocations);
+        InvocationRunner[] runners = new InvocationRunner[threads];
+        for (int i = 0; i < threads; i++) {
+            runners[i] = new CountRunner(invoker, new EmptyArgumentsProvider(), new None(),
+                    counter, threads);
+        }
+        try (ConcurrentRunner runner = new ConcurrentRunner("test", runners, 0)) {
+            runner.run();
+        }
+        assertThat(counter.get(), is(0L));
+    }
+
+    static class CountingInvoker implements Invoker {
+
+        private final long sleepMillis;
+        final AtomicInteger calls = new AtomicInteger();
+        final ConcurrentHashMap<Thread, AtomicInteger> callsByThread = new ConcurrentHashMap<>();
+
+        CountingInvoker(long sleepMillis) {
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public String getId() {
+            return "counting";
+        }
+
+        @Override
+        public Object invoke(Object[] args) throws Exception {
+            calls.incrementAndGet();
+            callsByThread.computeIfAbsent(Thread.currentThread(), t -> new AtomicInteger())
+                    .incrementAndGet();
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+            }
+            return null;
+        }
+    }
+
+}
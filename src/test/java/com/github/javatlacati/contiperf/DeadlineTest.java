@@ -0,0 +1,178 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.contiperf.timer.None;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Tests the {@link Deadline} and its use by the {@link TimedRunner}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class DeadlineTest {
+
+    @Test
+    public void testDeadline() throws InterruptedException {
+        Deadline deadline = new Deadline(50);
+        assertThat(deadline.isReached(), is(false));
+        deadline.start();
+        long startTime = deadline.getStartTime();
+        Thread.sleep(10);
+        deadline.start();
+        assertThat(deadline.getStartTime(), is(startTime));
+        assertThat(deadline.isReached(), is(false));
+        for (int i = 0; i < 200 && !deadline.isReached(); i++) {
+            Thread.sleep(5);
+        }
+        assertThat(deadline.isReached(), is(true));
+        assertThat(deadline.getEndTime() - startTime, greaterThanOrEqualTo(50L));
+    }
+
+    @Test
+    public void testRaise() {
+        Deadline deadline = new Deadline(60000);
+        deadline.start();
+        deadline.raise();
+        assertThat(deadline.isReached(), is(true));
+    }
+
+    @Test
+    public void testSharedDeadline() {
+        Deadline deadline = new Deadline(200);
+        ConcurrentHashMap<Thread, AtomicLong> lastInvocations = new ConcurrentHashMap<>();
+        Invoker invoker = new Invoker() {
+            @Override
+            public String getId() {
+                return "shared";
+            }
+
+            @Override
+            public Object invoke(Object[] args) throws Exception {
+                lastInvocations.computeIfAbsent(Thread.currentThread(), t -> new AtomicLong())
+                        .set(System.currentTimeMillis());
+                Thread.sleep(1);
+                return null;
+            }
+        };
+        InvocationRunner[] runners = new InvocationRunner[4];
+        for (int i = 0; i < runners.length; i++) {
+            runners[i] = new TimedRunner(invoker, new EmptyArgumentsProvider(), new None(),
+                    deadline);
+        }
+        // with ramp-up, the threads start at different times, but stop together
+        try (ConcurrentRunner runner = new ConcurrentRunner("shared", runners, 30)) {
+            runner.run();
+        }
+        assertThat(lastInvocations.size(), is(4));
+        for (AtomicLong last : lastInvocations.values()) {
+            assertThat(Math.abs(last.get() - deadline.getEndTime()), lessThan(20L));
+        }
+    }
+
+    @Test
+    public void testWindow() throws InterruptedException {
+        Deadline deadline = new Deadline(200, 2, 0);
+        deadline.start();
+        deadline.invocationCompleted();
+        assertThat(deadline.getWindowStart(), is(-1L));
+        Thread.sleep(50);
+        // the window opens when the second party starts
+        deadline.start();
+        for (int i = 0; i < 10; i++) {
+            deadline.invocationCompleted();
+        }
+        awaitDeadline(deadline);
+        deadline.invocationCompleted();
+        assertThat(deadline.getWindowInvocations(), is(10L));
+        assertThat(deadline.getWindowStart() - deadline.getStartTime(),
+                greaterThanOrEqualTo(50L));
+        assertThat(deadline.getWindowNanos(), allOf(
+                greaterThan(0L), lessThanOrEqualTo(150 * 1000000L + 20 * 1000000L)));
+    }
+
+    @Test
+    public void testWarmUpWindow() throws InterruptedException {
+        Deadline deadline = new Deadline(200, 1, 100);
+        deadline.start();
+        deadline.invocationCompleted();
+        awaitDeadline(deadline);
+        assertThat(deadline.getWindowInvocations(), is(0L));
+        assertThat(deadline.getWindowStart() - deadline.getStartTime(),
+                greaterThanOrEqualTo(100L));
+    }
+
+    @Test
+    public void testRampUpWindow() {
+        Deadline deadline = new Deadline(300, 4, 0);
+        AtomicLong invocations = new AtomicLong();
+        Invoker invoker = new Invoker() {
+            @Override
+            public String getId() {
+                return "rampUp";
+            }
+
+            @Override
+            public Object invoke(Object[] args) throws Exception {
+                invocations.incrementAndGet();
+                Thread.sleep(1);
+                return null;
+            }
+        };
+        InvocationRunner[] runners = new InvocationRunner[4];
+        for (int i = 0; i < runners.length; i++) {
+            runners[i] = new TimedRunner(invoker, new EmptyArgumentsProvider(), new None(),
+                    deadline);
+        }
+        try (ConcurrentRunner runner = new ConcurrentRunner("rampUp", runners, 50)) {
+            runner.run();
+        }
+        // the window starts with the last thread, after 3 ramp-up steps
+        assertThat(deadline.getWindowStart() - deadline.getStartTime(),
+                greaterThanOrEqualTo(150L));
+        assertThat(deadline.getWindowInvocations(), allOf(
+                greaterThan(0L), lessThan(invocations.get())));
+        assertThat(deadline.getWindowNanos(), lessThan(200 * 1000000L));
+    }
+
+    private static void awaitDeadline(Deadline deadline) throws InterruptedException {
+        for (int i = 0; i < 200 && !deadline.isReached(); i++) {
+            Thread.sleep(5);
+        }
+        assertThat(deadline.isReached(), is(true));
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.stat.LatencyCounter;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Tests the {@link RunResult}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class RunResultTest {
+
+    @Test
+    public void testTimeouts() {
+        RunResult result = new RunResult("test", new LatencyCounter[]{counter(8)});
+        result.addTimeout();
+        result.addTimeout();
+        result.addAbandoned();
+        assertThat(result.timeoutCount(), is(2L));
+        assertThat(result.abandonedCount(), is(1L));
+        assertThat(result.getMainCounter().totalInvocations(), is(8L));
+        assertThat(result.totalInvocations(), is(10L));
+        assertThat(summary(result), containsString("timeouts: 2 (20%), 1 threads abandoned"));
+    }
+
+    @Test
+    public void testSummary() {
+        RunResult result = new RunResult("test", new LatencyCounter[]{counter(4)}, 10);
+        result.setCancelReason("stopped");
+        String summary = summary(result);
+        assertThat(summary, containsString("canceled: stopped"));
+        assertThat(summary, containsString("batches: 10 invocations each"));
+        assertThat(summary, containsString("samples: 4"));
+        assertThat(summary, not(containsString("timeouts:")));
+        assertThat(summary, not(containsString("corrected")));
+    }
+
+    @Test
+    public void testWindowThroughput() {
+        RunResult result = new RunResult("test", new LatencyCounter[]{counter(4)});
+        result.setWindow(500, 250 * 1000000L);
+        assertThat(result.throughput(), is(2000.));
+        assertThat(summary(result), containsString("throughput: 2000 / s with all threads running for 250 ms"));
+    }
+
+    private static LatencyCounter counter(int samples) {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        for (int i = 0; i < samples; i++) {
+            counter.addSampleNanos(1000000, null);
+        }
+        counter.stop();
+        return counter;
+    }
+
+    private static String summary(RunResult result) {
+        StringWriter out = new StringWriter();
+        result.printSummary(new PrintWriter(out));
+        return out.toString();
+    }
+
+}
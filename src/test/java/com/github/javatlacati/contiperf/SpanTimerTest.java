@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf;
+
+import com.github.javatlacati.stat.CounterRepository;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.Tags;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests the {@link SpanTimer} and {@link Span}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@ResourceLock("CounterRepository")
+public class SpanTimerTest {
+
+    @Test
+    public void testSingleSpan() throws InterruptedException {
+        SpanTimer timer = StopWatch.timer("SpanTimerTest.single");
+        for (int i = 0; i < 3; i++) {
+            try (Span span = timer.start()) {
+                assertThat(span.getDepth(), is(0));
+                Thread.sleep(2);
+            }
+        }
+        LatencyCounter counter = timer.getCounter();
+        assertThat(counter, sameInstance(CounterRepository.getInstance()
+                .getCounter("SpanTimerTest.single")));
+        assertThat(counter.sampleCount(), is(3L));
+        assertThat(counter.minLatency(TimeUnit.MICROSECONDS), greaterThanOrEqualTo(1500L));
+        assertThat(timer.getSelfCounter().totalLatency(TimeUnit.NANOSECONDS),
+                is(counter.totalLatency(TimeUnit.NANOSECONDS)));
+    }
+
+    @Test
+    public void testNestedSpans() throws InterruptedException {
+        SpanTimer outer = new SpanTimer("SpanTimerTest.outer");
+        SpanTimer inner = new SpanTimer("SpanTimerTest.inner", Tags.of("kind", "io"));
+        try (Span outerSpan = outer.start()) {
+            assertThat(outerSpan.getTimer(), sameInstance(outer));
+            for (int i = 0; i < 2; i++) {
+                try (Span innerSpan = inner.start()) {
+                    assertThat(innerSpan.getDepth(), is(1));
+                    Thread.sleep(10);
+                }
+            }
+        }
+        long outerTotal = outer.getCounter().totalLatency(TimeUnit.NANOSECONDS);
+        long outerSelf = outer.getSelfCounter().totalLatency(TimeUnit.NANOSECONDS);
+        long innerTotal = inner.getCounter().totalLatency(TimeUnit.NANOSECONDS);
+        assertThat(inner.getCounter().sampleCount(), is(2L));
+        assertThat(outerSelf, is(outerTotal - innerTotal));
+        assertThat(outerSelf, lessThan(innerTotal));
+        LatencyCounter underParent = CounterRepository.getInstance().getCounter(
+                "SpanTimerTest.inner", Tags.of("kind", "io", "parent", "SpanTimerTest.outer"));
+        assertThat(underParent.sampleCount(), is(2L));
+        assertThat(underParent.totalLatency(TimeUnit.NANOSECONDS), is(innerTotal));
+    }
+
+    @Test
+    public void testIllegalClose() {
+        SpanTimer outer = new SpanTimer("SpanTimerTest.illegalOuter");
+        SpanTimer inner = new SpanTimer("SpanTimerTest.illegalInner");
+        Span outerSpan = outer.start();
+        Span innerSpan = inner.start();
+        Assertions.assertThrows(IllegalStateException.class, outerSpan::close);
+        innerSpan.close();
+        outerSpan.close();
+        Assertions.assertThrows(IllegalStateException.class, outerSpan::close);
+    }
+
+    @Test
+    public void testNoAllocation() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        SpanTimer outer = new SpanTimer("SpanTimerTest.allocationOuter");
+        SpanTimer inner = new SpanTimer("SpanTimerTest.allocationInner");
+        long threadId = Thread.currentThread().getId();
+        measure(outer, inner, 10000); // warm up
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        measure(outer, inner, 100000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        // allow some bytes for the measurement itself, but not one object per span
+        assertThat(allocated, lessThan(100000L));
+    }
+
+    private static void measure(SpanTimer outer, SpanTimer inner, int count) {
+        for (int i = 0; i < count; i++) {
+            try (Span outerSpan = outer.start()) {
+                try (Span innerSpan = inner.start()) {
+                    if (innerSpan.elapsedNanos() > outerSpan.elapsedNanos()) {
+                        throw new IllegalStateException("inner span exceeds outer span");
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import org.hamcrest.number.OrderingComparison;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.api.function.Executable;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -41,6 +42,7 @@ import static org.hamcrest.Matchers.is;
  * @author Volker Bergmann
  * @since 1.08
  */
+@ResourceLock("CounterRepository")
 public class StopWatchTest {
 
     private static final String NAME = "StopWatchTest";
@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests the {@link Watchdog}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class WatchdogTest {
+
+    private final List<Thread> timedOut = new CopyOnWriteArrayList<>();
+    private final List<Thread> abandoned = new CopyOnWriteArrayList<>();
+
+    private final Watchdog.Listener listener = new Watchdog.Listener() {
+        @Override
+        public void timedOut(Thread thread, long elapsed) {
+            timedOut.add(thread);
+        }
+
+        @Override
+        public void abandoned(Thread thread) {
+            abandoned.add(thread);
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        timedOut.clear();
+        abandoned.clear();
+    }
+
+    @Test
+    public void testInTime() {
+        Watchdog watchdog = new Watchdog(1000, listener);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                watchdog.begin();
+                assertThat(watchdog.end(), is(false));
+            }
+            assertThat(timedOut.isEmpty(), is(true));
+        } finally {
+            watchdog.stop();
+        }
+    }
+
+    @Test
+    public void testInterrupt() {
+        Watchdog watchdog = new Watchdog(20, listener);
+        try {
+            long start = System.currentTimeMillis();
+            watchdog.begin();
+            boolean interrupted = false;
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            assertThat(watchdog.end(), is(true));
+            assertThat(interrupted, is(true));
+            assertThat(System.currentTimeMillis() - start, lessThan(1000L));
+            assertThat(Thread.currentThread().isInterrupted(), is(false));
+            assertThat(timedOut.size(), is(1));
+            assertThat(timedOut.get(0), is(Thread.currentThread()));
+            assertThat(abandoned.isEmpty(), is(true));
+        } finally {
+            watchdog.stop();
+        }
+    }
+
+    @Test
+    public void testAbandon() {
+        Watchdog watchdog = new Watchdog(20, listener);
+        try {
+            watchdog.begin();
+            // ignore interruption
+            long end = System.currentTimeMillis() + 200;
+            while (System.currentTimeMillis() < end) {
+                Thread.interrupted();
+            }
+            assertThat(abandoned.size(), is(1));
+            assertThat(Watchdog.isAbandoned(Thread.currentThread()), is(true));
+            assertThat(watchdog.end(), is(true));
+            assertThat(Watchdog.isAbandoned(Thread.currentThread()), is(false));
+            assertThat(Thread.currentThread().isInterrupted(), is(false));
+        } finally {
+            watchdog.stop();
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests the {@link WorkerPool}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class WorkerPoolTest {
+
+    @Test
+    public void testStableSlots() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("stable", 2, 0);
+        try {
+            Thread first0 = runOn(pool, 0);
+            Thread first1 = runOn(pool, 1);
+            assertThat(first0, not(sameInstance(first1)));
+            assertThat(runOn(pool, 0), sameInstance(first0));
+            assertThat(runOn(pool, 1), sameInstance(first1));
+            assertThat(first0.getName(), is("stable-worker-1"));
+            assertThat(pool.getWorkerCount(), is(2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBusySlot() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("busy", 2, 0);
+        try {
+            Object lock = new Object();
+            AtomicReference<Thread> second = new AtomicReference<>();
+            WorkerPool.Job job1;
+            synchronized (lock) {
+                job1 = pool.execute(0, () -> {
+                    synchronized (lock) {
+                        // wait until the second job was scheduled
+                    }
+                });
+                WorkerPool.Job job2 = pool.execute(0, () -> second.set(Thread.currentThread()));
+                job2.join();
+            }
+            job1.join();
+            assertThat(second.get(), not(sameInstance(job1.getThread())));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOverflowWorkersAreDiscarded() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("overflow", 1, 0);
+        try {
+            Set<Thread> threads = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                threads.add(runOn(pool, i));
+            }
+            assertThat(threads.size(), is(3));
+            waitForWorkerCount(pool, 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testKeepAlive() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("keepalive", 2, 20);
+        Thread worker = runOn(pool, 0);
+        worker.join(2000);
+        assertThat(worker.isAlive(), is(false));
+        assertThat(pool.getWorkerCount(), is(0));
+    }
+
+    @Test
+    public void testInterruptDoesNotLeak() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("interrupt", 1, 0);
+        try {
+            AtomicBoolean interrupted = new AtomicBoolean();
+            WorkerPool.Job job = pool.execute(0, () -> {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    Thread.currentThread().interrupt();
+                }
+            });
+            while (job.getThread().getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(1);
+            }
+            job.interrupt();
+            job.join();
+            assertThat(interrupted.get(), is(true));
+            AtomicBoolean next = new AtomicBoolean(true);
+            pool.execute(0, () -> next.set(Thread.currentThread().isInterrupted())).join();
+            assertThat(next.get(), is(false));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentRunnerOnPool() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("runner", 3, 0);
+        try {
+            Set<Thread> threads = new HashSet<>();
+            AtomicInteger calls = new AtomicInteger();
+            for (int run = 0; run < 2; run++) {
+                InvocationRunner[] runners = new InvocationRunner[3];
+                for (int i = 0; i < runners.length; i++) {
+                    runners[i] = new TestRunner(() -> {
+                        synchronized (threads) {
+                            threads.add(Thread.currentThread());
+                        }
+                        calls.incrementAndGet();
+                    });
+                }
+                new ConcurrentRunner("runner", runners, 0, false, pool).run();
+            }
+            assertThat(calls.get(), is(6));
+            assertThat(threads.size(), is(3));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentRunnerFailure() {
+        WorkerPool pool = new WorkerPool("failure", 2, 0);
+        try {
+            InvocationRunner[] runners = {
+                    new TestRunner(() -> {
+                        throw new IllegalStateException("failed");
+                    }),
+                    new TestRunner(() -> {
+                        try {
+                            Thread.sleep(10000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    })
+            };
+            long start = System.nanoTime();
+            PerfTestExecutionError error = Assertions.assertThrows(PerfTestExecutionError.class,
+                    () -> new ConcurrentRunner("failure", runners, 0, false, pool).run());
+            assertThat(error.getCause().getMessage(), is("failed"));
+            assertThat((System.nanoTime() - start) / 1000000 < 5000, is(true));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // helpers ---------------------------------------------------------------------------------------------------------
+
+    private static Thread runOn(WorkerPool pool, int slot) throws InterruptedException {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        pool.execute(slot, () -> thread.set(Thread.currentThread())).join();
+        return thread.get();
+    }
+
+    private static void waitForWorkerCount(WorkerPool pool, int count) throws InterruptedException {
+        for (int i = 0; i < 200 && pool.getWorkerCount() != count; i++) {
+            Thread.sleep(5);
+        }
+        assertThat(pool.getWorkerCount(), is(count));
+    }
+
+    static class TestRunner implements InvocationRunner {
+
+        private final Runnable task;
+
+        TestRunner(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
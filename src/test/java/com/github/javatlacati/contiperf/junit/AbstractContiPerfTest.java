@@ -24,6 +24,8 @@ package com.github.javatlacati.contiperf.junit;
 
 import java.lang.reflect.Constructor;
 
+import com.github.javatlacati.contiperf.RunResult;
+import com.github.javatlacati.stat.LatencyCounter;
 import org.junit.Before;
 import org.junit.runner.Description;
 import org.junit.runner.RunWith;
@@ -47,6 +49,9 @@ public abstract class AbstractContiPerfTest {
     protected boolean failed;
     protected boolean assumptionFailed;
     protected boolean ignored;
+    /** the result of the last test run with a {@link ResultTestModule} */
+    protected RunResult result;
+    protected LatencyCounter mainCounter;
 
     @Before
     public void setUp() {
@@ -54,15 +59,20 @@ public abstract class AbstractContiPerfTest {
 	failed = false;
 	assumptionFailed = false;
 	ignored = false;
+	result = null;
+	mainCounter = null;
     }
 
     protected void runTest(Class<?> testClass) throws Exception {
+	ResultTestModule.latestResult = null;
 	RunWith runWith = testClass.getAnnotation(RunWith.class);
 	if (runWith != null) {
 	    runAnnotatedTestClass(testClass, runWith);
 	} else {
 	    runPlainTestClass(testClass);
 	}
+	result = ResultTestModule.latestResult;
+	mainCounter = (result != null ? result.getMainCounter() : null);
     }
 
     private void runPlainTestClass(Class<?> testClass) throws Exception {
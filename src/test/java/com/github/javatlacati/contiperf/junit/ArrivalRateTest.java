@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.javatlacati.contiperf.ArrivalProcess;
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.stat.ArrivalStatistics;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the open workload model of {@link PerfTest#rate()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class ArrivalRateTest extends AbstractContiPerfTest {
+
+
+    @Test
+    public void testFixedRate() throws Exception {
+	runTest(FixedRateTest.class);
+	ArrivalStatistics arrivals = result.getArrivals();
+	assertNotNull(arrivals);
+	assertTrue("Expected about 50 arrivals, but found "
+		+ arrivals.getArrivalCount(), arrivals.getArrivalCount() >= 45
+		&& arrivals.getArrivalCount() <= 50);
+	assertEquals(0, arrivals.getMissedCount());
+	assertEquals(arrivals.getStartedCount(), mainCounter.sampleCount());
+	assertEquals(arrivals.getStartedCount(), arrivals.getResponseTimes()
+		.sampleCount());
+    }
+
+    @Test
+    public void testQueueing() throws Exception {
+	runTest(OverloadTest.class);
+	ArrivalStatistics arrivals = result.getArrivals();
+	assertEquals(1, arrivals.getWorkers());
+	// 20 ms service time at 100 arrivals per second with a single worker
+	assertTrue("Expected missed arrivals", arrivals.getMissedCount() > 10);
+	assertTrue("Expected late arrivals", arrivals.getLateCount() > 5);
+	long serviceTime = mainCounter.percentileLatency(90, TimeUnit.NANOSECONDS);
+	long responseTime = arrivals.getResponseTimes().percentileLatency(90,
+		TimeUnit.NANOSECONDS);
+	assertTrue("Expected queueing in response times", responseTime > 3 * serviceTime);
+    }
+
+    @Test
+    public void testPoissonCount() throws Exception {
+	runTest(PoissonTest.class);
+	ArrivalStatistics arrivals = result.getArrivals();
+	assertEquals(100, arrivals.getArrivalCount());
+	assertEquals(100, mainCounter.sampleCount());
+	assertEquals(0, arrivals.getMissedCount());
+	assertTrue(arrivals.getWorkers() >= 1 && arrivals.getWorkers() <= 4);
+    }
+
+    public static class FixedRateTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 500, rate = 100, threads = 4)
+	public void test() throws Exception {
+	    Thread.sleep(1);
+	}
+    }
+
+    public static class OverloadTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 600, rate = 100, threads = 1)
+	public void test() throws Exception {
+	    Thread.sleep(20);
+	}
+    }
+
+    public static class PoissonTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 100, rate = 1000, threads = 4, arrivals = ArrivalProcess.POISSON, seed = 42)
+	public void test() {
+	}
+    }
+
+}
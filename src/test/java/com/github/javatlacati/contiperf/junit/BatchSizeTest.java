@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.Required;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the batching of invocations with {@link PerfTest#batchSize()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class BatchSizeTest extends AbstractContiPerfTest {
+
+    static final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testBatches() throws Exception {
+	calls.set(0);
+	runTest(BatchTest.class);
+	assertFalse(failed);
+	assertEquals(2000, calls.get());
+	assertEquals(2000, mainCounter.sampleCount());
+	assertEquals(100, result.getBatchSize());
+	// each call is recorded with the average of its batch
+	assertTrue(mainCounter.maxLatency(TimeUnit.MICROSECONDS) < 1000);
+    }
+
+    @Test
+    public void testFailedBatches() throws Exception {
+	calls.set(0);
+	runTest(FailingBatchTest.class);
+	assertFalse(failed);
+	assertEquals(100, calls.get());
+	// every other batch fails at its last call and counts with its 10 calls
+	assertEquals(50, mainCounter.errorCount());
+	assertEquals(50, mainCounter.sampleCount());
+	assertEquals(0.5, mainCounter.errorsRate(), 0.);
+    }
+
+    @Test
+    public void testIllegalBatchSize() throws Exception {
+	runTest(IllegalBatchTest.class);
+	assertTrue(failed);
+    }
+
+    public static class BatchTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 20, batchSize = 100, threads = 2)
+	public void test() {
+	    calls.incrementAndGet();
+	}
+    }
+
+    public static class FailingBatchTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 10, batchSize = 10, threads = 1)
+	@Required(allowedErrorsRate = 0.9)
+	public void test() {
+	    if (calls.incrementAndGet() % 20 == 0) {
+		throw new RuntimeException();
+	    }
+	}
+    }
+
+    public static class IllegalBatchTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 20, batchSize = 0)
+	public void test() {
+	}
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.Required;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the cooperative cancellation of all threads with
+ * {@link PerfTest#cancelOnViolation()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class CancellationTest extends AbstractContiPerfTest {
+
+    static final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testCountBased() throws Exception {
+	check(CountBasedTest.class);
+    }
+
+    @Test
+    public void testTimed() throws Exception {
+	check(TimedTest.class);
+    }
+
+    private void check(Class<?> testClass) throws Exception {
+	calls.set(0);
+	long start = System.currentTimeMillis();
+	runTest(testClass);
+	assertTrue(failed);
+	// the busy threads do not react to interruption, without cancellation
+	// they would run for 50 seconds
+	assertTrue(System.currentTimeMillis() - start < 3000);
+	assertTrue(calls.get() < 1000);
+	// the partial statistics are reported
+	assertNotNull(mainCounter);
+	assertNotNull(result.getCancelReason());
+	assertTrue(mainCounter.sampleCount() > 0);
+    }
+
+    static void work() {
+	int n = calls.incrementAndGet();
+	busy(n == 20 ? 100 : 2);
+    }
+
+    /** busy work which ignores interruption */
+    private static void busy(long millis) {
+	long end = System.nanoTime() + millis * 1000000;
+	while (System.nanoTime() < end) {
+	    Thread.interrupted();
+	}
+    }
+
+    public static class CountBasedTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 100000, threads = 4, cancelOnViolation = true)
+	@Required(max = 50)
+	public void test() {
+	    work();
+	}
+    }
+
+    public static class TimedTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 50000, threads = 4, cancelOnViolation = true)
+	@Required(max = 50)
+	public void test() {
+	    work();
+	}
+    }
+
+}
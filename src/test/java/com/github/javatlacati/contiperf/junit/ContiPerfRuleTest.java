@@ -30,6 +30,7 @@ import java.text.ParseException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.PerfTestConfigurationError;
 import com.github.javatlacati.contiperf.Required;
 import com.github.javatlacati.contiperf.report.ListReportModule;
 import org.junit.Assert;
@@ -122,6 +123,36 @@ public class ContiPerfRuleTest {
         check("percentileFailed");
     }
 
+    @Test
+    public void testStdDevSuccessful() throws Throwable {
+        check("stdDevSuccessful");
+    }
+
+    @Test(expected = PerformanceRequirementFailedError.class)
+    public void testStdDevFailed() throws Throwable {
+        check("stdDevFailed");
+    }
+
+    @Test(expected = PerformanceRequirementFailedError.class)
+    public void testCoefficientOfVariationFailed() throws Throwable {
+        check("coefficientOfVariationFailed");
+    }
+
+    @Test(expected = PerformanceRequirementFailedError.class)
+    public void testOutlierPercentileFailed() throws Throwable {
+        check("outlierPercentileFailed");
+    }
+
+    @Test
+    public void testOutlierPercentileNotSignificant() throws Throwable {
+        check("outlierPercentileNotSignificant");
+    }
+
+    @Test(expected = PerfTestConfigurationError.class)
+    public void testPercentConfidence() throws Throwable {
+        check("percentConfidence");
+    }
+
     @Test
     public void testThreads3() throws Throwable {
         TestBean target = check("threads3");
@@ -348,6 +379,49 @@ public class ContiPerfRuleTest {
             Thread.sleep(10);
         }
 
+        @PerfTest(invocations = 10)
+        @Required(maxStdDev = 100)
+        public void stdDevSuccessful() throws InterruptedException {
+            Thread.sleep(10);
+        }
+
+        private AtomicInteger stdDevFailedCount = new AtomicInteger();
+
+        @PerfTest(invocations = 10)
+        @Required(maxStdDev = 2)
+        public void stdDevFailed() throws InterruptedException {
+            Thread.sleep(stdDevFailedCount.incrementAndGet() % 2 == 0 ? 1 : 20);
+        }
+
+        private AtomicInteger coefficientOfVariationFailedCount = new AtomicInteger();
+
+        @PerfTest(invocations = 10)
+        @Required(maxCoefficientOfVariation = 0.1)
+        public void coefficientOfVariationFailed() throws InterruptedException {
+            Thread.sleep(coefficientOfVariationFailedCount.incrementAndGet() % 2 == 0 ? 1 : 20);
+        }
+
+        private AtomicInteger outlierPercentileFailedCount = new AtomicInteger();
+
+        @PerfTest(invocations = 20)
+        @Required(percentiles = "95:15")
+        public void outlierPercentileFailed() throws InterruptedException {
+            Thread.sleep(outlierPercentileFailedCount.incrementAndGet() % 10 == 0 ? 30 : 1);
+        }
+
+        private AtomicInteger outlierPercentileNotSignificantCount = new AtomicInteger();
+
+        @PerfTest(invocations = 20)
+        @Required(percentiles = "95:15", confidence = 0.95)
+        public void outlierPercentileNotSignificant() throws InterruptedException {
+            Thread.sleep(outlierPercentileNotSignificantCount.incrementAndGet() % 10 == 0 ? 30 : 1);
+        }
+
+        @PerfTest(invocations = 1)
+        @Required(percentiles = "95:15", confidence = 95)
+        public void percentConfidence() {
+        }
+
         ThreadCounter threads3TC = new ThreadCounter();
         public AtomicInteger threads3IC = new AtomicInteger();
 
@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.stat.LatencyCounter;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the correction of coordinated omission.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class CoordinatedOmissionTest extends AbstractContiPerfTest {
+
+
+    @Test
+    public void testCorrection() throws Exception {
+	runTest(StallingTest.class);
+	LatencyCounter corrected = result.getCorrected();
+	assertNotNull(corrected);
+	assertEquals(20, mainCounter.sampleCount());
+	// the stall of about 100 ms misses about 9 calls with 10 ms cadence
+	long backFilled = corrected.sampleCount() - mainCounter.sampleCount();
+	assertTrue("Expected about 9 back-filled samples, but found "
+		+ backFilled, backFilled >= 9 && backFilled <= 12);
+	assertEquals(mainCounter.maxLatency(TimeUnit.NANOSECONDS),
+		corrected.maxLatency(TimeUnit.NANOSECONDS));
+	assertTrue(corrected.percentileLatency(90, TimeUnit.NANOSECONDS) > mainCounter
+		.percentileLatency(90, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testNoCorrection() throws Exception {
+	runTest(UncorrectedTest.class);
+	assertNull(result.getCorrected());
+    }
+
+    public static class StallingTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 20, expectedInterval = 10)
+	public void test() throws Exception {
+	    Thread.sleep(calls.incrementAndGet() == 10 ? 100 : 1);
+	}
+    }
+
+    public static class UncorrectedTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 5)
+	public void test() {
+	}
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.javatlacati.contiperf.ExecutionConfig;
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.PerformanceRequirement;
+import com.github.javatlacati.contiperf.report.AbstractReportModule;
+import com.github.javatlacati.stat.LatencyCounter;
+import com.github.javatlacati.stat.LatencyInterval;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the recording of latency intervals.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class IntervalTest extends AbstractContiPerfTest {
+
+    static IntervalModule module;
+
+    @Test
+    public void testIntervals() throws Exception {
+	runTest(IntervalsTest.class);
+	List<LatencyInterval> intervals = module.intervals;
+	assertTrue("Expected about 6 intervals, but got " + intervals.size(),
+		intervals.size() >= 4 && intervals.size() <= 8);
+	long samples = 0;
+	long previousEnd = intervals.get(0).getStartTime();
+	for (LatencyInterval interval : intervals) {
+	    assertEquals(previousEnd, interval.getStartTime());
+	    previousEnd = interval.getEndTime();
+	    samples += interval.getSnapshot().sampleCount();
+	}
+	assertEquals(module.totalSamples, samples);
+    }
+
+    @Test
+    public void testLongInvocations() throws Exception {
+	runTest(LongInvocationTest.class);
+	List<LatencyInterval> intervals = module.intervals;
+	// each invocation is recorded in the interval in which it completed,
+	// none completed in the first one
+	assertEquals(0, intervals.get(0).getSnapshot().sampleCount());
+	long samples = 0;
+	for (LatencyInterval interval : intervals) {
+	    assertTrue(interval.getSnapshot().sampleCount() <= 1);
+	    samples += interval.getSnapshot().sampleCount();
+	}
+	assertEquals(3, samples);
+    }
+
+    public static class IntervalsTest {
+
+	public IntervalModule reportModule = new IntervalModule();
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(reportModule);
+
+	@Test
+	@PerfTest(duration = 1200, interval = 200, threads = 2)
+	public void test() throws Exception {
+	    module = reportModule;
+	    Thread.sleep(10);
+	}
+    }
+
+    public static class LongInvocationTest {
+
+	public IntervalModule reportModule = new IntervalModule();
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(reportModule);
+
+	@Test
+	@PerfTest(invocations = 3, interval = 100)
+	public void test() throws Exception {
+	    module = reportModule;
+	    Thread.sleep(250);
+	}
+    }
+
+    public static class IntervalModule extends AbstractReportModule {
+
+	final List<LatencyInterval> intervals = new ArrayList<>();
+	long totalSamples;
+
+	@Override
+	public synchronized void intervalCompleted(String serviceId,
+		LatencyInterval interval) {
+	    intervals.add(interval);
+	}
+
+	@Override
+	public void completed(String serviceId, LatencyCounter[] counters,
+		ExecutionConfig executionConfig,
+		PerformanceRequirement requirement) {
+	    totalSamples = counters[0].sampleCount();
+	}
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.Required;
+import com.github.javatlacati.contiperf.clock.SystemClock;
+import com.github.javatlacati.stat.SaturationStatistics;
+import com.github.javatlacati.stat.SaturationStatistics.Step;
+import com.github.javatlacati.stat.SaturationStatistics.StopReason;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the saturation search of {@link PerfTest#maxThreads()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class SaturationTest extends AbstractContiPerfTest {
+
+    static final Object LOCK = new Object();
+
+    @Test
+    public void testPlateau() throws Exception {
+	runTest(SerializedTest.class);
+	assertFalse(failed);
+	SaturationStatistics saturation = result.getSaturation();
+	assertNotNull(saturation);
+	assertEquals(StopReason.PLATEAU, saturation.getStopReason());
+	assertEquals(2, saturation.getSteps().size());
+	assertEquals(1, saturation.getKnee().getThreads());
+    }
+
+    @Test
+    public void testMaxThreads() throws Exception {
+	runTest(ScalingTest.class);
+	assertFalse(failed);
+	SaturationStatistics saturation = result.getSaturation();
+	assertEquals(StopReason.MAX_THREADS, saturation.getStopReason());
+	assertEquals(3, saturation.getSteps().size());
+	assertEquals(1, saturation.getSteps().get(0).getThreads());
+	assertEquals(3, saturation.getSteps().get(1).getThreads());
+	assertEquals(4, saturation.getKnee().getThreads());
+    }
+
+    @Test
+    public void testLatencyLimit() throws Exception {
+	runTest(LatencyLimitTest.class);
+	assertFalse(failed);
+	SaturationStatistics saturation = result.getSaturation();
+	assertEquals(StopReason.LATENCY_LIMIT, saturation.getStopReason());
+	assertEquals(2, saturation.getKnee().getThreads());
+	assertEquals(4, saturation.getSteps().get(2).getThreads());
+    }
+
+    @Test
+    public void testStepErrors() throws Exception {
+	runTest(FailingTest.class);
+	assertFalse(failed);
+	SaturationStatistics saturation = result.getSaturation();
+	for (Step step : saturation.getSteps()) {
+	    assertTrue("Expected errors in " + step, step.getErrorCount() > 0);
+	    assertEquals(SystemClock.NAME, step.getCounter().getClockName());
+	}
+    }
+
+    public static class SerializedTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 300, warmUp = 50, threads = 1, maxThreads = 8, minThroughputGain = 0.2)
+	public void test() throws Exception {
+	    synchronized (LOCK) {
+		Thread.sleep(2);
+	    }
+	}
+    }
+
+    public static class ScalingTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 300, threads = 1, maxThreads = 4, threadIncrement = 2)
+	public void test() throws Exception {
+	    Thread.sleep(5);
+	}
+    }
+
+    public static class LatencyLimitTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 300, threads = 1, maxThreads = 8, minThroughputGain = -1)
+	@Required(average = 6)
+	public void test() throws Exception {
+	    synchronized (LOCK) {
+		Thread.sleep(2);
+	    }
+	}
+    }
+
+    public static class FailingTest {
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(duration = 200, threads = 1, maxThreads = 2, threadIncrement = 1)
+	@Required(allowedErrorsRate = 0.5)
+	public void test() throws Exception {
+	    Thread.sleep(2);
+	    if (count.incrementAndGet() % 10 == 0) {
+		throw new RuntimeException();
+	    }
+	}
+    }
+
+}
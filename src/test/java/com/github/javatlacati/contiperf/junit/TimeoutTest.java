@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.ExecutionConfig;
+import com.github.javatlacati.contiperf.Invoker;
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.PerfTestExecutionError;
+import com.github.javatlacati.contiperf.PerformanceTracker;
+import com.github.javatlacati.contiperf.Watchdog;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the per-invocation {@link PerfTest#timeout()}.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class TimeoutTest extends AbstractContiPerfTest {
+
+    static final AtomicInteger calls = new AtomicInteger();
+    static final AtomicBoolean hung = new AtomicBoolean();
+
+    @Test
+    public void testInTime() throws Exception {
+	runTest(InTimeTest.class);
+	assertFalse(failed);
+	assertEquals(20, mainCounter.sampleCount());
+	assertEquals(0, result.timeoutCount());
+    }
+
+    @Test
+    public void testInterrupted() throws Exception {
+	calls.set(0);
+	long start = System.currentTimeMillis();
+	runTest(HangingTest.class);
+	assertTrue(failed);
+	assertTrue(System.currentTimeMillis() - start < 5000);
+	assertEquals(2, result.timeoutCount());
+	assertEquals(18, mainCounter.sampleCount());
+	assertEquals(0, result.abandonedCount());
+    }
+
+    @Test
+    public void testWatchdogStoppedOnFailure() throws Exception {
+	ExecutionConfig config = new ExecutionConfig(1);
+	config.setTimeout(1000);
+	PerformanceTracker tracker = new PerformanceTracker(new FailingInvoker(),
+		config, null, new JUnitReportContext(), config.getClocks());
+	try {
+	    tracker.invoke(new Object[0]);
+	    fail("Expected the invocation to fail");
+	} catch (PerfTestExecutionError e) {
+	    // expected
+	}
+	Watchdog watchdog = tracker.getWatchdog();
+	assertTrue(watchdog.isActive());
+	try {
+	    tracker.stopTracking();
+	    fail("Expected the requirement check to fail");
+	} catch (PerfTestExecutionError e) {
+	    // expected
+	} finally {
+	    tracker.clear();
+	}
+	// the watchdog is stopped although the test failed
+	assertFalse(watchdog.isActive());
+    }
+
+    @Test
+    public void testAbandoned() throws Exception {
+	hung.set(false);
+	calls.set(0);
+	long start = System.currentTimeMillis();
+	runTest(StuckTest.class);
+	assertTrue(failed);
+	assertTrue(System.currentTimeMillis() - start < 1500);
+	assertEquals(1, result.timeoutCount());
+	assertEquals(1, result.abandonedCount());
+	// the abandoned invocation returns after the test, but its runner
+	// does not continue with the rest of its chunk of invocations
+	int callsAtEnd = calls.get();
+	Thread.sleep(2500);
+	assertEquals(callsAtEnd, calls.get());
+    }
+
+    static class FailingInvoker implements Invoker {
+
+	public String getId() {
+	    return "failing";
+	}
+
+	public Object invoke(Object[] args) {
+	    throw new PerfTestExecutionError(new RuntimeException("failed"));
+	}
+    }
+
+    public static class InTimeTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 20, threads = 2, timeout = 1000)
+	public void test() {
+	}
+    }
+
+    public static class HangingTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 20, threads = 2, timeout = 50)
+	public void test() throws InterruptedException {
+	    if (calls.incrementAndGet() % 10 == 0) {
+		Thread.sleep(60000);
+	    }
+	}
+    }
+
+    public static class StuckTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 1000, threads = 2, timeout = 50)
+	public void test() {
+	    calls.incrementAndGet();
+	    if (hung.compareAndSet(false, true)) {
+		// ignores interruption
+		long end = System.currentTimeMillis() + 2000;
+		while (System.currentTimeMillis() < end) {
+		    Thread.interrupted();
+		}
+	    }
+	}
+    }
+
+}
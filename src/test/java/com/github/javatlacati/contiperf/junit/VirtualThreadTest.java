@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.javatlacati.contiperf.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javatlacati.contiperf.PerfTest;
+import com.github.javatlacati.contiperf.VirtualThreads;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the virtual thread mode of {@link PerfTest#virtualThreads()}. On
+ * runtimes without virtual threads the test is expected to fail with a
+ * configuration error.<br>
+ * <br>
+ * Created: 18.10.2026
+ * 
+ * @since 2.4.4
+ * @author agent
+ */
+public class VirtualThreadTest extends AbstractContiPerfTest {
+
+    static final AtomicInteger platformThreadCalls = new AtomicInteger();
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+	platformThreadCalls.set(0);
+	runTest(VirtualTest.class);
+	if (VirtualThreads.isSupported()) {
+	    assertFalse(failed);
+	    assertEquals(200, mainCounter.sampleCount());
+	    assertEquals(0, platformThreadCalls.get());
+	    assertNotNull(result.getPinning());
+	} else {
+	    assertTrue(failed);
+	}
+    }
+
+    public static class VirtualTest {
+
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRule(new ResultTestModule());
+
+	@Test
+	@PerfTest(invocations = 200, threads = 50, virtualThreads = true)
+	public void test() throws Exception {
+	    if (!isVirtual(Thread.currentThread())) {
+		platformThreadCalls.incrementAndGet();
+	    }
+	    Thread.sleep(1);
+	}
+    }
+
+    /** Calls Thread.isVirtual(), which is not available on Java 8. */
+    static boolean isVirtual(Thread thread) throws Exception {
+	return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+}
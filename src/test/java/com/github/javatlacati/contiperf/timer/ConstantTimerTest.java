@@ -62,6 +62,14 @@ public class ConstantTimerTest {
         }
     }
 
+    @Test
+    public void testSubMillisecondWaitTime() throws Exception {
+        WaitTimer timer = ConstantTimer.class.getDeclaredConstructor().newInstance();
+        timer.init(new double[]{0.2});
+        assertThat(timer.getWaitTimeNanos(), is(200000L));
+        assertThat(timer.getWaitTime(), is(0));
+    }
+
     @Test
     public void testTooManyParams() throws Exception {
         WaitTimer timer = ConstantTimer.class.getDeclaredConstructor().newInstance();
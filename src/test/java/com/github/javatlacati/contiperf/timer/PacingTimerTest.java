@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.contiperf.timer;
+
+import com.github.javatlacati.contiperf.CountRunner;
+import com.github.javatlacati.contiperf.EmptyArgumentsProvider;
+import com.github.javatlacati.contiperf.Invoker;
+import com.github.javatlacati.contiperf.WaitTimer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link PacingTimer} and the precision of the waits between
+ * invocations. Only the minimum durations are asserted, since the tests run
+ * in parallel with others, which may delay them arbitrarily.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class PacingTimerTest {
+
+    @Test
+    public void testDecoration() {
+        ConstantTimer timer = new ConstantTimer();
+        timer.init(new double[]{0.5});
+        PacingTimer pacing = new PacingTimer(timer);
+        assertThat(pacing.isPacing(), is(true));
+        assertThat(timer.isPacing(), is(false));
+        assertThat(pacing.getWaitTimeNanos(), is(500000L));
+    }
+
+    @Test
+    public void testSubMillisecondWaits() {
+        ConstantTimer timer = new ConstantTimer();
+        timer.init(new double[]{0.2});
+        // 500 waits of 200 microseconds
+        long millis = run(timer, 500, 0);
+        assertThat(millis, greaterThanOrEqualTo(100L));
+    }
+
+    @Test
+    public void testPacing() {
+        ConstantTimer timer = new ConstantTimer();
+        timer.init(new double[]{2});
+        // invocations of 1 ms started every 2 ms, the wait is shortened by the
+        // invocation time, but the starts are never closer than the interval
+        long paced = run(new PacingTimer(timer), 50, 1);
+        assertThat(paced, greaterThanOrEqualTo(98L));
+    }
+
+    private static long run(WaitTimer timer, long invocations, long busyMillis) {
+        Invoker invoker = new Invoker() {
+            @Override
+            public String getId() {
+                return "paced";
+            }
+
+            @Override
+            public Object invoke(Object[] args) {
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(busyMillis);
+                while (System.nanoTime() < end) {
+                    // busy
+                }
+                return null;
+            }
+        };
+        long start = System.nanoTime();
+        new CountRunner(invoker, new EmptyArgumentsProvider(), timer,
+                new AtomicLong(invocations)).run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+}
@@ -87,6 +87,16 @@ public class RandomTimerTest {
         }
     }
 
+    @Test
+    public void testSubMillisecondRange() throws Exception {
+        WaitTimer timer = RandomTimer.class.getDeclaredConstructor().newInstance();
+        timer.init(new double[]{0.1, 0.3});
+        for (int i = 0; i < 1000; i++) {
+            long waitTime = timer.getWaitTimeNanos();
+            assertTrue(100000 <= waitTime && waitTime <= 300000);
+        }
+    }
+
     private void assertRange(int minimumExpected, int maximumExpected, int waitTime) {
         assertTrue(minimumExpected <= waitTime && waitTime <= maximumExpected);
     }
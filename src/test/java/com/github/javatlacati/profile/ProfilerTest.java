@@ -25,10 +25,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -77,4 +84,148 @@ public class ProfilerTest {
         profiler.printSummary();
     }
 
+    @Test
+    public void testPushPopOnMultipleThreads() throws Exception {
+
+        // given
+        Profiler profiler = new Profiler("test", 1, "ms");
+        int threadCount = 4;
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    profiler.push("outer");
+                    profiler.push("inner");
+                    profiler.pop();
+                    profiler.push("inner");
+                    profiler.pop();
+                    profiler.pop();
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        // then
+        Profile merged = profiler.getMergedProfile();
+        assertEquals(1, merged.getSubProfiles().size());
+        Profile outer = merged.getOrCreateSubProfile("outer");
+        assertEquals(400, outer.getInvocationCount());
+        Profile inner = outer.getOrCreateSubProfile("inner");
+        assertEquals(800, inner.getInvocationCount());
+        assertEquals(0, profiler.getRootProfile().getSubProfiles().size());
+        profiler.printSummary();
+    }
+
+    @Test
+    public void testTerminatedThreadsAreReleased() throws Exception {
+
+        // given
+        Profiler profiler = new Profiler("test", 1, "ms");
+
+        // when
+        for (int t = 0; t < 1000; t++) {
+            Thread thread = new Thread(() -> {
+                profiler.push("outer");
+                profiler.pop();
+            });
+            thread.start();
+            thread.join();
+            assertTrue(profiler.threadProfileCount() <= 65);
+        }
+
+        // then
+        Profile merged = profiler.getMergedProfile();
+        assertEquals(1000, merged.getOrCreateSubProfile("outer").getInvocationCount());
+        assertEquals(0, profiler.threadProfileCount());
+    }
+
+    @Test
+    public void testPopWithoutPush() {
+        Profiler profiler = new Profiler("test", 1, "ms");
+        profiler.push("sub");
+        profiler.pop();
+        assertThrows(IllegalStateException.class, profiler::pop);
+    }
+
+    @Test
+    public void testExport() {
+
+        // given
+        Profiler profiler = new Profiler("export;test", 1, "ms");
+        List<String> path = new ArrayList<>();
+        profiler.addSample(path, 10);
+        path.add("sub");
+        profiler.addSample(path, 4);
+        path.add("leaf");
+        profiler.addSample(path, 1);
+
+        // when
+        StringWriter folded = new StringWriter();
+        ProfileFormat.FOLDED.write(profiler.getMergedProfile(), new PrintWriter(folded));
+        StringWriter json = new StringWriter();
+        ProfileFormat.JSON.write(profiler.getMergedProfile(), new PrintWriter(json));
+        File file = profiler.export(new File("target/profiles"), ProfileFormat.FOLDED);
+
+        // then
+        String[] lines = folded.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertEquals("export:test 6000000", lines[0]);
+        assertEquals("export:test;sub 3000000", lines[1]);
+        assertEquals("export:test;sub;leaf 1000000", lines[2]);
+        assertTrue(json.toString().contains("\"name\": \"leaf\""));
+        assertTrue(json.toString().contains("\"totalNanos\": 4000000"));
+        assertTrue(json.toString().contains("\"selfNanos\": 3000000"));
+        assertEquals("export_test.folded", file.getName());
+        assertTrue(file.exists());
+    }
+
+    @Test
+    public void testOneInNSampling() {
+
+        // given
+        Profiler profiler = new Profiler("test", 1, "ms");
+        profiler.setSampling(ProfileSampling.oneIn(10));
+
+        // when
+        for (int i = 0; i < 95; i++) {
+            profiler.push("sampled");
+            profiler.pop();
+        }
+
+        // then
+        Profile profile = profiler.getMergedProfile().getOrCreateSubProfile("sampled");
+        assertEquals(10, profile.getInvocationCount());
+        assertEquals(85, profile.getSkippedCount());
+        assertEquals(95, profile.getScaledInvocationCount());
+        assertEquals(10 / 95., profile.getSamplingRate(), 1E-9);
+        assertEquals(10 / 95., profiler.getEffectiveSamplingRate(), 1E-9);
+        assertEquals(Math.round(profile.getCounter().totalLatency(TimeUnit.NANOSECONDS) * 9.5),
+                profile.getScaledTotalLatency(TimeUnit.NANOSECONDS), 1);
+        profiler.printSummary();
+    }
+
+    @Test
+    public void testIntervalSampling() {
+        Profiler profiler = new Profiler("test", 1, "ms");
+        profiler.setSampling(ProfileSampling.interval(1, TimeUnit.HOURS));
+        for (int i = 0; i < 5; i++) {
+            profiler.push("sampled");
+            profiler.pop();
+        }
+        Profile profile = profiler.getMergedProfile().getOrCreateSubProfile("sampled");
+        assertEquals(1, profile.getInvocationCount());
+        assertEquals(5, profile.getScaledInvocationCount());
+    }
+
+    @Test
+    public void testParseSampling() {
+        assertEquals("1 in 100", ProfileSampling.parse("1/100").toString());
+        assertEquals("1 per 10000000 ns", ProfileSampling.parse("10ms").toString());
+        assertEquals(ProfileSampling.ALL, ProfileSampling.parse("all"));
+        assertThrows(IllegalArgumentException.class, () -> ProfileSampling.parse("often"));
+    }
+
 }
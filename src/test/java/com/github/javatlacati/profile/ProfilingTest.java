@@ -29,6 +29,7 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -53,18 +54,37 @@ public class ProfilingTest {
     public static void restoreOriginalSetting() {
         System.setProperty("profile",
                 (originalSetting != null ? originalSetting : "false"));
+        Profiling.reload();
     }
 
     @Test
     public void testFalse() {
         System.setProperty("profile", "false");
+        Profiling.reload();
         assertFalse(Profiling.isEnabled());
     }
 
     @Test
     public void testEmpty() {
         System.setProperty("profile", "");
+        Profiling.reload();
         assertTrue(Profiling.isEnabled());
     }
 
+    @Test
+    public void testMalformedSampling() {
+        String originalSampling = System.getProperty(Profiling.SYSPROP_SAMPLING);
+        System.setProperty(Profiling.SYSPROP_SAMPLING, "every-other");
+        try {
+            Profiling.reload();
+            assertSame(ProfileSampling.ALL, Profiling.getSampling());
+        } finally {
+            if (originalSampling != null)
+                System.setProperty(Profiling.SYSPROP_SAMPLING, originalSampling);
+            else
+                System.clearProperty(Profiling.SYSPROP_SAMPLING);
+            Profiling.reload();
+        }
+    }
+
 }
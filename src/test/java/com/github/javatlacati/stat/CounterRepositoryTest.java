@@ -26,7 +26,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -40,6 +44,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
  * @since 1.08
  */
 @Execution(ExecutionMode.CONCURRENT)
+@ResourceLock("CounterRepository") // the tests share the singleton and clear it
 public class CounterRepositoryTest {
 
     private static final String NAME = "CounterRepositoryTest";
@@ -65,4 +70,53 @@ public class CounterRepositoryTest {
                 repository.getCounter(NAME), "After calling clear(), the repository should have no counters");
     }
 
+    @Test
+    public void testTags() {
+        String name = NAME + ".tags";
+        Tags hit = Tags.parse("operation=get,cache=hit");
+        assertEquals(Tags.of("cache", "hit", "operation", "get"), hit);
+        assertEquals("cache=hit,operation=get", hit.toString());
+        repository.addSampleNanos(name, hit, 1000);
+        repository.addSampleNanos(name, Tags.of("operation", "get", "cache", "hit"), 3000);
+        repository.addSampleNanos(name, Tags.of("operation", "get", "cache", "miss"), 5000);
+        LatencyCounter counter = repository.getCounter(name, hit);
+        assertEquals(2, counter.sampleCount());
+        assertEquals(name + "{cache=hit,operation=get}", counter.getName());
+        assertEquals(2, repository.getCounters(name).size());
+        assertNull(repository.getCounter(name));
+    }
+
+    @Test
+    public void testSnapshotAndReset() {
+        String name = NAME + ".snapshot";
+        Tags tags = Tags.of("operation", "put");
+        repository.addSampleNanos(name, tags, 1000);
+        repository.addSampleNanos(name, tags, 2000);
+        Map<String, Map<Tags, LatencySnapshot>> snapshots = repository.snapshotAndReset();
+        assertEquals(2, snapshots.get(name).get(tags).sampleCount());
+        assertEquals(0, repository.getCounter(name, tags).sampleCount());
+        repository.addSampleNanos(name, tags, 3000);
+        assertEquals(1, repository.snapshotAndReset().get(name).get(tags).sampleCount());
+    }
+
+    @Test
+    public void testConcurrentCreation() throws InterruptedException {
+        String name = NAME + ".concurrent";
+        Tags[] tags = {Tags.of("cache", "hit"), Tags.of("cache", "miss")};
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    repository.addSampleNanos(name, tags[i % 2], i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000, repository.getCounter(name, tags[0]).sampleCount());
+        assertEquals(40000, repository.getCounter(name, tags[1]).sampleCount());
+    }
+
 }
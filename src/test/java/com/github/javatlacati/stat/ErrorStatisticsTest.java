@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.github.javatlacati.stat;
+
+import com.github.javatlacati.contiperf.PerfTestException;
+import com.github.javatlacati.contiperf.PerfTestExecutionError;
+import com.github.javatlacati.contiperf.util.ContiPerfUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests the {@link ErrorStatistics}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ErrorStatisticsTest {
+
+    @Test
+    public void testGrouping() {
+        ErrorStatistics errors = new ErrorStatistics();
+        PerfTestExecutionError first = error(new AssertionError("a"));
+        errors.add(first, 1000);
+        errors.add(error(new IllegalStateException("b")), 2000);
+        errors.add(error(new AssertionError("a")), 3000);
+        assertThat(errors.getCount(), is(3L));
+        assertThat(errors.getFirstError(), sameInstance(first));
+        List<ErrorGroup> groups = errors.getGroups();
+        assertThat(groups.size(), is(2));
+        assertThat(groups.get(0).getType(), is(AssertionError.class.getName()));
+        assertThat(groups.get(0).getMessage(), is("a"));
+        assertThat(groups.get(0).getCount(), is(2L));
+        assertThat(groups.get(0).getHistogram().getTotalCount(), is(2L));
+        assertThat(groups.get(1).getType(), is(IllegalStateException.class.getName()));
+        assertThat(groups.get(1).getCount(), is(1L));
+    }
+
+    @Test
+    public void testExemplarsAreBounded() {
+        ErrorStatistics errors = new ErrorStatistics(10, 2);
+        for (int i = 0; i < 1000; i++) {
+            errors.add(error(new AssertionError("failed")), i);
+        }
+        assertThat(errors.getCount(), is(1000L));
+        assertThat(errors.getGroups().get(0).getCount(), is(1000L));
+        assertThat(errors.getExemplars().size(), is(2));
+    }
+
+    @Test
+    public void testNeedsExemplar() {
+        ErrorStatistics errors = new ErrorStatistics(1, 2);
+        AssertionError cause = new AssertionError("failed");
+        assertThat(errors.needsExemplar(cause), is(true));
+        errors.add(error(new AssertionError("failed")), 1);
+        assertThat(errors.needsExemplar(cause), is(true));
+        errors.add(error(new AssertionError("failed")), 2);
+        assertThat(errors.needsExemplar(cause), is(false));
+        // new kinds of errors go to the other group, which is still empty
+        assertThat(errors.needsExemplar(new IllegalStateException()), is(true));
+    }
+
+    @Test
+    public void testErrorWithoutStackTrace() {
+        PerfTestException error = ContiPerfUtil.executionError(
+                new AssertionError("failed"), false);
+        assertThat(error.getStackTrace().length, is(0));
+        assertThat(error.getCause().getMessage(), is("failed"));
+        assertThat(ContiPerfUtil.executionError(new AssertionError("failed"))
+                .getStackTrace().length > 0, is(true));
+    }
+
+    @Test
+    public void testOtherGroup() {
+        ErrorStatistics errors = new ErrorStatistics(3, 1);
+        for (int i = 0; i < 10; i++) {
+            errors.add(error(new AssertionError("failure " + i)), i);
+        }
+        List<ErrorGroup> groups = errors.getGroups();
+        assertThat(groups.size(), is(4));
+        ErrorGroup other = groups.get(3);
+        assertThat(other.getType(), is(ErrorStatistics.OTHER_TYPE));
+        assertThat(other.getMessage(), nullValue());
+        assertThat(other.getCount(), is(7L));
+        assertThat(errors.getCount(), is(10L));
+    }
+
+    @Test
+    public void testEmpty() {
+        ErrorStatistics errors = new ErrorStatistics();
+        assertThat(errors.isEmpty(), is(true));
+        assertThat(errors.getFirstError(), nullValue());
+        assertThat(errors.getGroups().size(), is(0));
+    }
+
+    private static PerfTestExecutionError error(Throwable cause) {
+        return new PerfTestExecutionError(cause);
+    }
+
+}
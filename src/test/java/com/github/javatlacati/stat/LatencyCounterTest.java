@@ -29,8 +29,12 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 
 /**
@@ -88,4 +92,136 @@ public class LatencyCounterTest {
         assertThat(counter.percentileAboveLatency(126), is(0.));
     }
 
+    @Test
+    public void testSubMillisecondLatency() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        counter.addSampleNanos(250000, null);
+        counter.addSampleNanos(750000, null);
+        counter.stop();
+        assertThat(counter.minLatency(TimeUnit.MICROSECONDS), is(250L));
+        assertThat(counter.maxLatency(TimeUnit.MICROSECONDS), is(750L));
+        assertThat(counter.averageLatency(TimeUnit.MICROSECONDS), is(500.));
+        assertThat(counter.maxLatency(), is(0L));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyCounter concurrent = new LatencyCounter("concurrent");
+        LatencyCounter sequential = new LatencyCounter("sequential");
+        concurrent.start();
+        sequential.start();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    concurrent.addSampleNanos((i * 7919L + offset) % 5000000, null);
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            for (int i = 0; i < 10000; i++) {
+                sequential.addSampleNanos((i * 7919L + t) % 5000000, null);
+            }
+        }
+        concurrent.stop();
+        sequential.stop();
+        assertThat(concurrent.sampleCount(), is(80000L));
+        assertThat(concurrent.totalLatency(TimeUnit.NANOSECONDS),
+                is(sequential.totalLatency(TimeUnit.NANOSECONDS)));
+        assertThat(concurrent.minLatency(TimeUnit.NANOSECONDS),
+                is(sequential.minLatency(TimeUnit.NANOSECONDS)));
+        assertThat(concurrent.maxLatency(TimeUnit.NANOSECONDS),
+                is(sequential.maxLatency(TimeUnit.NANOSECONDS)));
+        for (int percentile = 1; percentile <= 100; percentile++) {
+            assertThat(concurrent.percentileLatency(percentile, TimeUnit.NANOSECONDS),
+                    is(sequential.percentileLatency(percentile, TimeUnit.NANOSECONDS)));
+        }
+        assertThat(concurrent.standardDeviation(TimeUnit.NANOSECONDS),
+                closeTo(sequential.standardDeviation(TimeUnit.NANOSECONDS), 1e-3));
+    }
+
+    @Test
+    public void testManyThreads() throws InterruptedException {
+        LatencyCounter counter = new LatencyCounter("manyThreads");
+        counter.start();
+        Thread[] threads = new Thread[100];
+        for (int round = 0; round < 100; round++) {
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> counter.addSampleNanos(1000, null));
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        counter.stop();
+        assertThat(counter.sampleCount(), is(10000L));
+        // 10000 threads share a bounded number of recorders
+        assertThat(counter.recorderCount(), lessThanOrEqualTo(LatencyCounter.STRIPES));
+        assertThat(LatencyCounter.STRIPES,
+                lessThanOrEqualTo(4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Test
+    public void testStandardDeviation() {
+        LatencyCounter stable = new LatencyCounter("stable");
+        LatencyCounter alternating = new LatencyCounter("alternating");
+        stable.start();
+        alternating.start();
+        for (int i = 0; i < 1000; i++) {
+            stable.addSample(2, null);
+            alternating.addSample(i % 2 == 0 ? 0 : 4, null);
+        }
+        stable.stop();
+        alternating.stop();
+        assertThat(stable.averageLatency(), is(alternating.averageLatency()));
+        assertThat(stable.standardDeviation(), is(0.));
+        assertThat(stable.coefficientOfVariation(), is(0.));
+        // sample standard deviation of 1000 alternating values 0 and 4
+        double expected = Math.sqrt(4000. / 999);
+        assertThat(alternating.standardDeviation(), closeTo(expected, 1e-9));
+        assertThat(alternating.coefficientOfVariation(), closeTo(expected / 2, 1e-9));
+    }
+
+    @Test
+    public void testWeightedSamples() {
+        LatencyCounter weighted = new LatencyCounter("weighted");
+        LatencyCounter single = new LatencyCounter("single");
+        weighted.start();
+        single.start();
+        weighted.addSampleNanos(1000, 300, null);
+        weighted.addSampleNanos(4000, 100, null);
+        for (int i = 0; i < 400; i++) {
+            single.addSampleNanos(i < 300 ? 1000 : 4000, null);
+        }
+        weighted.stop();
+        single.stop();
+        assertThat(weighted.sampleCount(), is(400L));
+        assertThat(weighted.averageLatency(TimeUnit.NANOSECONDS),
+                is(single.averageLatency(TimeUnit.NANOSECONDS)));
+        assertThat(weighted.standardDeviation(TimeUnit.NANOSECONDS),
+                closeTo(single.standardDeviation(TimeUnit.NANOSECONDS), 1e-6));
+        assertThat(weighted.percentileLatency(80, TimeUnit.NANOSECONDS),
+                is(single.percentileLatency(80, TimeUnit.NANOSECONDS)));
+    }
+
+    @Test
+    public void testSnapshotAndReset() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        counter.addSample(3, null);
+        counter.addSample(5, null);
+        LatencySnapshot first = counter.snapshotAndReset();
+        counter.addSample(7, null);
+        counter.stop();
+        assertThat(first.sampleCount(), is(2L));
+        assertThat(first.maxLatency(TimeUnit.MILLISECONDS), is(5L));
+        assertThat(counter.sampleCount(), is(1L));
+        assertThat(counter.minLatency(), is(7L));
+    }
+
 }
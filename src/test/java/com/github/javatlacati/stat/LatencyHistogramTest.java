@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Tests the {@link LatencyHistogram}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getTotalCount(), is(0L));
+        assertThat(histogram.getLowestIndex(), is(-1));
+        assertThat(histogram.getHighestIndex(), is(-1));
+        assertThat(histogram.valueAtPercentile(50), is(0L));
+        assertThat(histogram.countAbove(0), is(0L));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 256; value++) {
+            int index = histogram.indexFor(value);
+            assertThat(histogram.lowestValueAtIndex(index), is(value));
+            assertThat(histogram.highestValueAtIndex(index), is(value));
+        }
+    }
+
+    @Test
+    public void testRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value < TimeUnit.SECONDS.toNanos(100); value = value * 3 + 7) {
+            int index = histogram.indexFor(value);
+            long low = histogram.lowestValueAtIndex(index);
+            long high = histogram.highestValueAtIndex(index);
+            assertThat(low, lessThanOrEqualTo(value));
+            assertThat(high, greaterThanOrEqualTo(value));
+            assertThat((double) (high - low), lessThanOrEqualTo(value / 100.));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertThat(histogram.getTotalCount(), is(100L));
+        assertValueAbout(50000, histogram.valueAtPercentile(50));
+        assertValueAbout(90000, histogram.valueAtPercentile(90));
+        assertValueAbout(100000, histogram.valueAtPercentile(100));
+        assertThat(histogram.countAbove(90000), is(10L));
+        assertThat(histogram.countBetween(0, 10001), is(10L));
+    }
+
+    @Test
+    public void testValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(1000000, 2);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.getTotalCount(), is(2L));
+        assertThat(histogram.getLowestIndex(), is(0));
+        assertThat(histogram.highestValueAtIndex(histogram.getHighestIndex()),
+                greaterThanOrEqualTo(1000000L));
+    }
+
+    @Test
+    public void testIllegalDigits() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LatencyHistogram(1000, 6));
+    }
+
+    private static void assertValueAbout(long expected, long actual) {
+        assertThat((double) Math.abs(actual - expected), lessThanOrEqualTo(expected / 100.));
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.github.javatlacati.stat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link LatencySketch}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class LatencySketchTest {
+
+    @Test
+    public void testRelativeAccuracy() {
+        LatencySketch sketch = new LatencySketch();
+        Random random = new Random(42);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            // from 1 microsecond to about 10 hours, log-uniformly distributed
+            values[i] = (long) Math.exp(Math.log(1000) + random.nextDouble() * 24);
+            sketch.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile = 0.5; percentile <= 100; percentile += 0.5) {
+            long expected = values[(int) Math.max(percentile * values.length / 100, 1) - 1];
+            long actual = sketch.valueAtPercentile(percentile);
+            assertThat(Math.abs(actual - expected) / (double) expected,
+                    lessThanOrEqualTo(sketch.getRelativeAccuracy()));
+        }
+    }
+
+    @Test
+    public void testBucketBounds() {
+        LatencySketch sketch = new LatencySketch(0.05);
+        for (long value : new long[]{0, 1, 2, 3, 100, 12345, 1L << 40, Long.MAX_VALUE}) {
+            int index = sketch.indexFor(value);
+            assertThat(sketch.lowestValueAtIndex(index) <= value, is(true));
+            assertThat(value <= sketch.highestValueAtIndex(index), is(true));
+            long representative = sketch.valueAtIndex(index);
+            assertThat(Math.abs(representative - value),
+                    lessThanOrEqualTo((long) Math.ceil(value * 0.05)));
+        }
+    }
+
+    @Test
+    public void testLosslessMerge() {
+        LatencySketch merged = new LatencySketch();
+        LatencySketch part1 = merged.emptyCopy();
+        LatencySketch part2 = merged.emptyCopy();
+        LatencySketch all = new LatencySketch();
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            long value = (long) Math.exp(random.nextDouble() * 30);
+            (i % 2 == 0 ? part1 : part2).record(value);
+            all.record(value);
+        }
+        merged.add(part1);
+        merged.add(part2);
+        assertThat(merged.getTotalCount(), is(1000L));
+        assertThat(merged.getLowestIndex(), is(all.getLowestIndex()));
+        assertThat(merged.getHighestIndex(), is(all.getHighestIndex()));
+        for (int i = all.getLowestIndex(); i <= all.getHighestIndex(); i++) {
+            assertThat(merged.getCountAtIndex(i), is(all.getCountAtIndex(i)));
+        }
+    }
+
+    @Test
+    public void testIncompatibleMerge() {
+        LatencySketch sketch = new LatencySketch();
+        assertThrows(IllegalArgumentException.class,
+                () -> sketch.add(new LatencySketch(0.02)));
+        assertThrows(IllegalArgumentException.class,
+                () -> sketch.add(new LatencyHistogram()));
+    }
+
+    @Test
+    public void testCounterBeyondHistogramRange() {
+        LatencyCounter counter = new LatencyCounter("test", "system",
+                DistributionType.SKETCH);
+        counter.start();
+        counter.addSampleNanos(TimeUnit.MICROSECONDS.toNanos(5), null);
+        counter.addSampleNanos(TimeUnit.HOURS.toNanos(48), null);
+        counter.stop();
+        long[] percentiles = counter.percentileLatencies(new int[]{50, 100},
+                TimeUnit.NANOSECONDS);
+        assertThat(Math.abs(percentiles[0] - 5000), lessThanOrEqualTo(50L));
+        long max = TimeUnit.HOURS.toNanos(48);
+        assertThat(Math.abs(percentiles[1] - max) / (double) max,
+                lessThanOrEqualTo(0.01));
+    }
+
+}
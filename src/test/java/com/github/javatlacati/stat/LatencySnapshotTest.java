@@ -0,0 +1,148 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests the {@link LatencySnapshot}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class LatencySnapshotTest {
+
+    @Test
+    public void testPercentilesMatchHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        Random random = new Random(42);
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (int i = 0; i < 10000; i++) {
+            long latency = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(latency);
+            counter.addSampleNanos(latency, null);
+            min = Math.min(min, latency);
+            max = Math.max(max, latency);
+        }
+        counter.stop();
+        LatencySnapshot snapshot = counter.snapshot();
+        for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+            long expected = Math.max(min, Math.min(histogram.valueAtPercentile(percentile), max));
+            assertThat(snapshot.percentileLatency(percentile, TimeUnit.NANOSECONDS), is(expected));
+        }
+        for (long latency = 1; latency < max; latency = latency * 2 + 1) {
+            assertThat(snapshot.percentileAboveLatency(latency, TimeUnit.NANOSECONDS),
+                    is(histogram.countAbove(latency) * 100. / 10000));
+        }
+    }
+
+    @Test
+    public void testPercentileConfidenceInterval() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        for (int i = 1; i <= 200; i++) {
+            counter.addSample(i, null);
+        }
+        counter.stop();
+        LatencySnapshot snapshot = counter.snapshot();
+        ConfidenceInterval median = snapshot.percentileConfidenceInterval(50, 0.95,
+                TimeUnit.MILLISECONDS);
+        // ranks 100 -/+ 1.96 * sqrt(50), to the precision of the histogram
+        assertThat(median.getLower(), closeTo(86, 1));
+        assertThat(median.getUpper(), closeTo(115, 1));
+        ConfidenceInterval p99 = snapshot.percentileConfidenceInterval(99, 0.95,
+                TimeUnit.MILLISECONDS);
+        assertThat(p99.contains(snapshot.percentileLatency(99, TimeUnit.MILLISECONDS)), is(true));
+        assertThat(p99.getUpper(), closeTo(200, 1));
+    }
+
+    @Test
+    public void testMeanConfidenceInterval() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        for (int i = 0; i < 100; i++) {
+            counter.addSample(i % 2 == 0 ? 1 : 3, null);
+        }
+        counter.stop();
+        ConfidenceInterval mean = counter.meanConfidenceInterval(0.95, TimeUnit.MILLISECONDS);
+        // 2 +/- t(0.95, 99) * s / sqrt(100) with s = sqrt(100 / 99)
+        double halfWidth = 1.984 * Math.sqrt(100. / 99) / 10;
+        assertThat(mean.getLower(), closeTo(2 - halfWidth, 0.001));
+        assertThat(mean.getUpper(), closeTo(2 + halfWidth, 0.001));
+    }
+
+    @Test
+    public void testQuantileFunctions() {
+        assertThat(ConfidenceInterval.normalQuantile(0.975), closeTo(1.959964, 1e-6));
+        assertThat(ConfidenceInterval.normalQuantile(0.001), closeTo(-3.090232, 1e-6));
+        assertThat(ConfidenceInterval.zValue(0.99), closeTo(2.575829, 1e-6));
+        assertThat(ConfidenceInterval.tValue(0.95, 10), closeTo(2.228, 0.01));
+        assertThat(ConfidenceInterval.tValue(0.95, 99), closeTo(1.984, 0.001));
+    }
+
+    @Test
+    public void testPercentileLatencies() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        for (int i = 1; i <= 100; i++) {
+            counter.addSample(i, null);
+        }
+        counter.stop();
+        int[] percentiles = {99, 50, 90, 0, 100};
+        long[] values = counter.percentileLatencies(percentiles, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < percentiles.length; i++) {
+            assertThat(values[i], is(counter.percentileLatency(percentiles[i])));
+        }
+    }
+
+    @Test
+    public void testCaching() {
+        LatencyCounter counter = new LatencyCounter("test");
+        counter.start();
+        counter.addSample(5, null);
+        LatencySnapshot snapshot = counter.snapshot();
+        assertThat(counter.snapshot(), sameInstance(snapshot));
+        counter.addSample(7, null);
+        LatencySnapshot updated = counter.snapshot();
+        assertThat(updated.sampleCount(), is(2L));
+        assertThat(snapshot.sampleCount(), is(1L));
+        counter.stop();
+    }
+
+}
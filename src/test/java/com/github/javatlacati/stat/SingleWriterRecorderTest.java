@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link SingleWriterRecorder}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+public class SingleWriterRecorderTest {
+
+    @Test
+    public void testDrain() {
+        LatencyCounter counter = new LatencyCounter("drain");
+        SingleWriterRecorder recorder = new SingleWriterRecorder(counter.getDistribution());
+        recorder.record(1000);
+        recorder.record(3000);
+        recorder.drainTo(counter);
+        assertThat(counter.sampleCount(), is(2L));
+        assertThat(counter.maxLatency(TimeUnit.NANOSECONDS), is(3000L));
+        recorder.record(2000);
+        recorder.drainTo(counter);
+        recorder.drainTo(counter);
+        assertThat(counter.sampleCount(), is(3L));
+        assertThat(counter.totalLatency(TimeUnit.NANOSECONDS), is(6000L));
+    }
+
+    @Test
+    public void testConcurrentDrain() throws InterruptedException {
+        LatencyCounter counter = new LatencyCounter("concurrent");
+        SingleWriterRecorder recorder = new SingleWriterRecorder(counter.getDistribution());
+        int samples = 1000000;
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= samples; i++) {
+                recorder.record(i);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            recorder.drainTo(counter);
+        }
+        writer.join();
+        recorder.drainTo(counter);
+        // no sample is lost or counted twice while draining concurrently
+        assertThat(counter.sampleCount(), is((long) samples));
+        assertThat(counter.totalLatency(TimeUnit.NANOSECONDS),
+                is((long) samples * (samples + 1) / 2));
+        assertThat(counter.minLatency(TimeUnit.NANOSECONDS), is(1L));
+        assertThat(counter.maxLatency(TimeUnit.NANOSECONDS), is((long) samples));
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2026 by the ContiPerf contributors. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * Apache License 2.0, GNU Lesser General Public License (LGPL) 3.0,
+ * Eclipse Public License (EPL) 1.0 and the BSD License.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.github.javatlacati.stat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link SparseLatencyDistribution}.<br>
+ * <br>
+ * Created: 18.10.2026
+ *
+ * @author agent
+ * @since 2.4.4
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class SparseLatencyDistributionTest {
+
+    @Test
+    public void testSameResultsAsDenseHistogram() {
+        SparseLatencyDistribution sparse = new SparseLatencyDistribution();
+        LatencyHistogram dense = new LatencyHistogram();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long value = (long) Math.exp(random.nextDouble() * 25);
+            sparse.record(value);
+            dense.record(value);
+        }
+        assertThat(sparse.getTotalCount(), is(dense.getTotalCount()));
+        assertThat(sparse.getLowestIndex(), is(dense.getLowestIndex()));
+        assertThat(sparse.getHighestIndex(), is(dense.getHighestIndex()));
+        for (int i = dense.getLowestIndex(); i <= dense.getHighestIndex(); i++) {
+            assertThat(sparse.getCountAtIndex(i), is(dense.getCountAtIndex(i)));
+        }
+        for (double percentile = 0.5; percentile <= 100; percentile += 0.5) {
+            assertThat(sparse.valueAtPercentile(percentile),
+                    is(dense.valueAtPercentile(percentile)));
+        }
+        assertThat(sparse.countBetween(1000, 1000000),
+                is(dense.countBetween(1000, 1000000)));
+    }
+
+    @Test
+    public void testFootprintGrowsWithDistinctValues() {
+        SparseLatencyDistribution distribution = new SparseLatencyDistribution();
+        assertThat(distribution.getBucketCount(), is(0));
+        assertThat(distribution.getLowestIndex(), is(-1));
+        for (int i = 0; i < 1000; i++) {
+            distribution.record(12345);
+        }
+        distribution.record(2);
+        assertThat(distribution.getBucketCount(), is(2));
+        assertThat(distribution.getTotalCount(), is(1001L));
+        distribution.reset();
+        assertThat(distribution.getBucketCount(), is(0));
+        assertThat(distribution.getCountAtIndex(distribution.indexFor(12345)), is(0L));
+    }
+
+    @Test
+    public void testLosslessMerge() {
+        SparseLatencyDistribution merged = new SparseLatencyDistribution();
+        SparseLatencyDistribution part1 = merged.emptyCopy();
+        SparseLatencyDistribution part2 = merged.emptyCopy();
+        SparseLatencyDistribution all = new SparseLatencyDistribution();
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            long value = (long) Math.exp(random.nextDouble() * 20);
+            (i % 3 == 0 ? part1 : part2).record(value);
+            all.record(value);
+        }
+        merged.add(part1);
+        merged.add(part2);
+        assertThat(merged.getTotalCount(), is(1000L));
+        assertThat(merged.getBucketCount(), is(all.getBucketCount()));
+        for (int i = all.getLowestIndex(); i <= all.getHighestIndex(); i++) {
+            assertThat(merged.getCountAtIndex(i), is(all.getCountAtIndex(i)));
+        }
+    }
+
+    @Test
+    public void testIncompatibleMerge() {
+        SparseLatencyDistribution distribution = new SparseLatencyDistribution();
+        assertThrows(IllegalArgumentException.class,
+                () -> distribution.add(new LatencyHistogram()));
+        assertThrows(IllegalArgumentException.class,
+                () -> distribution.add(new SparseLatencyDistribution(new LatencySketch())));
+    }
+
+    @Test
+    public void testCounter() {
+        LatencyCounter counter = new LatencyCounter("test", "system",
+                DistributionType.SPARSE);
+        counter.start();
+        for (int i = 1; i <= 100; i++) {
+            counter.addSampleNanos(TimeUnit.MILLISECONDS.toNanos(i), null);
+        }
+        counter.stop();
+        LatencyCounter reference = new LatencyCounter("test");
+        reference.start();
+        for (int i = 1; i <= 100; i++) {
+            reference.addSampleNanos(TimeUnit.MILLISECONDS.toNanos(i), null);
+        }
+        reference.stop();
+        int[] percentages = {50, 90, 99, 100};
+        assertThat(counter.percentileLatencies(percentages, TimeUnit.NANOSECONDS),
+                is(reference.percentileLatencies(percentages, TimeUnit.NANOSECONDS)));
+        assertThat(counter.averageLatency(), is(reference.averageLatency()));
+    }
+
+}